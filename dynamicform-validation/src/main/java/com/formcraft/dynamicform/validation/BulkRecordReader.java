@@ -0,0 +1,90 @@
+package com.formcraft.dynamicform.validation;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// Splits a bulk import body into records without parsing them: one per line for NDJSON, one per
+// CSV record for CSV, where a quoted cell may span lines. Blank lines are skipped. Parsing is left
+// to the workers that validate the records, so this scan is the only sequential step of an import.
+public final class BulkRecordReader {
+
+    private final Reader in;
+    private final boolean csv;
+    private final int maxRecordChars;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder record = new StringBuilder(256);
+    private int pos;
+    private int limit;
+    private long line;
+    private long recordLine;
+
+    public BulkRecordReader(Reader in, boolean csv, int maxRecordChars) {
+        this.in = in;
+        this.csv = csv;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    // The next record without its line break, or null at the end of the body
+    public String next() throws IOException {
+        while (true) {
+            record.setLength(0);
+            recordLine = ++line;
+            boolean quoted = false;
+            // a quote only opens a quoted cell at the start of the cell, or right after the quote
+            // that closed it: an escaped quote ("") closes and reopens
+            boolean cellStart = true;
+            boolean closed = false;
+            int c;
+            while ((c = read()) >= 0) {
+                if (c == '\n') {
+                    if (!quoted) break;
+                    line++;
+                } else if (csv) {
+                    if (c == '"' && (quoted || cellStart || closed)) {
+                        quoted = !quoted;
+                        closed = !quoted;
+                    } else {
+                        closed = false;
+                    }
+                    cellStart = c == ',' && !quoted;
+                }
+                if (record.length() == maxRecordChars) {
+                    throw new FormTooLargeException("Record at line " + recordLine + " exceeds "
+                            + maxRecordChars + " characters");
+                }
+                record.append((char) c);
+            }
+            if (quoted) {
+                throw new FormParseException("Unterminated quoted cell in the record at line " + recordLine);
+            }
+
+            int length = record.length();
+            if (length > 0 && record.charAt(length - 1) == '\r') record.setLength(--length);
+            if (!isBlank(record)) return record.toString();
+            if (c < 0) return null;
+        }
+    }
+
+    // Line on which the record last returned by next() starts, counting from 1
+    public long recordLine() {
+        return recordLine;
+    }
+
+    private static boolean isBlank(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\r') return false;
+        }
+        return true;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            int n = in.read(buffer, 0, buffer.length);
+            if (n <= 0) return -1;
+            pos = 0;
+            limit = n;
+        }
+        return buffer[pos++];
+    }
+}
@@ -0,0 +1,155 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONArray;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// A schema property with its constraints resolved into a flat rule array.
+public final class CompiledField {
+
+    private final String name;
+    private final int index;
+    private final FieldType type;
+    private final boolean required;
+    private final boolean writeOnly;
+    private final boolean unique;
+    private final String requiredMessage;
+    private final FieldRule[] rules;
+    // schema keyword behind each rule, for instrumentation
+    private final String[] ruleKinds;
+    // estimated relative cost of all rules, used to order fields for fail-fast validation
+    private final int cost;
+    // the same rules as client table entries, in the same order
+    private final JSONArray ruleEntries;
+
+    CompiledField(String name, int index, FieldType type, boolean required, boolean writeOnly, boolean unique,
+                  FieldRule[] rules, String[] ruleKinds, int cost, JSONArray ruleEntries) {
+        this.name = name;
+        this.index = index;
+        this.type = type;
+        this.required = required;
+        this.writeOnly = writeOnly;
+        this.unique = unique;
+        this.requiredMessage = name + " is required";
+        this.rules = rules;
+        this.ruleKinds = ruleKinds;
+        this.cost = cost;
+        this.ruleEntries = ruleEntries;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public FieldType type() {
+        return type;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    // "writeOnly": true values (passwords) are accepted but never echoed back or persisted
+    public boolean isWriteOnly() {
+        return writeOnly;
+    }
+
+    // "unique": true values may not repeat one already stored for the form. The schema only marks
+    // the field; the check needs the stored submissions and is made by whoever stores them.
+    public boolean isUnique() {
+        return unique;
+    }
+
+    int cost() {
+        return cost;
+    }
+
+    String requiredMessage() {
+        return requiredMessage;
+    }
+
+    JSONArray ruleEntries() {
+        return ruleEntries;
+    }
+
+    // Required but absent or blank: the cheapest rejection there is
+    boolean isMissing(String[] values) {
+        if (!required) return false;
+        String value = (values != null && values.length > 0) ? values[0] : null;
+        return value == null || value.isBlank();
+    }
+
+    // Returns the first failing rule's message, or null when the field is valid.
+    // Rules are ordered cheapest first, so an invalid value usually fails before any regex runs.
+    String validate(String[] values) {
+        String value = (values != null && values.length > 0) ? values[0] : null;
+
+        if (value == null || value.isBlank()) {
+            return required ? requiredMessage : null;
+        }
+
+        for (FieldRule rule : rules) {
+            String error = rule.check(value, values);
+            if (error != null) return error;
+        }
+        return null;
+    }
+
+    // Same as validate(values), reporting the failing rule and, when timed, each rule's cost
+    String validate(String[] values, ValidationObserver observer, boolean timed) {
+        long start = timed ? System.nanoTime() : 0;
+        String value = (values != null && values.length > 0) ? values[0] : null;
+        String error = null;
+        String failedRule = null;
+
+        if (value == null || value.isBlank()) {
+            if (required) {
+                error = requiredMessage;
+                failedRule = "required";
+            }
+        } else {
+            for (int i = 0; i < rules.length; i++) {
+                long ruleStart = timed ? System.nanoTime() : 0;
+                error = rules[i].check(value, values);
+                if (timed) observer.ruleTimed(ruleKinds[i], System.nanoTime() - ruleStart);
+                if (error != null) {
+                    failedRule = ruleKinds[i];
+                    break;
+                }
+            }
+        }
+
+        if (timed) observer.fieldTimed(this, System.nanoTime() - start);
+        if (failedRule != null) observer.fieldFailed(this, failedRule);
+        return error;
+    }
+
+    // Converts the raw submitted strings to the value type declared by the schema.
+    Object convert(String[] values) {
+        String value = (values != null && values.length > 0) ? values[0] : null;
+        switch (type) {
+            case ARRAY:
+                return values != null ? Arrays.asList(values) : new ArrayList<>();
+            case BOOLEAN:
+                return "true".equals(value);
+            case INTEGER:
+                try {
+                    if (value == null) return null;
+                    long longValue = Long.parseLong(value);
+                    return longValue == (int) longValue ? (Object) (int) longValue : (Object) longValue;
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            case NUMBER:
+                return value != null && Formats.isDecimal(value) ? new BigDecimal(value) : null;
+            default:
+                return value;
+        }
+    }
+}
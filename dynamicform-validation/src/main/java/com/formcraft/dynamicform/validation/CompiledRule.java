@@ -0,0 +1,9 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONArray;
+
+// A compiled constraint together with its entry in the client rule table: the same limits and
+// messages as JSON, e.g. ["minLength", 3, "username must be at least 3 characters"], so form.js
+// runs exactly what the server runs. Only the check is kept on the validation path.
+record CompiledRule(FieldRule check, JSONArray entry) {
+}
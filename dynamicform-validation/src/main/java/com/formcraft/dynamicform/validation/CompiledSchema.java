@@ -0,0 +1,342 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// A draft-07 form schema compiled once into a flat array of field validators.
+// Instances are immutable: one can be shared by any number of threads without locking, each
+// submission bringing its own FormValues and getting its own ValidationResult.
+public final class CompiledSchema {
+
+    private final CompiledField[] fields;
+    private final Map<String, CompiledField> fieldsByName;
+    // field names in sorted order with their slot indices, for an allocation-free binary search
+    private final String[] sortedNames;
+    private final int[] sortedIndices;
+    // the same names as UTF-8 in unsigned byte order, for matching names straight out of a request body
+    private final byte[][] sortedNameBytes;
+    private final int[] sortedByteIndices;
+    private final boolean rejectsUnknown;
+    // dotted name of each field split into its object path, for rebuilding nested objects
+    private final String[][] paths;
+    // object path ("" for the form) -> true when it has "additionalProperties": false
+    private final Map<String, Boolean> closedObjects;
+    private final Map<String, JSONObject> propertySchemas;
+    // field indices, cheapest rules first, for fail-fast validation
+    private final int[] costOrder;
+    private final CrossFieldRule[] crossFieldRules;
+    // fields with "unique": true, in schema order
+    private final List<CompiledField> uniqueFields;
+
+    CompiledSchema(CompiledField[] fields, Map<String, CompiledField> fieldsByName, Map<String, Boolean> closedObjects,
+                   Map<String, JSONObject> propertySchemas, CrossFieldRule[] crossFieldRules) {
+        this.fields = fields;
+        this.fieldsByName = fieldsByName;
+        this.closedObjects = closedObjects;
+        this.propertySchemas = propertySchemas;
+        this.crossFieldRules = crossFieldRules;
+        this.costOrder = Arrays.stream(fields)
+                .sorted(Comparator.comparingInt(CompiledField::cost))
+                .mapToInt(CompiledField::index)
+                .toArray();
+        this.uniqueFields = Arrays.stream(fields)
+                .filter(CompiledField::isUnique)
+                .toList();
+
+        CompiledField[] byName = fields.clone();
+        Arrays.sort(byName, Comparator.comparing(CompiledField::name));
+        this.sortedNames = new String[byName.length];
+        this.sortedIndices = new int[byName.length];
+        for (int i = 0; i < byName.length; i++) {
+            sortedNames[i] = byName[i].name();
+            sortedIndices[i] = byName[i].index();
+        }
+
+        Arrays.sort(byName, (a, b) -> Arrays.compareUnsigned(utf8(a.name()), utf8(b.name())));
+        this.sortedNameBytes = new byte[byName.length][];
+        this.sortedByteIndices = new int[byName.length];
+        for (int i = 0; i < byName.length; i++) {
+            sortedNameBytes[i] = utf8(byName[i].name());
+            sortedByteIndices[i] = byName[i].index();
+        }
+        this.rejectsUnknown = closedObjects.containsValue(Boolean.TRUE);
+
+        this.paths = new String[fields.length][];
+        for (CompiledField field : fields) {
+            paths[field.index()] = splitPath(field.name());
+        }
+    }
+
+    private static byte[] utf8(String name) {
+        return name.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Resolves every "$ref" and compiles every keyword up front; see SchemaCompiler
+    public static CompiledSchema compile(JSONObject schemaJson) {
+        return SchemaCompiler.compile(schemaJson);
+    }
+
+    // Splits at the dots that separate nested objects, not at dots inside a property name
+    private String[] splitPath(String name) {
+        List<String> path = new ArrayList<>();
+        int start = 0;
+        for (int dot = name.indexOf('.'); dot > 0; dot = name.indexOf('.', dot + 1)) {
+            if (closedObjects.containsKey(name.substring(0, dot))) {
+                path.add(name.substring(start, dot));
+                start = dot + 1;
+            }
+        }
+        path.add(name.substring(start));
+        return path.toArray(new String[0]);
+    }
+
+    public int fieldCount() {
+        return fields.length;
+    }
+
+    public CompiledField field(int index) {
+        return fields[index];
+    }
+
+    // Returns the slot index of a property, or -1 when the schema does not declare it.
+    // Nested properties use their dotted name, e.g. "address.city".
+    public int indexOf(String fieldName) {
+        int i = Arrays.binarySearch(sortedNames, fieldName);
+        return i >= 0 ? sortedIndices[i] : -1;
+    }
+
+    // Same lookup for a UTF-8 encoded name held in the first length bytes of name
+    public int indexOf(byte[] name, int length) {
+        int low = 0;
+        int high = sortedNameBytes.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            byte[] candidate = sortedNameBytes[mid];
+            int cmp = Arrays.compareUnsigned(candidate, 0, candidate.length, name, 0, length);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return sortedByteIndices[mid];
+            }
+        }
+        return -1;
+    }
+
+    // Fields whose values must not repeat across stored submissions; empty for most forms
+    public List<CompiledField> uniqueFields() {
+        return uniqueFields;
+    }
+
+    // False when every object accepts undeclared members, so readers can skip them unseen
+    public boolean rejectsUnknown() {
+        return rejectsUnknown;
+    }
+
+    // True for the dotted path of a nested object, e.g. "address"
+    public boolean isObject(String path) {
+        return !path.isEmpty() && closedObjects.containsKey(path);
+    }
+
+    // Whether a submitted name may be sent: a declared field, or a member of an object that
+    // does not set "additionalProperties": false
+    public boolean accepts(String name) {
+        if (indexOf(name) >= 0) return true;
+        for (int dot = name.lastIndexOf('.'); dot > 0; dot = name.lastIndexOf('.', dot - 1)) {
+            Boolean closed = closedObjects.get(name.substring(0, dot));
+            if (closed != null) return !closed;
+        }
+        return !closedObjects.get("");
+    }
+
+    // The schema of a property with "$ref" resolved, or null when it is not declared
+    public JSONObject propertySchema(String name) {
+        return propertySchemas.get(name);
+    }
+
+    public FormValues newValues() {
+        return new FormValues(fields.length);
+    }
+
+    // A submission held in memory, such as a stored record or a decoded message, in the shape
+    // extract returns: scalars (strings, numbers, booleans), lists or arrays of them for multi-value
+    // fields, and nested maps for objects. Null leaves a field unset.
+    public FormValues values(Map<String, ?> submission) {
+        FormValues values = newValues();
+        fill(values, submission, "");
+        return values;
+    }
+
+    private void fill(FormValues values, Map<String, ?> members, String prefix) {
+        for (Map.Entry<String, ?> member : members.entrySet()) {
+            String name = prefix.isEmpty() ? member.getKey() : prefix + member.getKey();
+            Object value = member.getValue();
+            int index = indexOf(name);
+            if (index >= 0) {
+                values.set(index, strings(value));
+            } else if (value instanceof Map && isObject(name)) {
+                @SuppressWarnings("unchecked")
+                Map<String, ?> object = (Map<String, ?>) value;
+                fill(values, object, name + ".");
+            } else if (!accepts(name)) {
+                values.markUnknown(name);
+            }
+        }
+    }
+
+    // Values as the readers keep them: numbers as written, nested structures dropped
+    private static String[] strings(Object value) {
+        if (value == null || value == JSONObject.NULL) return null;
+        if (value instanceof String[]) return (String[]) value;
+        if (value instanceof Collection || value instanceof Object[]) {
+            Collection<?> items = value instanceof Collection ? (Collection<?>) value : Arrays.asList((Object[]) value);
+            List<String> strings = new ArrayList<>(items.size());
+            for (Object item : items) {
+                String string = scalar(item);
+                if (string != null) strings.add(string);
+            }
+            return strings.toArray(new String[0]);
+        }
+        String string = scalar(value);
+        return string != null ? new String[]{string} : null;
+    }
+
+    private static String scalar(Object value) {
+        if (value == null || value == JSONObject.NULL || value instanceof Map
+                || value instanceof Collection || value instanceof Object[]) {
+            return null;
+        }
+        return value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+    }
+
+    public ValidationResult validate(FormValues values) {
+        return validate(values, ValidationMode.COLLECT_ALL, null);
+    }
+
+    public ValidationResult validate(Map<String, ?> submission) {
+        return validate(values(submission), ValidationMode.COLLECT_ALL, null);
+    }
+
+    public ValidationResult validate(FormValues values, ValidationObserver observer) {
+        return validate(values, ValidationMode.COLLECT_ALL, observer);
+    }
+
+    // Pass a null observer on the uninstrumented path
+    public ValidationResult validate(FormValues values, ValidationMode mode, ValidationObserver observer) {
+        ValidationResult result = new ValidationResult();
+        boolean timed = observer != null && observer.sampleTimings();
+
+        String unknown = values.unknownField();
+        if (unknown != null) {
+            result.addError(unknown, unknown + " is not allowed");
+            if (mode == ValidationMode.FAIL_FAST) return result;
+        }
+
+        if (mode == ValidationMode.FAIL_FAST) {
+            validateFailFast(values, result, observer, timed);
+        } else {
+            for (CompiledField field : fields) {
+                check(field, values, result, observer, timed);
+            }
+            checkCrossFieldRules(values, result, observer, timed, false);
+        }
+        return result;
+    }
+
+    // Junk submissions mostly fail on a missing field or a cheap rule, so those are tried first:
+    // required presence across all fields, then each field's rules, cheapest field first.
+    private void validateFailFast(FormValues values, ValidationResult result,
+                                  ValidationObserver observer, boolean timed) {
+        for (int index : costOrder) {
+            CompiledField field = fields[index];
+            if (field.isMissing(values.get(index))) {
+                result.addError(field.name(), field.requiredMessage());
+                if (observer != null) observer.fieldFailed(field, "required");
+                return;
+            }
+        }
+        for (int index : costOrder) {
+            if (!check(fields[index], values, result, observer, timed)) return;
+        }
+        checkCrossFieldRules(values, result, observer, timed, true);
+    }
+
+    private static boolean check(CompiledField field, FormValues values, ValidationResult result,
+                                 ValidationObserver observer, boolean timed) {
+        String[] fieldValues = values.get(field.index());
+        String error = observer != null ? field.validate(fieldValues, observer, timed) : field.validate(fieldValues);
+        if (error == null) return true;
+        result.addError(field.name(), error);
+        return false;
+    }
+
+    // Rules are already in dependency order, so one pass evaluates each exactly once
+    private void checkCrossFieldRules(FormValues values, ValidationResult result,
+                                      ValidationObserver observer, boolean timed, boolean stopAtFirst) {
+        for (CrossFieldRule rule : crossFieldRules) {
+            if (!rule.applies(result)) continue;
+
+            int errorsBefore = result.errorCount();
+            long start = timed ? System.nanoTime() : 0;
+            rule.check(values, result);
+            if (timed) observer.ruleTimed(rule.kind(), System.nanoTime() - start);
+
+            if (result.errorCount() > errorsBefore) {
+                if (observer != null) {
+                    for (int i = errorsBefore; i < result.errorCount(); i++) {
+                        observer.fieldFailed(fieldsByName.get(result.field(i)), rule.kind());
+                    }
+                }
+                if (stopAtFirst) return;
+            }
+        }
+    }
+
+    // Every rule as data for form.js, in the order validate(values) runs them:
+    //   {"fields": [{"name", "required", "requiredMessage", "unique", "rules": [entries]}, ...],
+    //    "crossFieldRules": [entries, in dependency order]}
+    // See CompiledRule and CrossFieldRule for the entry layout.
+    public String clientRules() {
+        JSONArray fieldEntries = new JSONArray();
+        for (CompiledField field : fields) {
+            fieldEntries.put(new JSONObject()
+                    .put("name", field.name())
+                    .put("required", field.isRequired())
+                    .put("requiredMessage", field.requiredMessage())
+                    .put("unique", field.isUnique())
+                    .put("rules", field.ruleEntries()));
+        }
+        JSONArray crossFieldEntries = new JSONArray();
+        for (CrossFieldRule rule : crossFieldRules) {
+            crossFieldEntries.put(rule.entry());
+        }
+        return new JSONObject().put("fields", fieldEntries).put("crossFieldRules", crossFieldEntries).toString();
+    }
+
+    // Typed view of the submitted values, in schema order.
+    public Map<String, Object> extract(FormValues values) {
+        return extract(values, true);
+    }
+
+    // Nested objects come back as nested maps.
+    public Map<String, Object> extract(FormValues values, boolean includeWriteOnly) {
+        Map<String, Object> formData = new LinkedHashMap<>();
+        for (CompiledField field : fields) {
+            if (!includeWriteOnly && field.isWriteOnly()) continue;
+            String[] path = paths[field.index()];
+            Map<String, Object> object = formData;
+            for (int i = 0; i < path.length - 1; i++) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> member = (Map<String, Object>) object.computeIfAbsent(path[i], k -> new LinkedHashMap<>());
+                object = member;
+            }
+            object.put(path[path.length - 1], field.convert(values.get(field.index())));
+        }
+        return formData;
+    }
+}
@@ -0,0 +1,66 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+// A constraint between fields, compiled from the schema's conditional keywords and its
+// "crossFieldRules" list. A rule reads its input fields and can reject its target fields.
+// It is skipped while any input has an error, so it only ever sees values that passed their
+// own checks, and it never reports on a target that already failed.
+// Its client table entry is [kind, [input names], arguments...], with arguments as form.js reads them.
+final class CrossFieldRule {
+
+    interface Check {
+        // Adds an error for each target field the rule rejects
+        void check(FormValues values, ValidationResult result);
+    }
+
+    private final String kind;
+    private final CompiledField[] inputs;
+    private final CompiledField[] targets;
+    private final Check check;
+    private final JSONArray entry;
+
+    CrossFieldRule(String kind, CompiledField[] inputs, CompiledField[] targets, Check check, Object... arguments) {
+        this.kind = kind;
+        this.inputs = inputs;
+        this.targets = targets;
+        this.check = check;
+        this.entry = new JSONArray().put(kind).put(names(inputs));
+        for (Object argument : arguments) entry.put(JSONObject.wrap(argument));
+    }
+
+    static JSONArray names(CompiledField[] fields) {
+        JSONArray names = new JSONArray();
+        for (CompiledField field : fields) names.put(field.name());
+        return names;
+    }
+
+    String kind() {
+        return kind;
+    }
+
+    CompiledField[] inputs() {
+        return inputs;
+    }
+
+    CompiledField[] targets() {
+        return targets;
+    }
+
+    JSONArray entry() {
+        return entry;
+    }
+
+    boolean applies(ValidationResult result) {
+        if (result.isValid()) return true;
+        for (CompiledField input : inputs) {
+            if (result.hasError(input.name())) return false;
+        }
+        return true;
+    }
+
+    void check(FormValues values, ValidationResult result) {
+        check.check(values, result);
+    }
+}
@@ -0,0 +1,335 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+// Compiles every rule that spans more than one field, from these keywords on the form or any
+// nested object:
+//   if / then / else              - draft-07 conditionals, also inside "allOf" entries
+//   allOf / anyOf / oneOf / not   - combinators over subschemas of the object's own fields
+//   dependencies                  - draft-07: {"a": ["b"]} or {"a": {subschema}}
+//   dependentRequired             - the 2019-09 spelling of array dependencies
+//   crossFieldRules               - extensions with no draft-07 keyword:
+//     {"rule": "equals", "fields": ["password", "confirmPassword"], "message": "..."}
+//     {"rule": "ageMatchesDate", "fields": ["birthDate", "age"], "tolerance": 1, "message": "..."}
+// dependencyOrder then sorts them so that a rule that reads a field runs after every rule that
+// can reject that field: each rule is evaluated once and sees only fields that passed.
+// Unknown rules, unknown fields and cycles fail the schema at load time.
+final class CrossFieldRules {
+
+    // today's date, cached per UTC day so checking an age does not allocate
+    private static volatile LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+    private CrossFieldRules() {
+    }
+
+    // Adds the rules declared by one object schema; prefix is its dotted path plus "." for nested
+    // objects. enforceSelf also applies the schema's own "required" and "properties", which is
+    // how an "allOf" entry without "if" adds constraints to the fields it names.
+    static void collect(JSONObject schema, String prefix, boolean enforceSelf, Map<String, CompiledField> fieldsByName,
+                        SchemaCompiler compiler, List<CrossFieldRule> rules) {
+        if (enforceSelf && (schema.has("required") || schema.has("properties"))) {
+            SubSchema always = SubSchema.compile(schema, prefix, fieldsByName, compiler);
+            rules.add(new CrossFieldRule("allOf", new CompiledField[0], always.fields(), always::enforce, always.entry()));
+        }
+        if (schema.has("if")) {
+            rules.add(conditional(schema, prefix, fieldsByName, compiler));
+        }
+        JSONArray allOf = schema.optJSONArray("allOf");
+        if (allOf != null) {
+            for (int i = 0; i < allOf.length(); i++) {
+                collect(compiler.schemaAt(allOf.get(i)), prefix, true, fieldsByName, compiler, rules);
+            }
+        }
+        if (schema.has("anyOf")) {
+            rules.add(alternatives("anyOf", schema.getJSONArray("anyOf"), prefix, fieldsByName, compiler));
+        }
+        if (schema.has("oneOf")) {
+            rules.add(alternatives("oneOf", schema.getJSONArray("oneOf"), prefix, fieldsByName, compiler));
+        }
+        if (schema.has("not")) {
+            SubSchema forbidden = SubSchema.compile(compiler.schemaAt(schema.get("not")), prefix, fieldsByName, compiler);
+            CompiledField[] inputs = forbidden.fields();
+            if (inputs.length == 0) {
+                throw new IllegalArgumentException("\"not\" must name at least one field");
+            }
+            CompiledField target = inputs[0];
+            String message = names(inputs) + " contain a combination of values that is not allowed";
+            rules.add(new CrossFieldRule("not", inputs, new CompiledField[]{target}, (values, result) -> {
+                if (forbidden.matches(values)) result.addError(target.name(), message);
+            }, target.name(), forbidden.entry(), message));
+        }
+
+        addDependencies(schema.optJSONObject("dependencies"), prefix, fieldsByName, compiler, rules);
+        addDependencies(schema.optJSONObject("dependentRequired"), prefix, fieldsByName, compiler, rules);
+
+        JSONArray declarations = schema.optJSONArray("crossFieldRules");
+        if (declarations != null) {
+            for (int i = 0; i < declarations.length(); i++) {
+                rules.add(declared(declarations.getJSONObject(i), prefix, fieldsByName));
+            }
+        }
+    }
+
+    // The required members of an optional nested object: once anything inside it is filled in,
+    // the object counts as submitted and they have to be there too
+    static CrossFieldRule requiredWithObject(String objectPath, List<String> requiredNames,
+                                             Map<String, CompiledField> fieldsByName) {
+        String prefix = objectPath + ".";
+        CompiledField[] members = fieldsByName.values().stream()
+                .filter(field -> field.name().startsWith(prefix))
+                .sorted(Comparator.comparingInt(CompiledField::index))
+                .toArray(CompiledField[]::new);
+        CompiledField[] required = requiredNames.stream().map(fieldsByName::get).toArray(CompiledField[]::new);
+        String[] messages = Stream.of(required).map(CompiledField::requiredMessage).toArray(String[]::new);
+
+        return new CrossFieldRule("required", new CompiledField[0], required, (values, result) -> {
+            boolean present = false;
+            for (int i = 0; i < members.length && !present; i++) {
+                present = !isBlank(values.first(members[i].index()));
+            }
+            if (!present) return;
+            for (CompiledField field : required) {
+                if (isBlank(values.first(field.index())) && !result.hasError(field.name())) {
+                    result.addError(field.name(), field.requiredMessage());
+                }
+            }
+        }, CrossFieldRule.names(members), CrossFieldRule.names(required), messages);
+    }
+
+    private static CrossFieldRule conditional(JSONObject block, String prefix, Map<String, CompiledField> fieldsByName,
+                                              SchemaCompiler compiler) {
+        SubSchema condition = subSchema(block, "if", prefix, fieldsByName, compiler);
+        SubSchema then = block.has("then") ? subSchema(block, "then", prefix, fieldsByName, compiler) : null;
+        SubSchema otherwise = block.has("else") ? subSchema(block, "else", prefix, fieldsByName, compiler) : null;
+
+        List<CompiledField> targets = new ArrayList<>();
+        if (then != null) targets.addAll(List.of(then.fields()));
+        if (otherwise != null) targets.addAll(List.of(otherwise.fields()));
+
+        return new CrossFieldRule("if", condition.fields(), distinct(targets), (values, result) -> {
+            SubSchema branch = condition.matches(values) ? then : otherwise;
+            if (branch != null) branch.enforce(values, result);
+        }, condition.entry(), then != null ? then.entry() : null, otherwise != null ? otherwise.entry() : null);
+    }
+
+    // Object-level anyOf/oneOf, e.g. "anyOf": [{"required": ["email"]}, {"required": ["phone"]}].
+    // Branches are tried in order and evaluation stops once the outcome is known.
+    private static CrossFieldRule alternatives(String kind, JSONArray branchSchemas, String prefix,
+                                               Map<String, CompiledField> fieldsByName, SchemaCompiler compiler) {
+        SubSchema[] branches = new SubSchema[branchSchemas.length()];
+        List<CompiledField> inputs = new ArrayList<>();
+        JSONArray branchEntries = new JSONArray();
+        for (int i = 0; i < branches.length; i++) {
+            branches[i] = SubSchema.compile(compiler.schemaAt(branchSchemas.get(i)), prefix, fieldsByName, compiler);
+            inputs.addAll(List.of(branches[i].fields()));
+            branchEntries.put(branches[i].entry());
+        }
+        CompiledField[] fields = distinct(inputs);
+        if (fields.length == 0) {
+            throw new IllegalArgumentException("\"" + kind + "\" must name at least one field");
+        }
+        CompiledField target = fields[0];
+        boolean exactlyOne = kind.equals("oneOf");
+        String message = exactlyOne
+                ? names(fields) + " must match exactly one of the allowed combinations"
+                : names(fields) + " must match at least one of the allowed combinations";
+
+        return new CrossFieldRule(kind, fields, new CompiledField[]{target}, (values, result) -> {
+            int matched = 0;
+            for (int i = 0; i < branches.length && matched < (exactlyOne ? 2 : 1); i++) {
+                if (branches[i].matches(values)) matched++;
+            }
+            if (matched == 0 || (exactlyOne && matched > 1)) result.addError(target.name(), message);
+        }, target.name(), branchEntries, message);
+    }
+
+    private static SubSchema subSchema(JSONObject block, String keyword, String prefix,
+                                       Map<String, CompiledField> fieldsByName, SchemaCompiler compiler) {
+        return SubSchema.compile(compiler.schemaAt(block.get(keyword)), prefix, fieldsByName, compiler);
+    }
+
+    private static void addDependencies(JSONObject dependencies, String prefix, Map<String, CompiledField> fieldsByName,
+                                        SchemaCompiler compiler, List<CrossFieldRule> rules) {
+        if (dependencies == null) return;
+        for (String name : dependencies.keySet()) {
+            CompiledField trigger = field(prefix + name, fieldsByName);
+            CompiledField[] triggers = {trigger};
+            Object dependency = dependencies.get(name);
+
+            if (dependency instanceof JSONArray) {
+                CompiledField[] required = fields((JSONArray) dependency, prefix, fieldsByName);
+                String[] messages = new String[required.length];
+                for (int i = 0; i < required.length; i++) {
+                    messages[i] = required[i].name() + " is required when " + trigger.name() + " is provided";
+                }
+                rules.add(new CrossFieldRule("dependentRequired", triggers, required, (values, result) -> {
+                    if (isBlank(values.first(trigger.index()))) return;
+                    for (int i = 0; i < required.length; i++) {
+                        if (isBlank(values.first(required[i].index())) && !result.hasError(required[i].name())) {
+                            result.addError(required[i].name(), messages[i]);
+                        }
+                    }
+                }, trigger.name(), CrossFieldRule.names(required), messages));
+            } else {
+                // schema dependency: the subschema applies once the trigger field is present
+                SubSchema schema = SubSchema.compile(compiler.schemaAt(dependency), prefix, fieldsByName, compiler);
+                rules.add(new CrossFieldRule("dependencies", triggers, schema.fields(), (values, result) -> {
+                    if (!isBlank(values.first(trigger.index()))) schema.enforce(values, result);
+                }, trigger.name(), schema.entry()));
+            }
+        }
+    }
+
+    private static CrossFieldRule declared(JSONObject declaration, String prefix, Map<String, CompiledField> fieldsByName) {
+        String kind = declaration.getString("rule");
+        CompiledField[] inputs = fields(declaration.getJSONArray("fields"), prefix, fieldsByName);
+        CompiledField target = inputs[inputs.length - 1];
+        CompiledField[] targets = {target};
+
+        switch (kind) {
+            case "equals": {
+                if (inputs.length < 2) {
+                    throw new IllegalArgumentException("equals needs at least two fields");
+                }
+                String message = declaration.optString("message", target.name() + " must match " + inputs[0].name());
+                return new CrossFieldRule(kind, inputs, targets, (values, result) -> {
+                    String first = values.first(inputs[0].index());
+                    if (isBlank(first)) return;
+                    for (int i = 1; i < inputs.length; i++) {
+                        String other = values.first(inputs[i].index());
+                        if (!isBlank(other) && !first.equals(other)) {
+                            result.addError(target.name(), message);
+                            return;
+                        }
+                    }
+                }, target.name(), message);
+            }
+            case "ageMatchesDate": {
+                if (inputs.length != 2) {
+                    throw new IllegalArgumentException("ageMatchesDate needs a date field and an age field");
+                }
+                CompiledField date = inputs[0];
+                int tolerance = declaration.optInt("tolerance", 0);
+                String message = declaration.optString("message", target.name() + " does not match " + date.name());
+                return new CrossFieldRule(kind, inputs, targets, (values, result) -> {
+                    String birthDate = values.first(date.index());
+                    String age = values.first(target.index());
+                    if (isBlank(birthDate) || isBlank(age) || !Formats.isDate(birthDate)) return;
+                    int stated;
+                    try {
+                        stated = Integer.parseInt(age.trim());
+                    } catch (NumberFormatException e) {
+                        return;
+                    }
+                    if (Math.abs(stated - ageToday(birthDate)) > tolerance) {
+                        result.addError(target.name(), message);
+                    }
+                }, date.name(), target.name(), tolerance, message);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown cross-field rule: " + kind);
+        }
+    }
+
+    // Kahn's algorithm over "rejects a field the other reads" edges; ties keep declaration order
+    static CrossFieldRule[] dependencyOrder(List<CrossFieldRule> rules) {
+        int n = rules.size();
+        boolean[][] before = new boolean[n][n];
+        int[] incoming = new int[n];
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                if (a != b && overlaps(rules.get(a).targets(), rules.get(b).inputs())) {
+                    before[a][b] = true;
+                    incoming[b]++;
+                }
+            }
+        }
+
+        CrossFieldRule[] ordered = new CrossFieldRule[n];
+        boolean[] placed = new boolean[n];
+        for (int count = 0; count < n; count++) {
+            int next = -1;
+            for (int i = 0; i < n && next < 0; i++) {
+                if (!placed[i] && incoming[i] == 0) next = i;
+            }
+            if (next < 0) {
+                throw new IllegalArgumentException("Cross-field rules depend on each other in a cycle");
+            }
+            placed[next] = true;
+            ordered[count] = rules.get(next);
+            for (int b = 0; b < n; b++) {
+                if (before[next][b]) incoming[b]--;
+            }
+        }
+        return ordered;
+    }
+
+    private static boolean overlaps(CompiledField[] a, CompiledField[] b) {
+        for (CompiledField x : a) {
+            for (CompiledField y : b) {
+                if (x == y) return true;
+            }
+        }
+        return false;
+    }
+
+    private static CompiledField[] distinct(List<CompiledField> fields) {
+        return fields.stream().distinct().toArray(CompiledField[]::new);
+    }
+
+    private static CompiledField field(String name, Map<String, CompiledField> fieldsByName) {
+        CompiledField field = fieldsByName.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Cross-field rule refers to unknown field: " + name);
+        }
+        return field;
+    }
+
+    private static CompiledField[] fields(JSONArray names, String prefix, Map<String, CompiledField> fieldsByName) {
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("Cross-field rule without fields");
+        }
+        CompiledField[] fields = new CompiledField[names.length()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = field(prefix + names.getString(i), fieldsByName);
+        }
+        return fields;
+    }
+
+    private static String names(CompiledField[] fields) {
+        StringJoiner names = new StringJoiner(", ");
+        for (CompiledField field : fields) names.add(field.name());
+        return names.toString();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static int ageToday(String birthDate) {
+        long epochDay = Math.floorDiv(System.currentTimeMillis(), 86_400_000L);
+        LocalDate current = today;
+        if (current.toEpochDay() != epochDay) {
+            current = LocalDate.ofEpochDay(epochDay);
+            today = current;
+        }
+        int year = Formats.digits(birthDate, 0, 4);
+        int month = Formats.digits(birthDate, 5, 2);
+        int day = Formats.digits(birthDate, 8, 2);
+        int age = current.getYear() - year;
+        if (current.getMonthValue() < month || (current.getMonthValue() == month && current.getDayOfMonth() < day)) {
+            age--;
+        }
+        return age;
+    }
+}
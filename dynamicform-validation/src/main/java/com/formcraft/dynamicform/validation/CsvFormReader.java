@@ -0,0 +1,81 @@
+package com.formcraft.dynamicform.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads CSV records (RFC 4180 quoting) into a schema's slots. The header record names the field of
+// each column, dotted for nested objects, and repeating a column gives a field several values, as a
+// checkbox group sends them. Empty cells leave their field unset. The reader only holds the column
+// mapping, so one instance serves every worker of an import.
+public final class CsvFormReader {
+
+    private final CompiledSchema schema;
+    // field slot of each column, -1 for columns that are accepted but not declared
+    private final int[] columns;
+
+    public CsvFormReader(CompiledSchema schema, String header) throws FormParseException {
+        this.schema = schema;
+        List<String> names = cells(header);
+        columns = new int[names.size()];
+        for (int i = 0; i < columns.length; i++) {
+            String name = names.get(i).trim();
+            if (!schema.accepts(name)) {
+                throw new FormParseException("Column '" + name + "' is not a field of this form");
+            }
+            columns[i] = schema.indexOf(name);
+        }
+    }
+
+    public FormValues read(String record) throws FormParseException {
+        FormValues values = schema.newValues();
+        List<String> cells = cells(record);
+        for (int i = 0; i < cells.size(); i++) {
+            String cell = cells.get(i);
+            if (cell.isEmpty()) continue;
+            if (i >= columns.length) {
+                throw new FormParseException("Record has more cells than the header has columns");
+            }
+            if (columns[i] >= 0) values.add(columns[i], cell);
+        }
+        return values;
+    }
+
+    private static List<String> cells(String record) throws FormParseException {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        int i = 0;
+        int length = record.length();
+        while (true) {
+            cell.setLength(0);
+            if (i < length && record.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= length) throw new FormParseException("Unterminated quoted cell");
+                    char c = record.charAt(i++);
+                    if (c == '"') {
+                        if (i < length && record.charAt(i) == '"') {
+                            cell.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        cell.append(c);
+                    }
+                }
+                if (i < length && record.charAt(i) != ',') {
+                    throw new FormParseException("Unexpected character after a quoted cell");
+                }
+            } else {
+                int end = record.indexOf(',', i);
+                if (end < 0) end = length;
+                cell.append(record, i, end);
+                i = end;
+            }
+            cells.add(cell.toString());
+            if (i >= length) return cells;
+            // skip the comma
+            i++;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.formcraft.dynamicform.validation;
+
+// One pre-resolved schema constraint. Returns the error message, or null when the value passes.
+// value is the first submitted value, values all of them (only array rules look at the latter).
+interface FieldRule {
+
+    String check(String value, String[] values);
+}
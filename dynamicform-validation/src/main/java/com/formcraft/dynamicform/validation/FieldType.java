@@ -0,0 +1,30 @@
+package com.formcraft.dynamicform.validation;
+
+public enum FieldType {
+    STRING,
+    INTEGER,
+    NUMBER,
+    BOOLEAN,
+    ARRAY,
+    OBJECT,
+    OTHER;
+
+    static FieldType of(String schemaType) {
+        switch (schemaType) {
+            case "string":
+                return STRING;
+            case "integer":
+                return INTEGER;
+            case "number":
+                return NUMBER;
+            case "boolean":
+                return BOOLEAN;
+            case "array":
+                return ARRAY;
+            case "object":
+                return OBJECT;
+            default:
+                return OTHER;
+        }
+    }
+}
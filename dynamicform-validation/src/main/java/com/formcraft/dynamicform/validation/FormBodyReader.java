@@ -0,0 +1,141 @@
+package com.formcraft.dynamicform.validation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+// Streaming reader for an application/x-www-form-urlencoded body, used instead of the container's
+// parameter map. Each name is percent-decoded into a reusable byte buffer and matched against the
+// schema's UTF-8 field names; only values of declared fields become Strings, and they go straight
+// into their slots. Undeclared members are skipped without allocating (apart from the one name kept
+// for the error when the schema rejects unknown fields). Body size and field count are capped
+// while reading, so an oversized payload is cut off rather than buffered.
+public final class FormBodyReader {
+
+    private final CompiledSchema schema;
+    private final InputStream in;
+    private final Charset charset;
+    private final boolean utf8;
+    private final long maxBytes;
+    private final int maxFields;
+    private final byte[] buffer = new byte[8192];
+    private byte[] token = new byte[128];
+    private int tokenLength;
+    private int pos;
+    private int limit;
+    private long consumed;
+
+    private FormBodyReader(CompiledSchema schema, InputStream in, Charset charset, long maxBytes, int maxFields) {
+        this.schema = schema;
+        this.in = in;
+        this.charset = charset;
+        this.utf8 = charset.equals(StandardCharsets.UTF_8);
+        this.maxBytes = maxBytes;
+        this.maxFields = maxFields;
+    }
+
+    public static FormValues read(CompiledSchema schema, InputStream in, Charset charset, long maxBytes,
+                                  int maxFields) throws IOException {
+        return new FormBodyReader(schema, in, charset, maxBytes, maxFields).readBody();
+    }
+
+    private FormValues readBody() throws IOException {
+        FormValues values = schema.newValues();
+        int fields = 0;
+        int end;
+        do {
+            end = readToken(true);
+            // "a=1&&b=2" and a trailing '&' leave empty pairs behind
+            if (tokenLength == 0 && end != '=') continue;
+            if (++fields > maxFields) {
+                throw new FormTooLargeException("Submission has more than " + maxFields + " fields");
+            }
+
+            int index = utf8 ? schema.indexOf(token, tokenLength)
+                    : schema.indexOf(new String(token, 0, tokenLength, charset));
+            if (index < 0 && tokenLength > 0 && schema.rejectsUnknown() && values.unknownField() == null) {
+                String name = new String(token, 0, tokenLength, charset);
+                if (!schema.accepts(name)) values.markUnknown(name);
+            }
+
+            if (end != '=') {
+                // a bare name counts as an empty value
+                tokenLength = 0;
+            } else if (index >= 0) {
+                end = readToken(false);
+            } else {
+                end = skipToken();
+            }
+            if (index >= 0) values.add(index, new String(token, 0, tokenLength, charset));
+        } while (end != -1);
+        return values;
+    }
+
+    // Decodes a name (up to '=' or '&') or a value (up to '&') into token; returns the delimiter or -1
+    private int readToken(boolean name) throws IOException {
+        tokenLength = 0;
+        while (true) {
+            int b = next();
+            switch (b) {
+                case -1:
+                case '&':
+                    return b;
+                case '=':
+                    if (name) return b;
+                    append(b);
+                    break;
+                case '+':
+                    append(' ');
+                    break;
+                case '%':
+                    int high = hex(next());
+                    append((high << 4) | hex(next()));
+                    break;
+                default:
+                    append(b);
+                    break;
+            }
+        }
+    }
+
+    private int skipToken() throws IOException {
+        int b;
+        do {
+            b = next();
+        } while (b != '&' && b != -1);
+        return b;
+    }
+
+    private void append(int b) {
+        if (tokenLength == token.length) {
+            byte[] larger = new byte[token.length * 2];
+            System.arraycopy(token, 0, larger, 0, tokenLength);
+            token = larger;
+        }
+        token[tokenLength++] = (byte) b;
+    }
+
+    private static int hex(int b) throws FormParseException {
+        int digit = b < 0 ? -1 : Character.digit(b, 16);
+        if (digit < 0) throw new FormParseException("Invalid percent-encoding in form body");
+        return digit;
+    }
+
+    private int next() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buffer[pos++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) return false;
+        consumed += n;
+        if (consumed > maxBytes) {
+            throw new FormTooLargeException("Submission exceeds " + maxBytes + " bytes");
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -0,0 +1,11 @@
+package com.formcraft.dynamicform.validation;
+
+import java.io.IOException;
+
+// The submitted body could not be read as a form: malformed syntax or a size limit exceeded.
+public class FormParseException extends IOException {
+
+    public FormParseException(String message) {
+        super(message);
+    }
+}
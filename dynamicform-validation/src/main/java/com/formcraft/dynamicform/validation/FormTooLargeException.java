@@ -0,0 +1,9 @@
+package com.formcraft.dynamicform.validation;
+
+// The submitted body went over a size or field-count limit; answered with 413 rather than 400.
+public class FormTooLargeException extends FormParseException {
+
+    public FormTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,53 @@
+package com.formcraft.dynamicform.validation;
+
+import java.util.Arrays;
+
+// Submitted values laid out in the compiled schema's field order, one slot per field.
+// A slot holds every submitted value for the field (checkbox groups send several), or null when absent.
+public final class FormValues {
+
+    private final String[][] slots;
+    // first submitted name that a closed object ("additionalProperties": false) does not declare
+    private String unknownField;
+
+    FormValues(int fieldCount) {
+        this.slots = new String[fieldCount][];
+    }
+
+    public void set(int fieldIndex, String[] values) {
+        slots[fieldIndex] = values;
+    }
+
+    // Appends one more value for a field that is sent several times (checkbox groups)
+    public void add(int fieldIndex, String value) {
+        String[] values = slots[fieldIndex];
+        if (values == null) {
+            slots[fieldIndex] = new String[]{value};
+        } else {
+            String[] more = Arrays.copyOf(values, values.length + 1);
+            more[values.length] = value;
+            slots[fieldIndex] = more;
+        }
+    }
+
+    public String[] get(int fieldIndex) {
+        return slots[fieldIndex];
+    }
+
+    public String first(int fieldIndex) {
+        String[] values = slots[fieldIndex];
+        return (values != null && values.length > 0) ? values[0] : null;
+    }
+
+    public void markUnknown(String name) {
+        if (unknownField == null) unknownField = name;
+    }
+
+    public String unknownField() {
+        return unknownField;
+    }
+
+    public int size() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,234 @@
+package com.formcraft.dynamicform.validation;
+
+// Hand-written matchers for the draft-07 "format" keyword. Each one scans the value once
+// and allocates nothing, unlike String.matches which compiles a regex per call.
+public final class Formats {
+
+    private Formats() {
+    }
+
+    // Same shape the form has always accepted: no whitespace, exactly one '@',
+    // and a '.' in the domain part with at least one character on each side.
+    public static boolean isEmail(CharSequence s) {
+        int len = s.length();
+        int at = -1;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (isRegexWhitespace(c)) return false;
+            if (c == '@') {
+                if (at >= 0) return false;
+                at = i;
+            }
+        }
+        if (at <= 0) return false;
+        for (int i = at + 2; i < len - 1; i++) {
+            if (s.charAt(i) == '.') return true;
+        }
+        return false;
+    }
+
+    // full-date from RFC 3339: YYYY-MM-DD, checked against the calendar
+    public static boolean isDate(CharSequence s) {
+        return s.length() == 10 && isDateAt(s, 0);
+    }
+
+    // date-time from RFC 3339, e.g. 2024-02-29T13:45:00.250+01:00
+    public static boolean isDateTime(CharSequence s) {
+        int len = s.length();
+        if (len < 20 || !isDateAt(s, 0)) return false;
+        char t = s.charAt(10);
+        if (t != 'T' && t != 't') return false;
+        return isTimeAt(s, 11);
+    }
+
+    // full-time from RFC 3339: HH:MM:SS with optional fraction and a mandatory offset
+    public static boolean isTime(CharSequence s) {
+        return isTimeAt(s, 0);
+    }
+
+    // 8-4-4-4-12 hex digits
+    public static boolean isUuid(CharSequence s) {
+        if (s.length() != 36) return false;
+        for (int i = 0; i < 36; i++) {
+            char c = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return false;
+            } else if (hexValue(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Dotted quad, each octet 0-255 without leading zeros
+    public static boolean isIpv4(CharSequence s) {
+        int len = s.length();
+        int octets = 0;
+        int i = 0;
+        while (i < len) {
+            int start = i;
+            int value = 0;
+            while (i < len && isDigit(s.charAt(i))) {
+                value = value * 10 + (s.charAt(i) - '0');
+                i++;
+                if (i - start > 3) return false;
+            }
+            int digits = i - start;
+            if (digits == 0 || value > 255) return false;
+            if (digits > 1 && s.charAt(start) == '0') return false;
+            octets++;
+            if (i == len) break;
+            if (s.charAt(i) != '.' || octets == 4) return false;
+            i++;
+            if (i == len) return false;
+        }
+        return octets == 4;
+    }
+
+    // Absolute URI per RFC 3986: a scheme, ':', then only URI characters and well-formed percent escapes
+    public static boolean isUri(CharSequence s) {
+        int len = s.length();
+        if (len < 2 || !isAlpha(s.charAt(0))) return false;
+
+        int i = 1;
+        while (i < len) {
+            char c = s.charAt(i);
+            if (c == ':') break;
+            if (!isAlpha(c) && !isDigit(c) && c != '+' && c != '-' && c != '.') return false;
+            i++;
+        }
+        if (i == len) return false;
+
+        for (i++; i < len; i++) {
+            char c = s.charAt(i);
+            if (c == '%') {
+                if (i + 2 >= len || hexValue(s.charAt(i + 1)) < 0 || hexValue(s.charAt(i + 2)) < 0) return false;
+                i += 2;
+            } else if (!isUriChar(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDateAt(CharSequence s, int p) {
+        if (s.length() < p + 10 || s.charAt(p + 4) != '-' || s.charAt(p + 7) != '-') return false;
+        int year = digits(s, p, 4);
+        int month = digits(s, p + 5, 2);
+        int day = digits(s, p + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1) return false;
+        return day <= daysInMonth(year, month);
+    }
+
+    private static boolean isTimeAt(CharSequence s, int p) {
+        int len = s.length();
+        if (len < p + 9 || s.charAt(p + 2) != ':' || s.charAt(p + 5) != ':') return false;
+        int hour = digits(s, p, 2);
+        int minute = digits(s, p + 3, 2);
+        int second = digits(s, p + 6, 2);
+        // 60 is a leap second
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60) return false;
+
+        int i = p + 8;
+        if (s.charAt(i) == '.') {
+            int start = ++i;
+            while (i < len && isDigit(s.charAt(i))) i++;
+            if (i == start || i == len) return false;
+        }
+
+        char offset = s.charAt(i);
+        if (offset == 'Z' || offset == 'z') return i + 1 == len;
+        if (offset != '+' && offset != '-') return false;
+        if (len != i + 6 || s.charAt(i + 3) != ':') return false;
+        int offsetHour = digits(s, i + 1, 2);
+        int offsetMinute = digits(s, i + 4, 2);
+        return offsetHour >= 0 && offsetHour <= 23 && offsetMinute >= 0 && offsetMinute <= 59;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // A plain decimal as number inputs send it: optional '-', digits with an optional fraction
+    // (".5" included) and an optional exponent. Rejects what Double.parseDouble would also take,
+    // such as "NaN", "Infinity", hex floats or surrounding whitespace.
+    public static boolean isDecimal(CharSequence s) {
+        int len = s.length();
+        int i = 0;
+        if (i < len && s.charAt(i) == '-') i++;
+        int start = i;
+        while (i < len && isDigit(s.charAt(i))) i++;
+        boolean whole = i > start;
+        if (i < len && s.charAt(i) == '.') {
+            int fraction = ++i;
+            while (i < len && isDigit(s.charAt(i))) i++;
+            if (i == fraction) return false;
+        } else if (!whole) {
+            return false;
+        }
+        if (i < len && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < len && (s.charAt(i) == '+' || s.charAt(i) == '-')) i++;
+            int exponent = i;
+            while (i < len && isDigit(s.charAt(i))) i++;
+            if (i == exponent) return false;
+        }
+        return i == len;
+    }
+
+    // Parses count ASCII digits starting at p, or returns -1
+    static int digits(CharSequence s, int p, int count) {
+        int value = 0;
+        for (int i = p; i < p + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    // unreserved, gen-delims and sub-delims from RFC 3986
+    private static boolean isUriChar(char c) {
+        if (isAlpha(c) || isDigit(c)) return true;
+        switch (c) {
+            case '-': case '.': case '_': case '~':
+            case ':': case '/': case '?': case '#': case '[': case ']': case '@':
+            case '!': case '$': case '&': case '\'': case '(': case ')':
+            case '*': case '+': case ',': case ';': case '=':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // what \s matches in java.util.regex
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,275 @@
+package com.formcraft.dynamicform.validation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming reader for a JSON submission body: one top-level object whose members are form fields.
+// Values go straight into the compiled schema's slots without building a JSON tree. Scalars are kept
+// as their text (numbers as written, booleans as "true"/"false"), arrays of scalars become multiple
+// values, and members the schema does not declare are skipped without being materialised (and
+// recorded when their object is closed). Nested objects fill the slots of their dotted fields.
+public final class JsonFormReader {
+
+    // Nesting allowed inside a skipped value; skipping recurses once per level
+    static final int MAX_DEPTH = 64;
+
+    private final CompiledSchema schema;
+    private final Reader in;
+    private final long maxChars;
+    private final char[] buffer = new char[4096];
+    private final StringBuilder text = new StringBuilder(64);
+    private int pos;
+    private int limit;
+    private long consumed;
+
+    private JsonFormReader(CompiledSchema schema, Reader in, long maxChars) {
+        this.schema = schema;
+        this.in = in;
+        this.maxChars = maxChars;
+    }
+
+    public static FormValues read(CompiledSchema schema, Reader in, long maxChars) throws IOException {
+        return new JsonFormReader(schema, in, maxChars).readObject();
+    }
+
+    private FormValues readObject() throws IOException {
+        FormValues values = schema.newValues();
+        expect('{');
+        readMembers(values, "");
+        if (peekSkippingWhitespace() != -1) {
+            throw new FormParseException("Unexpected content after the JSON object");
+        }
+        return values;
+    }
+
+    // Reads the members of an object whose '{' has been consumed, through its closing '}'
+    private void readMembers(FormValues values, String prefix) throws IOException {
+        if (peekSkippingWhitespace() == '}') {
+            next();
+            return;
+        }
+        do {
+            expect('"');
+            String name = prefix.isEmpty() ? readString() : prefix + readString();
+            expect(':');
+            int index = schema.indexOf(name);
+            if (index >= 0) {
+                values.set(index, readFieldValue());
+            } else if (schema.isObject(name) && peekSkippingWhitespace() == '{') {
+                next();
+                readMembers(values, name + ".");
+            } else {
+                if (!schema.accepts(name)) values.markUnknown(name);
+                skipValue(0);
+            }
+        } while (nextSkippingWhitespace(',', '}') == ',');
+    }
+
+    // null for JSON null and for nested objects, which form fields cannot hold
+    private String[] readFieldValue() throws IOException {
+        int c = peekSkippingWhitespace();
+        if (c == '[') {
+            next();
+            List<String> items = new ArrayList<>();
+            if (peekSkippingWhitespace() == ']') {
+                next();
+                return new String[0];
+            }
+            do {
+                String item = readScalar();
+                if (item != null) items.add(item);
+            } while (nextSkippingWhitespace(',', ']') == ',');
+            return items.toArray(new String[0]);
+        }
+        String value = readScalar();
+        return value != null ? new String[]{value} : null;
+    }
+
+    private String readScalar() throws IOException {
+        int c = peekSkippingWhitespace();
+        switch (c) {
+            case '"':
+                next();
+                return readString();
+            case 't':
+                expectLiteral("true");
+                return "true";
+            case 'f':
+                expectLiteral("false");
+                return "false";
+            case 'n':
+                expectLiteral("null");
+                return null;
+            case '{':
+            case '[':
+                skipValue(0);
+                return null;
+            default:
+                return readNumber();
+        }
+    }
+
+    private void skipValue(int depth) throws IOException {
+        int c = peekSkippingWhitespace();
+        if (c == '{' || c == '[') {
+            if (depth == MAX_DEPTH) {
+                throw new FormParseException("JSON nested deeper than " + MAX_DEPTH + " levels");
+            }
+            next();
+            char close = c == '{' ? '}' : ']';
+            if (peekSkippingWhitespace() == close) {
+                next();
+                return;
+            }
+            do {
+                if (close == '}') {
+                    expect('"');
+                    skipString();
+                    expect(':');
+                }
+                skipValue(depth + 1);
+            } while (nextSkippingWhitespace(',', close) == ',');
+        } else if (c == '"') {
+            next();
+            skipString();
+        } else {
+            readScalar();
+        }
+    }
+
+    // Reads the rest of a string whose opening quote has been consumed
+    private String readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int c = next();
+            if (c == '"') return text.toString();
+            if (c == '\\') {
+                text.append(readEscape());
+            } else if (c < 0x20) {
+                throw new FormParseException(c < 0 ? "Unterminated string" : "Control character in string");
+            } else {
+                text.append((char) c);
+            }
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (true) {
+            int c = next();
+            if (c == '"') return;
+            if (c == '\\') {
+                readEscape();
+            } else if (c < 0x20) {
+                throw new FormParseException(c < 0 ? "Unterminated string" : "Control character in string");
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = next();
+        switch (c) {
+            case '"': return '"';
+            case '\\': return '\\';
+            case '/': return '/';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(next(), 16);
+                    if (digit < 0) throw new FormParseException("Invalid unicode escape");
+                    code = (code << 4) | digit;
+                }
+                return (char) code;
+            default:
+                throw new FormParseException("Invalid escape sequence");
+        }
+    }
+
+    private String readNumber() throws IOException {
+        text.setLength(0);
+        int c = peek();
+        if (c == '-') text.append((char) next());
+        if (!appendDigits()) throw new FormParseException("Invalid value");
+        if (peek() == '.') {
+            text.append((char) next());
+            if (!appendDigits()) throw new FormParseException("Invalid number");
+        }
+        c = peek();
+        if (c == 'e' || c == 'E') {
+            text.append((char) next());
+            c = peek();
+            if (c == '+' || c == '-') text.append((char) next());
+            if (!appendDigits()) throw new FormParseException("Invalid number");
+        }
+        return text.toString();
+    }
+
+    private boolean appendDigits() throws IOException {
+        int start = text.length();
+        while (peek() >= '0' && peek() <= '9') {
+            text.append((char) next());
+        }
+        return text.length() > start;
+    }
+
+    private void expectLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (next() != literal.charAt(i)) throw new FormParseException("Invalid literal");
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (nextSkippingWhitespace() != expected) {
+            throw new FormParseException("Expected '" + expected + "'");
+        }
+    }
+
+    private int nextSkippingWhitespace(char a, char b) throws IOException {
+        int c = nextSkippingWhitespace();
+        if (c != a && c != b) {
+            throw new FormParseException("Expected '" + a + "' or '" + b + "'");
+        }
+        return c;
+    }
+
+    private int nextSkippingWhitespace() throws IOException {
+        peekSkippingWhitespace();
+        return next();
+    }
+
+    private int peekSkippingWhitespace() throws IOException {
+        int c;
+        while ((c = peek()) == ' ' || c == '\t' || c == '\n' || c == '\r') {
+            next();
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buffer[pos];
+    }
+
+    private int next() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buffer[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) return false;
+        consumed += n;
+        if (consumed > maxChars) {
+            throw new FormTooLargeException("Submission exceeds " + maxChars + " characters");
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package com.formcraft.dynamicform.validation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// Bounded, thread-safe cache of compiled schema patterns, keyed by the pattern source.
+// Forms tend to repeat the same few patterns, so schemas compiled later reuse the same Pattern instance.
+// Reads only stamp the entry's last access time; a miss on a full cache evicts the least recently
+// used pattern, the same scheme as the web module's WeightedLruCache.
+public final class PatternCache {
+
+    private static final class Entry {
+        final Pattern pattern;
+        volatile long lastAccess;
+
+        Entry(Pattern pattern) {
+            this.pattern = pattern;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+
+    private static final int DEFAULT_MAX_SIZE = 1024;
+    private static final PatternCache SHARED = new PatternCache(DEFAULT_MAX_SIZE);
+
+    private final ConcurrentHashMap<String, Entry> patterns = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Object evictionLock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PatternCache(int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be positive");
+        this.maxSize = maxSize;
+    }
+
+    public static PatternCache shared() {
+        return SHARED;
+    }
+
+    public Pattern get(String regex) {
+        Entry entry = patterns.get(regex);
+        if (entry != null) {
+            hits.increment();
+            entry.lastAccess = System.nanoTime();
+            return entry.pattern;
+        }
+        misses.increment();
+
+        // Pattern.compile may throw; nothing is cached in that case
+        Pattern pattern = Pattern.compile(regex);
+        if (patterns.size() >= maxSize) {
+            evictOne();
+        }
+        Entry existing = patterns.putIfAbsent(regex, new Entry(pattern));
+        return existing != null ? existing.pattern : pattern;
+    }
+
+    public int size() {
+        return patterns.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    // A linear scan is cheap at this size and only runs when a miss finds the cache full
+    private void evictOne() {
+        synchronized (evictionLock) {
+            if (patterns.size() < maxSize) return;
+            Map.Entry<String, Entry> oldest = null;
+            for (Map.Entry<String, Entry> candidate : patterns.entrySet()) {
+                if (oldest == null || candidate.getValue().lastAccess < oldest.getValue().lastAccess) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest != null) {
+                // only remove the entry we looked at, not one that replaced it meanwhile
+                patterns.remove(oldest.getKey(), oldest.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+// Factories for the constraints a field schema can carry. Every limit and message is resolved here,
+// at compile time, so checking a valid value does not allocate. Each rule also gets its client
+// table entry from the same limits and messages (see CompiledRule and form.js).
+final class Rules {
+
+    private Rules() {
+    }
+
+    // Lengths count code points, as JSON Schema does; counting only happens when the char length
+    // alone cannot decide, i.e. when surrogate pairs might make the difference
+    static CompiledRule minLength(String fieldName, int minLength) {
+        String message = fieldName + " must be at least " + minLength + " characters";
+        return rule((value, values) -> {
+            int length = value.length();
+            if (length < minLength) return message;
+            if (length >= 2L * minLength) return null;
+            return value.codePointCount(0, length) < minLength ? message : null;
+        }, "minLength", minLength, message);
+    }
+
+    static CompiledRule maxLength(String fieldName, int maxLength) {
+        String message = fieldName + " must not exceed " + maxLength + " characters";
+        return rule((value, values) -> {
+            int length = value.length();
+            if (length <= maxLength) return null;
+            return value.codePointCount(0, length) > maxLength ? message : null;
+        }, "maxLength", maxLength, message);
+    }
+
+    static CompiledRule pattern(String fieldName, String regex) {
+        Pattern pattern = PatternCache.shared().get(regex);
+        String message = fieldName + " format is invalid";
+        return rule((value, values) -> pattern.matcher(value).matches() ? null : message, "pattern", regex, message);
+    }
+
+    // Unknown formats are annotations only, as draft-07 allows, and compile to no rule.
+    static CompiledRule format(String fieldName, String format) {
+        switch (format) {
+            case "email":
+                return format(format, Formats::isEmail, "Invalid email address");
+            case "date":
+                return format(format, Formats::isDate, "Invalid date format");
+            case "date-time":
+                return format(format, Formats::isDateTime, fieldName + " must be a valid date-time");
+            case "time":
+                return format(format, Formats::isTime, fieldName + " must be a valid time");
+            case "uri":
+                return format(format, Formats::isUri, fieldName + " must be a valid URI");
+            case "uuid":
+                return format(format, Formats::isUuid, fieldName + " must be a valid UUID");
+            case "ipv4":
+                return format(format, Formats::isIpv4, fieldName + " must be a valid IPv4 address");
+            default:
+                return null;
+        }
+    }
+
+    private static CompiledRule format(String format, Predicate<CharSequence> matcher, String message) {
+        return rule((value, values) -> matcher.test(value) ? null : message, "format", format, message);
+    }
+
+    static CompiledRule oneOf(String fieldName, Set<String> allowed) {
+        String message = fieldName + " has an invalid value";
+        return rule((value, values) -> allowed.contains(value) ? null : message, "enum", sorted(allowed), message);
+    }
+
+    static CompiledRule equalTo(String fieldName, String constant) {
+        String message = fieldName + " must be " + constant;
+        return rule((value, values) -> constant.equals(value) ? null : message, "const", constant, message);
+    }
+
+    static CompiledRule accepted(String fieldName) {
+        String message = fieldName + " must be accepted";
+        return rule((value, values) -> "true".equals(value) ? null : message, "accepted", message);
+    }
+
+    // Type check and bounds in one pass. Integers are compared as longs, numbers as doubles.
+    static CompiledRule number(String fieldName, boolean integral, BigDecimal minimum, boolean exclusiveMinimum,
+                            BigDecimal maximum, boolean exclusiveMaximum) {
+        String invalid = fieldName + " must be a valid number";
+        String tooSmall = minimum == null ? null
+                : fieldName + (exclusiveMinimum ? " must be greater than " : " must be at least ") + text(minimum);
+        String tooLarge = maximum == null ? null
+                : fieldName + (exclusiveMaximum ? " must be less than " : " must not exceed ") + text(maximum);
+
+        if (integral) {
+            long min = minimum == null ? Long.MIN_VALUE
+                    : exclusiveMinimum ? toLong(minimum, RoundingMode.FLOOR) + 1 : toLong(minimum, RoundingMode.CEILING);
+            long max = maximum == null ? Long.MAX_VALUE
+                    : exclusiveMaximum ? toLong(maximum, RoundingMode.CEILING) - 1 : toLong(maximum, RoundingMode.FLOOR);
+            // bounds go to the client as strings, since they need not fit a JavaScript number
+            return rule((value, values) -> {
+                long longValue;
+                try {
+                    longValue = Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    return invalid;
+                }
+                if (longValue < min) return tooSmall;
+                if (longValue > max) return tooLarge;
+                return null;
+            }, "integer", minimum == null ? null : String.valueOf(min), maximum == null ? null : String.valueOf(max),
+                    invalid, tooSmall, tooLarge);
+        }
+
+        double min = minimum == null ? Double.NEGATIVE_INFINITY : minimum.doubleValue();
+        double max = maximum == null ? Double.POSITIVE_INFINITY : maximum.doubleValue();
+        return rule((value, values) -> {
+            if (!Formats.isDecimal(value)) return invalid;
+            double doubleValue = Double.parseDouble(value);
+            if (doubleValue < min || (exclusiveMinimum && doubleValue == min)) return tooSmall;
+            if (doubleValue > max || (exclusiveMaximum && doubleValue == max)) return tooLarge;
+            return null;
+        }, "number", minimum == null ? null : minimum.toString(), exclusiveMinimum,
+                maximum == null ? null : maximum.toString(), exclusiveMaximum, invalid, tooSmall, tooLarge);
+    }
+
+    // Runs after the type check, so unparsable values are left to that rule
+    static CompiledRule multipleOf(String fieldName, BigDecimal divisor) {
+        if (divisor.signum() <= 0) {
+            throw new IllegalArgumentException(fieldName + ": multipleOf must be greater than 0");
+        }
+        String message = fieldName + " must be a multiple of " + text(divisor);
+        if (divisor.stripTrailingZeros().scale() <= 0 && divisor.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) <= 0) {
+            long longDivisor = divisor.longValueExact();
+            return rule((value, values) -> {
+                try {
+                    return Long.parseLong(value) % longDivisor == 0 ? null : message;
+                } catch (NumberFormatException e) {
+                    return decimalMultipleOf(value, divisor, message);
+                }
+            }, "multipleOf", divisor.toString(), message);
+        }
+        return rule((value, values) -> decimalMultipleOf(value, divisor, message), "multipleOf", divisor.toString(), message);
+    }
+
+    private static String decimalMultipleOf(String value, BigDecimal divisor, String message) {
+        if (!Formats.isDecimal(value)) return null;
+        try {
+            return new BigDecimal(value).remainder(divisor).signum() == 0 ? null : message;
+        } catch (ArithmeticException e) {
+            return message;
+        }
+    }
+
+    private static long toLong(BigDecimal bound, RoundingMode rounding) {
+        BigDecimal whole = bound.setScale(0, rounding);
+        if (whole.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) <= 0) return Long.MIN_VALUE;
+        if (whole.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) >= 0) return Long.MAX_VALUE;
+        return whole.longValue();
+    }
+
+    private static String text(BigDecimal number) {
+        return number.stripTrailingZeros().toPlainString();
+    }
+
+    static CompiledRule bool(String fieldName) {
+        String message = fieldName + " must be true or false";
+        return rule((value, values) -> ("true".equals(value) || "false".equals(value)) ? null : message,
+                "boolean", message);
+    }
+
+    static CompiledRule items(String fieldName, int minItems, int maxItems, Set<String> itemEnum) {
+        String tooFew = fieldName + " must have at least " + minItems + " items";
+        String tooMany = fieldName + " must not have more than " + maxItems + " items";
+        String prefix = fieldName + " contains invalid value: ";
+        return rule((value, values) -> {
+            int count = values != null ? values.length : 0;
+            if (count < minItems) return tooFew;
+            if (count > maxItems) return tooMany;
+            if (itemEnum != null) {
+                for (int i = 0; i < count; i++) {
+                    if (!itemEnum.contains(values[i])) {
+                        return prefix + values[i];
+                    }
+                }
+            }
+            return null;
+        }, "items", minItems, maxItems, itemEnum == null ? null : sorted(itemEnum), tooFew, tooMany, prefix);
+    }
+
+    static CompiledRule eachItem(CompiledRule[] compiledItemRules) {
+        FieldRule[] itemRules = checks(compiledItemRules);
+        return rule((value, values) -> {
+            for (String item : values) {
+                String error = firstError(itemRules, item);
+                if (error != null) return error;
+            }
+            return null;
+        }, "eachItem", entries(compiledItemRules));
+    }
+
+    // Tuple "items": one rule array per position, rest for any items after the last position
+    static CompiledRule tuple(CompiledRule[][] compiledPositional, CompiledRule[] compiledRest) {
+        FieldRule[][] positional = checks(compiledPositional);
+        FieldRule[] rest = checks(compiledRest);
+        return rule((value, values) -> {
+            for (int i = 0; i < values.length; i++) {
+                String error = firstError(i < positional.length ? positional[i] : rest, values[i]);
+                if (error != null) return error;
+            }
+            return null;
+        }, "tuple", entries(compiledPositional), entries(compiledRest));
+    }
+
+    static CompiledRule uniqueItems(String fieldName) {
+        String message = fieldName + " must not contain duplicate values";
+        return rule((value, values) -> {
+            // a few checkboxes are compared pairwise, longer lists through a set
+            if (values.length <= 16) {
+                for (int i = 1; i < values.length; i++) {
+                    for (int j = 0; j < i; j++) {
+                        if (values[i].equals(values[j])) return message;
+                    }
+                }
+                return null;
+            }
+            Set<String> seen = new HashSet<>();
+            for (String item : values) {
+                if (!seen.add(item)) return message;
+            }
+            return null;
+        }, "uniqueItems", message);
+    }
+
+    static CompiledRule contains(String fieldName, CompiledRule[] compiledItemRules) {
+        FieldRule[] itemRules = checks(compiledItemRules);
+        String message = fieldName + " must contain at least one matching value";
+        return rule((value, values) -> {
+            for (String item : values) {
+                if (firstError(itemRules, item) == null) return null;
+            }
+            return message;
+        }, "contains", entries(compiledItemRules), message);
+    }
+
+    // Passes on the first branch that passes
+    static CompiledRule anyOf(String fieldName, CompiledRule[][] compiledBranches) {
+        FieldRule[][] branches = checks(compiledBranches);
+        String message = fieldName + " has an invalid value";
+        return rule((value, values) -> {
+            for (FieldRule[] branch : branches) {
+                if (passes(branch, value, values)) return null;
+            }
+            return branches.length == 1 ? firstError(branches[0], value, values) : message;
+        }, "anyOf", entries(compiledBranches), message);
+    }
+
+    // Stops as soon as a second branch passes
+    static CompiledRule exactlyOne(String fieldName, CompiledRule[][] compiledBranches) {
+        FieldRule[][] branches = checks(compiledBranches);
+        String none = fieldName + " has an invalid value";
+        String several = fieldName + " must match exactly one of the allowed alternatives";
+        return rule((value, values) -> {
+            boolean matched = false;
+            for (FieldRule[] branch : branches) {
+                if (passes(branch, value, values)) {
+                    if (matched) return several;
+                    matched = true;
+                }
+            }
+            return matched ? null : none;
+        }, "oneOf", entries(compiledBranches), none, several);
+    }
+
+    static CompiledRule not(String fieldName, CompiledRule[] compiledBranch) {
+        FieldRule[] branch = checks(compiledBranch);
+        String message = fieldName + " has a value that is not allowed";
+        return rule((value, values) -> passes(branch, value, values) ? message : null,
+                "not", entries(compiledBranch), message);
+    }
+
+    static CompiledRule conditional(CompiledRule[] compiledCondition, CompiledRule[] compiledThen,
+                                    CompiledRule[] compiledOtherwise) {
+        FieldRule[] condition = checks(compiledCondition);
+        FieldRule[] then = checks(compiledThen);
+        FieldRule[] otherwise = checks(compiledOtherwise);
+        return rule((value, values) -> firstError(passes(condition, value, values) ? then : otherwise, value, values),
+                "if", entries(compiledCondition), entries(compiledThen), entries(compiledOtherwise));
+    }
+
+    static FieldRule[] checks(CompiledRule[] rules) {
+        FieldRule[] checks = new FieldRule[rules.length];
+        for (int i = 0; i < rules.length; i++) checks[i] = rules[i].check();
+        return checks;
+    }
+
+    private static FieldRule[][] checks(CompiledRule[][] rules) {
+        FieldRule[][] checks = new FieldRule[rules.length][];
+        for (int i = 0; i < rules.length; i++) checks[i] = checks(rules[i]);
+        return checks;
+    }
+
+    static JSONArray entries(CompiledRule[] rules) {
+        JSONArray entries = new JSONArray();
+        for (CompiledRule rule : rules) entries.put(rule.entry());
+        return entries;
+    }
+
+    private static JSONArray entries(CompiledRule[][] rules) {
+        JSONArray entries = new JSONArray();
+        for (CompiledRule[] branch : rules) entries.put(entries(branch));
+        return entries;
+    }
+
+    // The entry is the rule's table name followed by its arguments
+    private static CompiledRule rule(FieldRule check, String name, Object... arguments) {
+        JSONArray entry = new JSONArray().put(name);
+        for (Object argument : arguments) entry.put(JSONObject.wrap(argument));
+        return new CompiledRule(check, entry);
+    }
+
+    // Sets go out in a fixed order, so the same schema always gives the same table
+    private static Set<String> sorted(Set<String> values) {
+        return new TreeSet<>(values);
+    }
+
+    private static boolean passes(FieldRule[] rules, String value, String[] values) {
+        return firstError(rules, value, values) == null;
+    }
+
+    private static String firstError(FieldRule[] rules, String value, String[] values) {
+        for (FieldRule rule : rules) {
+            String error = rule.check(value, values);
+            if (error != null) return error;
+        }
+        return null;
+    }
+
+    // An array item is checked as a value of its own
+    private static String firstError(FieldRule[] rules, String item) {
+        for (FieldRule rule : rules) {
+            String error = rule.check(item, null);
+            if (error != null) return error;
+        }
+        return null;
+    }
+}
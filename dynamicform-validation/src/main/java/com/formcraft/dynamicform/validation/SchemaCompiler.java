@@ -0,0 +1,436 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+// Turns a draft-07 form schema into compiled fields. Every "$ref" is resolved here, once, so nothing
+// follows a pointer while validating. Nested objects are flattened into dotted field names
+// ("address.city"), which gives each leaf value its own slot just like a top-level property.
+// Objects inside arrays cannot be submitted as form fields and fail the schema at load time.
+final class SchemaCompiler {
+
+    private static final int MAX_REF_CHAIN = 32;
+    private static final int MAX_NESTING = 16;
+
+    private static final JSONObject ANY = new JSONObject();
+    private static final JSONObject NOTHING = new JSONObject().put("not", new JSONObject());
+
+    private final JSONObject root;
+    private final Map<String, JSONObject> resolvedRefs = new HashMap<>();
+
+    private final List<CompiledField> fields = new ArrayList<>();
+    // resolved schema of every leaf field and nested object, by dotted path
+    private final Map<String, JSONObject> propertySchemas = new HashMap<>();
+    // object path ("" for the form itself) -> resolved schema, outermost first
+    private final Map<String, JSONObject> objects = new LinkedHashMap<>();
+    // optional object path -> members that become required once anything inside it is filled in
+    private final Map<String, List<String>> requiredWithObject = new LinkedHashMap<>();
+
+    private SchemaCompiler(JSONObject root) {
+        this.root = root;
+    }
+
+    static CompiledSchema compile(JSONObject schemaJson) {
+        return new SchemaCompiler(schemaJson).compile();
+    }
+
+    private CompiledSchema compile() {
+        compileObject("", resolve(root), null, 0);
+
+        Map<String, CompiledField> fieldsByName = new HashMap<>();
+        for (CompiledField field : fields) {
+            if (fieldsByName.put(field.name(), field) != null) {
+                throw new IllegalArgumentException("Field declared twice: " + field.name());
+            }
+        }
+
+        List<CrossFieldRule> crossFieldRules = new ArrayList<>();
+        for (Map.Entry<String, JSONObject> object : objects.entrySet()) {
+            String prefix = object.getKey().isEmpty() ? "" : object.getKey() + ".";
+            CrossFieldRules.collect(object.getValue(), prefix, false, fieldsByName, this, crossFieldRules);
+        }
+        for (Map.Entry<String, List<String>> object : requiredWithObject.entrySet()) {
+            crossFieldRules.add(CrossFieldRules.requiredWithObject(object.getKey(), object.getValue(), fieldsByName));
+        }
+
+        Map<String, Boolean> closedObjects = new HashMap<>();
+        for (Map.Entry<String, JSONObject> object : objects.entrySet()) {
+            closedObjects.put(object.getKey(), Boolean.FALSE.equals(object.getValue().opt("additionalProperties"))
+                    && !object.getValue().has("patternProperties"));
+        }
+
+        return new CompiledSchema(fields.toArray(new CompiledField[0]), fieldsByName, closedObjects,
+                propertySchemas, CrossFieldRules.dependencyOrder(crossFieldRules));
+    }
+
+    // anchor is the outermost optional object this one sits in, or null when it is always submitted
+    private void compileObject(String path, JSONObject schema, String anchor, int depth) {
+        if (depth > MAX_NESTING) {
+            throw new IllegalArgumentException("Objects nested too deeply at " + path + " (recursive $ref?)");
+        }
+        objects.put(path, schema);
+        String prefix = path.isEmpty() ? "" : path + ".";
+
+        Set<String> required = new HashSet<>();
+        JSONArray requiredNames = schema.optJSONArray("required");
+        if (requiredNames != null) {
+            for (int i = 0; i < requiredNames.length(); i++) {
+                required.add(requiredNames.getString(i));
+            }
+        }
+
+        JSONObject properties = schema.optJSONObject("properties");
+        if (properties == null) return;
+        for (Iterator<String> it = properties.keys(); it.hasNext();) {
+            String name = it.next();
+            String fieldPath = prefix + name;
+            JSONObject fieldSchema = schemaAt(properties.get(name));
+            propertySchemas.put(fieldPath, fieldSchema);
+            boolean isRequired = required.contains(name);
+
+            if (isObject(fieldSchema)) {
+                compileObject(fieldPath, fieldSchema, isRequired ? anchor : (anchor != null ? anchor : fieldPath),
+                        depth + 1);
+                continue;
+            }
+
+            if (isRequired && anchor != null) {
+                requiredWithObject.computeIfAbsent(anchor, a -> new ArrayList<>()).add(fieldPath);
+            }
+            FieldType type = typeOf(fieldSchema);
+            RuleList rules = new RuleList();
+            addRules(fieldPath, type, fieldSchema, rules);
+            rules = rules.sortedByCost();
+            boolean writeOnly = fieldSchema.optBoolean("writeOnly", false);
+            boolean unique = fieldSchema.optBoolean("unique", false);
+            if (unique && (type != FieldType.STRING || writeOnly)) {
+                // compared as stored text, so neither converted values nor unstored ones will do
+                throw new IllegalArgumentException(fieldPath + ": only stored string fields can be unique");
+            }
+            fields.add(new CompiledField(fieldPath, fields.size(), type, isRequired && anchor == null,
+                    writeOnly, unique,
+                    rules.checks(), rules.kinds.toArray(new String[0]), rules.cost(), rules.entries()));
+        }
+    }
+
+    // Rules for a subschema applied to an already-declared field, e.g. inside if/then/else
+    CompiledRule[] rulesFor(String fieldName, FieldType type, Object schema) {
+        JSONObject subschema = schemaAt(schema);
+        RuleList rules = new RuleList();
+        addRules(fieldName, subschema.has("type") ? typeOf(subschema) : type, subschema, rules);
+        return rules.sortedByCost().toArray();
+    }
+
+    private void addRules(String fieldName, FieldType type, JSONObject fieldSchema, RuleList rules) {
+        switch (type) {
+            case STRING:
+                if (fieldSchema.has("minLength")) {
+                    rules.add("minLength", Rules.minLength(fieldName, fieldSchema.getInt("minLength")));
+                }
+                if (fieldSchema.has("maxLength")) {
+                    rules.add("maxLength", Rules.maxLength(fieldName, fieldSchema.getInt("maxLength")));
+                }
+                if (fieldSchema.has("pattern")) {
+                    rules.add("pattern", Rules.pattern(fieldName, fieldSchema.getString("pattern")));
+                }
+                if (fieldSchema.has("format")) {
+                    CompiledRule format = Rules.format(fieldName, fieldSchema.getString("format"));
+                    if (format != null) rules.add("format", format);
+                }
+                break;
+            case INTEGER:
+            case NUMBER:
+                boolean integral = type == FieldType.INTEGER;
+                rules.add(integral ? "integer" : "number", Rules.number(fieldName, integral,
+                        bound(fieldSchema, "minimum", "exclusiveMinimum"), exclusive(fieldSchema, "minimum", "exclusiveMinimum"),
+                        bound(fieldSchema, "maximum", "exclusiveMaximum"), exclusive(fieldSchema, "maximum", "exclusiveMaximum")));
+                if (fieldSchema.has("multipleOf")) {
+                    rules.add("multipleOf", Rules.multipleOf(fieldName, fieldSchema.getBigDecimal("multipleOf")));
+                }
+                break;
+            case BOOLEAN:
+                rules.add("boolean", Rules.bool(fieldName));
+                break;
+            case ARRAY:
+                addArrayRules(fieldName, fieldSchema, rules);
+                break;
+            default:
+                break;
+        }
+
+        if (fieldSchema.has("enum") && type != FieldType.ARRAY) {
+            rules.add("enum", Rules.oneOf(fieldName, stringSet(fieldSchema.getJSONArray("enum"))));
+        }
+        // "const": true on a checkbox means it has to be ticked
+        if (fieldSchema.optBoolean("const", false)) {
+            rules.add("const", Rules.accepted(fieldName));
+        } else if (fieldSchema.has("const") && !(fieldSchema.get("const") instanceof Boolean)) {
+            rules.add("const", Rules.equalTo(fieldName, String.valueOf(fieldSchema.get("const"))));
+        }
+
+        addCombinators(fieldName, type, fieldSchema, rules);
+    }
+
+    private void addArrayRules(String fieldName, JSONObject fieldSchema, RuleList rules) {
+        int minItems = fieldSchema.optInt("minItems", 0);
+        int maxItems = fieldSchema.optInt("maxItems", Integer.MAX_VALUE);
+        Object items = fieldSchema.opt("items");
+
+        if (items instanceof JSONArray) {
+            // tuple form: one schema per position, "additionalItems" for the rest
+            JSONArray tuple = (JSONArray) items;
+            CompiledRule[][] positional = new CompiledRule[tuple.length()][];
+            for (int i = 0; i < positional.length; i++) {
+                positional[i] = itemRules(fieldName, tuple.get(i));
+            }
+            Object additional = fieldSchema.opt("additionalItems");
+            if (Boolean.FALSE.equals(additional)) {
+                maxItems = Math.min(maxItems, positional.length);
+            }
+            CompiledRule[] rest = additional != null && !(additional instanceof Boolean)
+                    ? itemRules(fieldName, additional) : new CompiledRule[0];
+            rules.add("items", Rules.items(fieldName, minItems, maxItems, null));
+            rules.add("items", Rules.tuple(positional, rest));
+        } else if (items != null) {
+            JSONObject itemSchema = schemaAt(items);
+            Set<String> itemEnum = itemSchema.has("enum") ? stringSet(itemSchema.getJSONArray("enum")) : null;
+            rules.add("items", Rules.items(fieldName, minItems, maxItems, itemEnum));
+            CompiledRule[] each = itemRules(fieldName, itemSchema, false);
+            if (each.length > 0) rules.add("items", Rules.eachItem(each));
+        } else {
+            rules.add("items", Rules.items(fieldName, minItems, maxItems, null));
+        }
+
+        if (fieldSchema.optBoolean("uniqueItems", false)) {
+            rules.add("uniqueItems", Rules.uniqueItems(fieldName));
+        }
+        if (fieldSchema.has("contains")) {
+            rules.add("contains", Rules.contains(fieldName, itemRules(fieldName, fieldSchema.get("contains"))));
+        }
+    }
+
+    private CompiledRule[] itemRules(String fieldName, Object schema) {
+        return itemRules(fieldName, schemaAt(schema), true);
+    }
+
+    // The item enum is checked by Rules.items, which names the offending value
+    private CompiledRule[] itemRules(String fieldName, JSONObject itemSchema, boolean withEnum) {
+        FieldType type = typeOf(itemSchema);
+        if (type == FieldType.OBJECT || type == FieldType.ARRAY) {
+            throw new IllegalArgumentException(fieldName + ": arrays of objects or arrays cannot be form fields");
+        }
+        if (!withEnum && itemSchema.has("enum")) {
+            itemSchema = new JSONObject(itemSchema, JSONObject.getNames(itemSchema));
+            itemSchema.remove("enum");
+        }
+        RuleList rules = new RuleList();
+        addRules(fieldName, type, itemSchema, rules);
+        return rules.sortedByCost().toArray();
+    }
+
+    // allOf simply contributes more rules; anyOf, oneOf, not and if/then/else compile each branch
+    // into its own rule array and stop as soon as the outcome is known
+    private void addCombinators(String fieldName, FieldType type, JSONObject fieldSchema, RuleList rules) {
+        JSONArray allOf = fieldSchema.optJSONArray("allOf");
+        if (allOf != null) {
+            for (int i = 0; i < allOf.length(); i++) {
+                JSONObject branch = schemaAt(allOf.get(i));
+                addRules(fieldName, branch.has("type") ? typeOf(branch) : type, branch, rules);
+            }
+        }
+        if (fieldSchema.has("anyOf")) {
+            rules.add("anyOf", Rules.anyOf(fieldName, branches(fieldName, type, fieldSchema.getJSONArray("anyOf"))));
+        }
+        if (fieldSchema.has("oneOf")) {
+            rules.add("oneOf", Rules.exactlyOne(fieldName, branches(fieldName, type, fieldSchema.getJSONArray("oneOf"))));
+        }
+        if (fieldSchema.has("not")) {
+            rules.add("not", Rules.not(fieldName, rulesFor(fieldName, type, fieldSchema.get("not"))));
+        }
+        if (fieldSchema.has("if") && (fieldSchema.has("then") || fieldSchema.has("else"))) {
+            rules.add("if", Rules.conditional(rulesFor(fieldName, type, fieldSchema.get("if")),
+                    fieldSchema.has("then") ? rulesFor(fieldName, type, fieldSchema.get("then")) : new CompiledRule[0],
+                    fieldSchema.has("else") ? rulesFor(fieldName, type, fieldSchema.get("else")) : new CompiledRule[0]));
+        }
+    }
+
+    private CompiledRule[][] branches(String fieldName, FieldType type, JSONArray schemas) {
+        CompiledRule[][] branches = new CompiledRule[schemas.length()][];
+        for (int i = 0; i < branches.length; i++) {
+            branches[i] = rulesFor(fieldName, type, schemas.get(i));
+        }
+        return branches;
+    }
+
+    // A subschema with "$ref" followed; boolean schemas become their object equivalents
+    JSONObject schemaAt(Object schema) {
+        if (Boolean.TRUE.equals(schema)) return ANY;
+        if (Boolean.FALSE.equals(schema)) return NOTHING;
+        if (!(schema instanceof JSONObject)) {
+            throw new IllegalArgumentException("Expected a schema but found: " + schema);
+        }
+        return resolve((JSONObject) schema);
+    }
+
+    // In draft-07 a "$ref" replaces the whole schema it appears in, siblings included
+    JSONObject resolve(JSONObject schema) {
+        JSONObject current = schema;
+        for (int i = 0; current.has("$ref"); i++) {
+            if (i == MAX_REF_CHAIN) {
+                throw new IllegalArgumentException("Circular $ref: " + schema.getString("$ref"));
+            }
+            String ref = current.getString("$ref");
+            JSONObject target = resolvedRefs.get(ref);
+            if (target == null) {
+                target = pointer(ref);
+                resolvedRefs.put(ref, target);
+            }
+            current = target;
+        }
+        return current;
+    }
+
+    // Local JSON pointers only ("#", "#/definitions/address"); remote documents are not fetched
+    private JSONObject pointer(String ref) {
+        if (!ref.equals("#") && !ref.startsWith("#/")) {
+            throw new IllegalArgumentException("Only local $ref pointers are supported: " + ref);
+        }
+        Object target = root;
+        if (ref.length() > 1) {
+            for (String token : ref.substring(2).split("/", -1)) {
+                String key = token.replace("~1", "/").replace("~0", "~");
+                if (target instanceof JSONObject) {
+                    target = ((JSONObject) target).opt(key);
+                } else if (target instanceof JSONArray && !key.isEmpty() && key.length() < 10
+                        && Formats.digits(key, 0, key.length()) >= 0) {
+                    target = ((JSONArray) target).opt(Integer.parseInt(key));
+                } else {
+                    target = null;
+                }
+                if (target == null) break;
+            }
+        }
+        if (Boolean.TRUE.equals(target)) return ANY;
+        if (Boolean.FALSE.equals(target)) return NOTHING;
+        if (!(target instanceof JSONObject)) {
+            throw new IllegalArgumentException("Unresolvable $ref: " + ref);
+        }
+        return (JSONObject) target;
+    }
+
+    private static boolean isObject(JSONObject schema) {
+        return typeOf(schema) == FieldType.OBJECT;
+    }
+
+    // For a type union the first non-null type wins, except that a union with "string" in it
+    // accepts any text. Without "type", "properties" implies an object and "items" an array.
+    static FieldType typeOf(JSONObject schema) {
+        Object type = schema.opt("type");
+        if (type instanceof JSONArray) {
+            JSONArray types = (JSONArray) type;
+            FieldType first = null;
+            for (int i = 0; i < types.length(); i++) {
+                String name = types.getString(i);
+                if (name.equals("string")) return FieldType.STRING;
+                if (first == null && !name.equals("null")) first = FieldType.of(name);
+            }
+            return first != null ? first : FieldType.OTHER;
+        }
+        if (type != null) return FieldType.of(type.toString());
+        if (schema.has("properties")) return FieldType.OBJECT;
+        if (schema.has("items")) return FieldType.ARRAY;
+        return FieldType.STRING;
+    }
+
+    // The draft-07 keyword or, for draft-04 schemas, the boolean flag next to the plain bound
+    private static BigDecimal bound(JSONObject schema, String inclusive, String exclusive) {
+        if (schema.opt(exclusive) instanceof Number) return schema.getBigDecimal(exclusive);
+        return schema.has(inclusive) ? schema.getBigDecimal(inclusive) : null;
+    }
+
+    private static boolean exclusive(JSONObject schema, String inclusive, String exclusive) {
+        Object flag = schema.opt(exclusive);
+        return flag instanceof Number || (Boolean.TRUE.equals(flag) && schema.has(inclusive));
+    }
+
+    private static Set<String> stringSet(JSONArray array) {
+        List<String> values = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            Object value = array.get(i);
+            if (value != JSONObject.NULL) values.add(String.valueOf(value));
+        }
+        return Set.copyOf(values);
+    }
+
+    // Rules of one field, each tagged with the schema keyword it came from
+    private static final class RuleList {
+        final List<CompiledRule> rules = new ArrayList<>();
+        final List<String> kinds = new ArrayList<>();
+
+        void add(String kind, CompiledRule rule) {
+            rules.add(rule);
+            kinds.add(kind);
+        }
+
+        CompiledRule[] toArray() {
+            return rules.toArray(new CompiledRule[0]);
+        }
+
+        FieldRule[] checks() {
+            return Rules.checks(toArray());
+        }
+
+        JSONArray entries() {
+            return Rules.entries(toArray());
+        }
+
+        // Cheapest first (length, then enum, then format, then regex), so a bad value is
+        // usually rejected before anything expensive runs; ties keep declaration order
+        RuleList sortedByCost() {
+            Integer[] order = new Integer[rules.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingInt(i -> costOf(kinds.get(i))));
+
+            RuleList sorted = new RuleList();
+            for (int i : order) {
+                sorted.add(kinds.get(i), rules.get(i));
+            }
+            return sorted;
+        }
+
+        int cost() {
+            int cost = 0;
+            for (String kind : kinds) cost += costOf(kind);
+            return cost;
+        }
+
+        // Rough relative cost of one evaluation
+        private static int costOf(String kind) {
+            switch (kind) {
+                case "minLength":
+                case "maxLength":
+                case "boolean":
+                case "const":
+                    return 1;
+                case "enum":
+                    return 2;
+                case "integer":
+                case "number":
+                    return 3;
+                case "items":
+                case "multipleOf":
+                case "uniqueItems":
+                    return 4;
+                case "format":
+                    return 5;
+                case "pattern":
+                    return 10;
+                default:
+                    return 5;
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// The part of a draft-07 subschema that conditionals use over the form's own fields:
+// "required" plus per-property constraints, e.g. {"properties": {"country": {"const": "USA"}}}.
+// Property constraints only apply to values that are present, as in JSON Schema.
+final class SubSchema {
+
+    private final CompiledField[] required;
+    private final CompiledField[] constrained;
+    private final FieldRule[][] rules;
+    // {"required": [names], "properties": [[name, [rule entries]], ...]} for the client table
+    private final JSONObject entry;
+
+    private SubSchema(CompiledField[] required, CompiledField[] constrained, FieldRule[][] rules, JSONObject entry) {
+        this.required = required;
+        this.constrained = constrained;
+        this.rules = rules;
+        this.entry = entry;
+    }
+
+    // prefix is "" on the form itself and the object's dotted path plus "." inside a nested object
+    static SubSchema compile(JSONObject schema, String prefix, Map<String, CompiledField> fieldsByName,
+                             SchemaCompiler compiler) {
+        List<CompiledField> required = new ArrayList<>();
+        JSONArray requiredEntry = new JSONArray();
+        JSONArray requiredNames = schema.optJSONArray("required");
+        if (requiredNames != null) {
+            for (int i = 0; i < requiredNames.length(); i++) {
+                CompiledField field = field(prefix + requiredNames.getString(i), fieldsByName);
+                required.add(field);
+                requiredEntry.put(field.name());
+            }
+        }
+
+        List<CompiledField> constrained = new ArrayList<>();
+        List<FieldRule[]> rules = new ArrayList<>();
+        JSONArray propertiesEntry = new JSONArray();
+        JSONObject properties = schema.optJSONObject("properties");
+        if (properties != null) {
+            for (String name : properties.keySet()) {
+                CompiledField field = field(prefix + name, fieldsByName);
+                CompiledRule[] fieldRules = compiler.rulesFor(field.name(), field.type(), properties.get(name));
+                constrained.add(field);
+                rules.add(Rules.checks(fieldRules));
+                propertiesEntry.put(new JSONArray().put(field.name()).put(Rules.entries(fieldRules)));
+            }
+        }
+
+        return new SubSchema(required.toArray(new CompiledField[0]), constrained.toArray(new CompiledField[0]),
+                rules.toArray(new FieldRule[0][]),
+                new JSONObject().put("required", requiredEntry).put("properties", propertiesEntry));
+    }
+
+    private static CompiledField field(String name, Map<String, CompiledField> fieldsByName) {
+        CompiledField field = fieldsByName.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Conditional refers to unknown field: " + name);
+        }
+        return field;
+    }
+
+    JSONObject entry() {
+        return entry;
+    }
+
+    CompiledField[] fields() {
+        Set<CompiledField> fields = new LinkedHashSet<>(List.of(required));
+        fields.addAll(List.of(constrained));
+        return fields.toArray(new CompiledField[0]);
+    }
+
+    boolean matches(FormValues values) {
+        for (CompiledField field : required) {
+            if (isBlank(values.first(field.index()))) return false;
+        }
+        for (int i = 0; i < constrained.length; i++) {
+            String[] fieldValues = values.get(constrained[i].index());
+            String value = (fieldValues != null && fieldValues.length > 0) ? fieldValues[0] : null;
+            if (isBlank(value)) continue;
+            for (FieldRule rule : rules[i]) {
+                if (rule.check(value, fieldValues) != null) return false;
+            }
+        }
+        return true;
+    }
+
+    // Reports each violated field once, leaving fields that already have an error alone
+    void enforce(FormValues values, ValidationResult result) {
+        for (CompiledField field : required) {
+            if (isBlank(values.first(field.index())) && !result.hasError(field.name())) {
+                result.addError(field.name(), field.requiredMessage());
+            }
+        }
+        for (int i = 0; i < constrained.length; i++) {
+            CompiledField field = constrained[i];
+            String[] fieldValues = values.get(field.index());
+            String value = (fieldValues != null && fieldValues.length > 0) ? fieldValues[0] : null;
+            if (isBlank(value) || result.hasError(field.name())) continue;
+            for (FieldRule rule : rules[i]) {
+                String error = rule.check(value, fieldValues);
+                if (error != null) {
+                    result.addError(field.name(), error);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,17 @@
+package com.formcraft.dynamicform.validation;
+
+// How much work validation does once a submission is known to be invalid.
+public enum ValidationMode {
+    // stop at the first error, checking the cheapest things first; for bots and abusive clients
+    FAIL_FAST,
+    // report every failing field, which is what a person correcting the form needs
+    COLLECT_ALL;
+
+    // Request attribute through which a filter can choose the mode for a single request
+    public static final String ATTRIBUTE = ValidationMode.class.getName();
+
+    // Accepts "fail-fast", "collect-all" and the constant names, in any case
+    public static ValidationMode parse(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase());
+    }
+}
@@ -0,0 +1,15 @@
+package com.formcraft.dynamicform.validation;
+
+// Receives failures and, for sampled validations, per-field and per-rule timings from
+// CompiledSchema.validate. Rule names are the schema keywords behind them ("pattern", "format", ...).
+public interface ValidationObserver {
+
+    // Asked once per validation; timing every rule costs far more than the rules themselves
+    boolean sampleTimings();
+
+    void fieldFailed(CompiledField field, String rule);
+
+    void fieldTimed(CompiledField field, long nanos);
+
+    void ruleTimed(String rule, long nanos);
+}
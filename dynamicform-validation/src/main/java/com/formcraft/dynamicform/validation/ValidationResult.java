@@ -0,0 +1,68 @@
+package com.formcraft.dynamicform.validation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Errors collected while validating one submission.
+// Storage is only allocated once the first error is added, so a valid submission costs a single object.
+public final class ValidationResult {
+
+    private String[] fields;
+    private String[] messages;
+    private int size;
+
+    public void addError(String field, String message) {
+        if (fields == null) {
+            fields = new String[4];
+            messages = new String[4];
+        }
+        // one message per field, the latest wins
+        for (int i = 0; i < size; i++) {
+            if (fields[i].equals(field)) {
+                messages[i] = message;
+                return;
+            }
+        }
+        if (size == fields.length) {
+            fields = Arrays.copyOf(fields, size * 2);
+            messages = Arrays.copyOf(messages, size * 2);
+        }
+        fields[size] = field;
+        messages[size] = message;
+        size++;
+    }
+
+    public boolean isValid() {
+        return size == 0;
+    }
+
+    public int errorCount() {
+        return size;
+    }
+
+    public String field(int i) {
+        return fields[i];
+    }
+
+    public String message(int i) {
+        return messages[i];
+    }
+
+    boolean hasError(String field) {
+        for (int i = 0; i < size; i++) {
+            if (fields[i].equals(field)) return true;
+        }
+        return false;
+    }
+
+    public Map<String, String> getErrors() {
+        if (size == 0) return Collections.emptyMap();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            errors.put(fields[i], messages[i]);
+        }
+        return errors;
+    }
+}
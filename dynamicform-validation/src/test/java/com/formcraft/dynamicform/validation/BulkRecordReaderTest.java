@@ -0,0 +1,56 @@
+package com.formcraft.dynamicform.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkRecordReaderTest {
+
+    @Test
+    void splitsNdjsonByLineAndSkipsBlankLines() throws IOException {
+        BulkRecordReader reader = new BulkRecordReader(new StringReader("{\"a\":1}\r\n\n  \n{\"a\":\"x\\\"\ny\"}"), false, 100);
+        assertEquals("{\"a\":1}", reader.next());
+        assertEquals(1, reader.recordLine());
+        // quotes mean nothing to NDJSON splitting
+        assertEquals("{\"a\":\"x\\\"", reader.next());
+        assertEquals(4, reader.recordLine());
+        assertEquals("y\"}", reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void csvQuotedCellsMaySpanLines() throws IOException {
+        String body = "name,notes\n\"Ann\",\"two\nlines\"\nBob,\"say \"\"hi\"\"\nthere\"\nCy,plain\"quote\n";
+        BulkRecordReader reader = new BulkRecordReader(new StringReader(body), true, 100);
+        List<String> records = new ArrayList<>();
+        List<Long> lines = new ArrayList<>();
+        String record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+            lines.add(reader.recordLine());
+        }
+        assertEquals(List.of("name,notes", "\"Ann\",\"two\nlines\"", "Bob,\"say \"\"hi\"\"\nthere\"", "Cy,plain\"quote"),
+                records);
+        assertEquals(List.of(1L, 2L, 4L, 6L), lines);
+    }
+
+    @Test
+    void rejectsUnterminatedQuotes() throws IOException {
+        BulkRecordReader reader = new BulkRecordReader(new StringReader("a,b\n\"open,b\nc,d\n"), true, 100);
+        assertEquals("a,b", reader.next());
+        FormParseException e = assertThrows(FormParseException.class, reader::next);
+        assertFalse(e instanceof FormTooLargeException);
+    }
+
+    @Test
+    void capsRecordLength() throws IOException {
+        BulkRecordReader reader = new BulkRecordReader(new StringReader("short\n" + "x".repeat(101) + "\n"), false, 100);
+        assertEquals("short", reader.next());
+        assertThrows(FormTooLargeException.class, reader::next);
+    }
+}
@@ -0,0 +1,96 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledSchemaTest {
+
+    private static final CompiledSchema SIGNUP = CompiledSchema.compile(new JSONObject("""
+            {"type": "object",
+             "additionalProperties": false,
+             "required": ["email"],
+             "properties": {
+               "name": {"type": "string", "minLength": 3, "pattern": "^[a-z]+$"},
+               "email": {"type": "string", "format": "email"},
+               "password": {"type": "string"},
+               "confirmPassword": {"type": "string"},
+               "confirmAgain": {"type": "string"}
+             },
+             "crossFieldRules": [
+               {"rule": "equals", "fields": ["confirmPassword", "confirmAgain"], "message": "second"},
+               {"rule": "equals", "fields": ["password", "confirmPassword"], "message": "first"}
+             ]}"""));
+
+    @Test
+    void cheaperRulesOfAFieldRunFirst() {
+        // fails both minLength and pattern; the length check is the cheaper one
+        ValidationResult result = SIGNUP.validate(Map.of("name", "A!", "email", "a@example.com"));
+        assertEquals(Map.of("name", "name must be at least 3 characters"), result.getErrors());
+    }
+
+    @Test
+    void collectAllReportsEveryFailingField() {
+        ValidationResult result = SIGNUP.validate(SIGNUP.values(Map.of("name", "A!")), ValidationMode.COLLECT_ALL, null);
+        assertEquals(Map.of("name", "name must be at least 3 characters", "email", "email is required"),
+                result.getErrors());
+    }
+
+    @Test
+    void failFastChecksRequiredFieldsFirstAndStops() {
+        ValidationResult result = SIGNUP.validate(SIGNUP.values(Map.of("name", "A!")), ValidationMode.FAIL_FAST, null);
+        assertEquals(Map.of("email", "email is required"), result.getErrors());
+
+        result = SIGNUP.validate(SIGNUP.values(Map.of("name", "A!", "email", "nope")), ValidationMode.FAIL_FAST, null);
+        assertEquals(1, result.errorCount());
+    }
+
+    @Test
+    void failFastStopsAtAnUnknownField() {
+        FormValues values = SIGNUP.values(Map.of("name", "A!", "extra", "x"));
+        assertEquals(Map.of("extra", "extra is not allowed"),
+                SIGNUP.validate(values, ValidationMode.FAIL_FAST, null).getErrors());
+        assertEquals(3, SIGNUP.validate(values, ValidationMode.COLLECT_ALL, null).errorCount());
+    }
+
+    @Test
+    void crossFieldRulesRunInDependencyOrder() {
+        // declared second, but "first" rejects confirmPassword, which "second" reads: "second" must not run
+        ValidationResult result = SIGNUP.validate(Map.of("email", "a@example.com",
+                "password", "a", "confirmPassword", "b", "confirmAgain", "c"));
+        assertEquals(Map.of("confirmPassword", "first"), result.getErrors());
+
+        result = SIGNUP.validate(Map.of("email", "a@example.com",
+                "password", "a", "confirmPassword", "a", "confirmAgain", "c"));
+        assertEquals(Map.of("confirmAgain", "second"), result.getErrors());
+    }
+
+    @Test
+    void crossFieldRulesSkipFieldsThatAlreadyFailed() {
+        CompiledSchema schema = CompiledSchema.compile(new JSONObject("""
+                {"type": "object",
+                 "properties": {
+                   "password": {"type": "string", "minLength": 8},
+                   "confirmPassword": {"type": "string"}
+                 },
+                 "crossFieldRules": [{"rule": "equals", "fields": ["password", "confirmPassword"]}]}"""));
+        ValidationResult result = schema.validate(Map.of("password", "short", "confirmPassword", "other"));
+        assertEquals(List.of("password"), List.copyOf(result.getErrors().keySet()));
+    }
+
+    @Test
+    void rejectsCyclicCrossFieldRules() {
+        JSONObject schema = new JSONObject("""
+                {"type": "object",
+                 "properties": {"a": {"type": "string"}, "b": {"type": "string"}},
+                 "crossFieldRules": [
+                   {"rule": "equals", "fields": ["a", "b"]},
+                   {"rule": "equals", "fields": ["b", "a"]}
+                 ]}""");
+        assertThrows(IllegalArgumentException.class, () -> CompiledSchema.compile(schema));
+    }
+}
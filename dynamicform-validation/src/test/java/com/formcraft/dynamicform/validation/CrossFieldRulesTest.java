@@ -0,0 +1,153 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrossFieldRulesTest {
+
+    @Test
+    void conditionalAppliesThenOrElse() {
+        CompiledSchema schema = CompiledSchema.compile(new JSONObject("""
+                {"type": "object",
+                 "properties": {
+                   "country": {"type": "string"},
+                   "zip": {"type": "string"},
+                   "postcode": {"type": "string"}
+                 },
+                 "if": {"required": ["country"], "properties": {"country": {"const": "US"}}},
+                 "then": {"required": ["zip"], "properties": {"zip": {"pattern": "^[0-9]{5}$"}}},
+                 "else": {"required": ["postcode"]}}"""));
+
+        assertEquals(Map.of("zip", "zip is required"), schema.validate(Map.of("country", "US")).getErrors());
+        assertEquals(1, schema.validate(Map.of("country", "US", "zip", "ABC")).errorCount());
+        assertTrue(schema.validate(Map.of("country", "US", "zip", "12345")).isValid());
+        assertEquals(Map.of("postcode", "postcode is required"), schema.validate(Map.of("country", "NO")).getErrors());
+        // no country: the condition's required fails, so "else" applies
+        assertEquals(Map.of("postcode", "postcode is required"), schema.validate(Map.of()).getErrors());
+        assertTrue(schema.validate(Map.of("country", "NO", "postcode", "0150")).isValid());
+    }
+
+    @Test
+    void conditionalInsideAllOf() {
+        CompiledSchema schema = CompiledSchema.compile(new JSONObject("""
+                {"type": "object",
+                 "properties": {"contact": {"type": "string"}, "phone": {"type": "string"}},
+                 "allOf": [{"if": {"properties": {"contact": {"const": "phone"}}, "required": ["contact"]},
+                            "then": {"required": ["phone"]}}]}"""));
+
+        assertEquals(Map.of("phone", "phone is required"), schema.validate(Map.of("contact", "phone")).getErrors());
+        assertTrue(schema.validate(Map.of("contact", "email")).isValid());
+    }
+
+    @Test
+    void arrayDependenciesRequireFieldsOnceTheTriggerIsFilledIn() {
+        String[] keywords = {"dependencies", "dependentRequired"};
+        for (String keyword : keywords) {
+            CompiledSchema schema = CompiledSchema.compile(new JSONObject("""
+                    {"type": "object",
+                     "properties": {"card": {"type": "string"}, "expiry": {"type": "string"}, "cvc": {"type": "string"}},
+                     "%s": {"card": ["expiry", "cvc"]}}""".formatted(keyword)));
+
+            assertTrue(schema.validate(Map.of()).isValid(), keyword);
+            assertTrue(schema.validate(Map.of("card", " ")).isValid(), keyword);
+            assertEquals(Map.of("cvc", "cvc is required when card is provided"),
+                    schema.validate(Map.of("card", "4111", "expiry", "12/30")).getErrors(), keyword);
+            assertTrue(schema.validate(Map.of("card", "4111", "expiry", "12/30", "cvc", "123")).isValid(), keyword);
+        }
+    }
+
+    @Test
+    void schemaDependencyAppliesOnceTheTriggerIsFilledIn() {
+        CompiledSchema schema = CompiledSchema.compile(new JSONObject("""
+                {"type": "object",
+                 "properties": {"company": {"type": "string"}, "vat": {"type": "string"}},
+                 "dependencies": {"company": {"required": ["vat"], "properties": {"vat": {"minLength": 8}}}}}"""));
+
+        assertTrue(schema.validate(Map.of("vat", "x")).isValid());
+        assertEquals(Map.of("vat", "vat is required"), schema.validate(Map.of("company", "Acme")).getErrors());
+        assertEquals(1, schema.validate(Map.of("company", "Acme", "vat", "NO1")).errorCount());
+        assertTrue(schema.validate(Map.of("company", "Acme", "vat", "NO123456")).isValid());
+    }
+
+    @Test
+    void anyOfNeedsOneBranchAndOneOfExactlyOne() {
+        String properties = """
+                "properties": {"email": {"type": "string"}, "phone": {"type": "string"}},""";
+        String branches = "[{\"required\": [\"email\"]}, {\"required\": [\"phone\"]}]";
+        CompiledSchema anyOf = CompiledSchema.compile(new JSONObject(
+                "{\"type\": \"object\", " + properties + " \"anyOf\": " + branches + "}"));
+        CompiledSchema oneOf = CompiledSchema.compile(new JSONObject(
+                "{\"type\": \"object\", " + properties + " \"oneOf\": " + branches + "}"));
+
+        assertEquals(Map.of("email", "email, phone must match at least one of the allowed combinations"),
+                anyOf.validate(Map.of()).getErrors());
+        assertTrue(anyOf.validate(Map.of("phone", "555")).isValid());
+        assertTrue(anyOf.validate(Map.of("email", "a@example.com", "phone", "555")).isValid());
+
+        assertTrue(oneOf.validate(Map.of("email", "a@example.com")).isValid());
+        assertEquals(Map.of("email", "email, phone must match exactly one of the allowed combinations"),
+                oneOf.validate(Map.of("email", "a@example.com", "phone", "555")).getErrors());
+        assertFalse(oneOf.validate(Map.of()).isValid());
+    }
+
+    @Test
+    void notRejectsTheForbiddenCombination() {
+        CompiledSchema schema = CompiledSchema.compile(new JSONObject("""
+                {"type": "object",
+                 "properties": {"plan": {"type": "string"}, "seats": {"type": "string"}},
+                 "not": {"required": ["plan", "seats"], "properties": {"plan": {"const": "free"}}}}"""));
+
+        assertEquals(Map.of("plan", "plan, seats contain a combination of values that is not allowed"),
+                schema.validate(Map.of("plan", "free", "seats", "10")).getErrors());
+        assertTrue(schema.validate(Map.of("plan", "free")).isValid());
+        assertTrue(schema.validate(Map.of("plan", "team", "seats", "10")).isValid());
+    }
+
+    @Test
+    void ageMatchesDateCountsTheBirthdayInUtc() {
+        // no tolerance given: 0
+        CompiledSchema strict = ageSchema("");
+        // 28 years keeps 29 February on a leap year
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        String birthdayToday = today.minusYears(28).toString();
+        String birthdayTomorrow = today.plusDays(1).minusYears(28).toString();
+
+        assertTrue(strict.validate(Map.of("birthDate", birthdayToday, "age", "28")).isValid());
+        assertEquals(Map.of("age", "age does not match birthDate"),
+                strict.validate(Map.of("birthDate", birthdayToday, "age", "27")).getErrors());
+        assertTrue(strict.validate(Map.of("birthDate", birthdayTomorrow, "age", "27")).isValid());
+        // a user whose local date is already tomorrow enters 28, one day early in UTC
+        assertFalse(strict.validate(Map.of("birthDate", birthdayTomorrow, "age", "28")).isValid());
+    }
+
+    @Test
+    void ageMatchesDateToleranceAcceptsOneYearEitherWay() {
+        CompiledSchema lenient = ageSchema(", \"tolerance\": 1");
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        String birthdayTomorrow = today.plusDays(1).minusYears(28).toString();
+
+        assertTrue(lenient.validate(Map.of("birthDate", birthdayTomorrow, "age", "28")).isValid());
+        assertTrue(lenient.validate(Map.of("birthDate", birthdayTomorrow, "age", "26")).isValid());
+        assertFalse(lenient.validate(Map.of("birthDate", birthdayTomorrow, "age", "29")).isValid());
+        assertFalse(lenient.validate(Map.of("birthDate", birthdayTomorrow, "age", "25")).isValid());
+        // nothing to compare against: left to the field rules
+        assertTrue(lenient.validate(Map.of("age", "99")).isValid());
+    }
+
+    private static CompiledSchema ageSchema(String tolerance) {
+        return CompiledSchema.compile(new JSONObject("""
+                {"type": "object",
+                 "properties": {
+                   "birthDate": {"type": "string", "format": "date"},
+                   "age": {"type": "integer"}
+                 },
+                 "crossFieldRules": [{"rule": "ageMatchesDate", "fields": ["birthDate", "age"]%s}]}"""
+                .formatted(tolerance)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvFormReaderTest {
+
+    private static final CompiledSchema SCHEMA = CompiledSchema.compile(new JSONObject("""
+            {"type": "object",
+             "additionalProperties": false,
+             "properties": {
+               "name": {"type": "string"},
+               "tags": {"type": "array", "items": {"type": "string"}},
+               "address": {"type": "object", "properties": {"city": {"type": "string"}}}
+             }}"""));
+
+    @Test
+    void mapsColumnsToFields() throws FormParseException {
+        CsvFormReader reader = new CsvFormReader(SCHEMA, "name, tags,tags,address.city");
+        FormValues values = reader.read("\"Lee, \"\"Ann\"\"\",a,,\"Line 1\nLine 2\"");
+        assertEquals("Lee, \"Ann\"", values.first(SCHEMA.indexOf("name")));
+        assertArrayEquals(new String[]{"a"}, values.get(SCHEMA.indexOf("tags")));
+        assertEquals("Line 1\nLine 2", values.first(SCHEMA.indexOf("address.city")));
+    }
+
+    @Test
+    void emptyCellsLeaveFieldsUnset() throws FormParseException {
+        FormValues values = new CsvFormReader(SCHEMA, "name,tags").read(",");
+        assertNull(values.first(SCHEMA.indexOf("name")));
+        assertNull(values.get(SCHEMA.indexOf("tags")));
+    }
+
+    @Test
+    void rejectsUnknownColumns() {
+        assertThrows(FormParseException.class, () -> new CsvFormReader(SCHEMA, "name,nickname"));
+    }
+
+    @Test
+    void rejectsMalformedRecords() throws FormParseException {
+        CsvFormReader reader = new CsvFormReader(SCHEMA, "name,tags");
+        assertThrows(FormParseException.class, () -> reader.read("\"unterminated,a"));
+        assertThrows(FormParseException.class, () -> reader.read("\"quoted\"junk,a"));
+        assertThrows(FormParseException.class, () -> reader.read("a,b,c"));
+        // trailing empty cells are allowed
+        assertEquals("a", reader.read("a,b,,").first(SCHEMA.indexOf("name")));
+    }
+}
@@ -0,0 +1,72 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormBodyReaderTest {
+
+    private static final CompiledSchema SCHEMA = CompiledSchema.compile(new JSONObject("""
+            {"type": "object",
+             "additionalProperties": false,
+             "properties": {
+               "name": {"type": "string"},
+               "tags": {"type": "array", "items": {"type": "string"}}
+             }}"""));
+
+    @Test
+    void decodesNamesAndValues() throws IOException {
+        FormValues values = read("na%6De=Ann+Lee%20%C3%A9&tags=a&&tags=b%3D&", StandardCharsets.UTF_8);
+        assertEquals("Ann Lee é", values.first(SCHEMA.indexOf("name")));
+        assertArrayEquals(new String[]{"a", "b="}, values.get(SCHEMA.indexOf("tags")));
+        assertNull(values.unknownField());
+    }
+
+    @Test
+    void decodesOtherCharsets() throws IOException {
+        FormValues values = read("name=%E9t%E9", StandardCharsets.ISO_8859_1);
+        assertEquals("été", values.first(SCHEMA.indexOf("name")));
+    }
+
+    @Test
+    void bareNameIsAnEmptyValue() throws IOException {
+        assertEquals("", read("name", StandardCharsets.UTF_8).first(SCHEMA.indexOf("name")));
+    }
+
+    @Test
+    void recordsTheFirstUndeclaredField() throws IOException {
+        FormValues values = read("other=1&name=x&more=2", StandardCharsets.UTF_8);
+        assertEquals("other", values.unknownField());
+        assertEquals("x", values.first(SCHEMA.indexOf("name")));
+    }
+
+    @Test
+    void rejectsBrokenPercentEncoding() {
+        for (String body : new String[]{"name=%G1", "name=%4", "na%zme=x", "name=%"}) {
+            FormParseException e = assertThrows(FormParseException.class, () -> read(body, StandardCharsets.UTF_8));
+            assertFalse(e instanceof FormTooLargeException, body);
+        }
+    }
+
+    @Test
+    void capsBodySizeAndFieldCount() {
+        String big = "name=" + "x".repeat(20_000);
+        assertThrows(FormTooLargeException.class, () -> FormBodyReader.read(SCHEMA,
+                new ByteArrayInputStream(big.getBytes(StandardCharsets.US_ASCII)), StandardCharsets.UTF_8, 10_000, 100));
+
+        String many = "tags=a&".repeat(101);
+        assertThrows(FormTooLargeException.class, () -> FormBodyReader.read(SCHEMA,
+                new ByteArrayInputStream(many.getBytes(StandardCharsets.US_ASCII)), StandardCharsets.UTF_8, 10_000, 100));
+    }
+
+    private static FormValues read(String body, Charset charset) throws IOException {
+        return FormBodyReader.read(SCHEMA, new ByteArrayInputStream(body.getBytes(StandardCharsets.US_ASCII)),
+                charset, 1 << 20, 100);
+    }
+}
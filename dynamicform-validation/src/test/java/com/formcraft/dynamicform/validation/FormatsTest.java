@@ -0,0 +1,81 @@
+package com.formcraft.dynamicform.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatsTest {
+
+    @Test
+    void datesAreCheckedAgainstTheCalendar() {
+        assertTrue(Formats.isDate("2024-02-29"));
+        assertTrue(Formats.isDate("2000-02-29"));
+        assertTrue(Formats.isDate("2023-12-31"));
+        assertTrue(Formats.isDate("2023-04-30"));
+
+        assertFalse(Formats.isDate("2023-02-29"));
+        assertFalse(Formats.isDate("1900-02-29"));
+        assertFalse(Formats.isDate("2023-04-31"));
+        assertFalse(Formats.isDate("2023-13-01"));
+        assertFalse(Formats.isDate("2023-00-10"));
+        assertFalse(Formats.isDate("2023-01-00"));
+        assertFalse(Formats.isDate("2023-1-01"));
+        assertFalse(Formats.isDate("2023/01/01"));
+        assertFalse(Formats.isDate("2023-01-01 "));
+        assertFalse(Formats.isDate("２０２３-01-01"));
+    }
+
+    @Test
+    void dateTimesNeedAValidTimeAndOffset() {
+        assertTrue(Formats.isDateTime("2024-02-29T13:45:00Z"));
+        assertTrue(Formats.isDateTime("2024-02-29t13:45:00.250+01:00"));
+        assertTrue(Formats.isDateTime("2016-12-31T23:59:60Z"));
+
+        assertFalse(Formats.isDateTime("2023-02-29T13:45:00Z"));
+        assertFalse(Formats.isDateTime("2024-02-29 13:45:00Z"));
+        assertFalse(Formats.isDateTime("2024-02-29T24:00:00Z"));
+        assertFalse(Formats.isDateTime("2024-02-29T13:60:00Z"));
+        assertFalse(Formats.isDateTime("2024-02-29T13:45:00"));
+        assertFalse(Formats.isDateTime("2024-02-29T13:45:00.Z"));
+        assertFalse(Formats.isDateTime("2024-02-29T13:45:00+0100"));
+        assertFalse(Formats.isDateTime("2024-02-29T13:45:00+24:00"));
+        assertFalse(Formats.isDateTime("2024-02-29T13:45:00Zjunk"));
+    }
+
+    @Test
+    void times() {
+        assertTrue(Formats.isTime("08:30:00Z"));
+        assertTrue(Formats.isTime("08:30:00.5-05:30"));
+        assertFalse(Formats.isTime("8:30:00Z"));
+        assertFalse(Formats.isTime("08:30Z"));
+        assertFalse(Formats.isTime("08:30:61Z"));
+    }
+
+    @Test
+    void otherFormats() {
+        assertTrue(Formats.isEmail("ann@example.com"));
+        assertFalse(Formats.isEmail("ann@example"));
+        assertFalse(Formats.isEmail("ann@@example.com"));
+        assertFalse(Formats.isEmail("ann smith@example.com"));
+
+        assertTrue(Formats.isUuid("123e4567-e89b-12d3-a456-426614174000"));
+        assertFalse(Formats.isUuid("123e4567-e89b-12d3-a456-42661417400g"));
+
+        assertTrue(Formats.isIpv4("192.168.0.255"));
+        assertFalse(Formats.isIpv4("192.168.0.256"));
+        assertFalse(Formats.isIpv4("192.168.00.1"));
+        assertFalse(Formats.isIpv4("192.168.0"));
+        assertFalse(Formats.isIpv4("192.168.0.1."));
+
+        assertTrue(Formats.isUri("https://example.com/a%20b?q=1#top"));
+        assertFalse(Formats.isUri("example.com"));
+        assertFalse(Formats.isUri("https://example.com/a b"));
+        assertFalse(Formats.isUri("https://example.com/%2"));
+
+        assertTrue(Formats.isDecimal("-12.5e3"));
+        assertTrue(Formats.isDecimal(".5"));
+        assertFalse(Formats.isDecimal("1."));
+        assertFalse(Formats.isDecimal("NaN"));
+        assertFalse(Formats.isDecimal(" 1"));
+    }
+}
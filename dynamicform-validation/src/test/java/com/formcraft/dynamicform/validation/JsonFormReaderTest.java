@@ -0,0 +1,69 @@
+package com.formcraft.dynamicform.validation;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonFormReaderTest {
+
+    private static final CompiledSchema SCHEMA = CompiledSchema.compile(new JSONObject("""
+            {"type": "object",
+             "additionalProperties": false,
+             "properties": {
+               "name": {"type": "string"},
+               "tags": {"type": "array", "items": {"type": "string"}},
+               "age": {"type": "integer"}
+             }}"""));
+
+    @Test
+    void readsScalarsArraysAndNumbersAsWritten() throws IOException {
+        FormValues values = read("{\"name\": \"A\\u00e9\\n\", \"tags\": [\"x\", null, \"y\"], \"age\": -1.5e3}");
+        assertEquals("A\u00e9\n", values.first(SCHEMA.indexOf("name")));
+        assertArrayEquals(new String[]{"x", "y"}, values.get(SCHEMA.indexOf("tags")));
+        assertEquals("-1.5e3", values.first(SCHEMA.indexOf("age")));
+        assertNull(values.unknownField());
+    }
+
+    @Test
+    void skipsAndRecordsUndeclaredMembers() throws IOException {
+        FormValues values = read("{\"extra\": {\"a\": [1, {\"b\": \"}\"}]}, \"name\": \"n\"}");
+        assertEquals("n", values.first(SCHEMA.indexOf("name")));
+        assertEquals("extra", values.unknownField());
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        String[] bodies = {
+                "", "[]", "{", "{\"name\" \"x\"}", "{\"name\": \"x\",}", "{\"name\": \"x\"} {}",
+                "{\"name\": \"x", "{\"name\": \"\\q\"}", "{\"name\": \"\\u12g4\"}", "{\"name\": tru}",
+                "{\"age\": 1.}", "{\"age\": -}", "{\"name\": \"a\u0001\"}"
+        };
+        for (String body : bodies) {
+            assertThrows(FormParseException.class, () -> read(body), body);
+        }
+    }
+
+    @Test
+    void rejectsDeepNestingInsteadOfOverflowingTheStack() throws IOException {
+        String ok = "{\"x\": " + "[".repeat(JsonFormReader.MAX_DEPTH) + "]".repeat(JsonFormReader.MAX_DEPTH) + "}";
+        assertEquals("x", read(ok).unknownField());
+
+        String deep = "{\"x\": " + "[".repeat(200_000) + "]".repeat(200_000) + "}";
+        FormParseException e = assertThrows(FormParseException.class, () -> read(deep));
+        assertFalse(e instanceof FormTooLargeException);
+    }
+
+    @Test
+    void rejectsBodiesOverTheLimit() {
+        String body = "{\"name\": \"" + "x".repeat(10_000) + "\"}";
+        assertThrows(FormTooLargeException.class, () -> JsonFormReader.read(SCHEMA, new StringReader(body), 5_000));
+    }
+
+    private static FormValues read(String body) throws IOException {
+        return JsonFormReader.read(SCHEMA, new StringReader(body), 1 << 20);
+    }
+}
@@ -0,0 +1,49 @@
+package com.formcraft.dynamicform.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternCacheTest {
+
+    @Test
+    void reusesTheCompiledPattern() {
+        PatternCache cache = new PatternCache(4);
+        Pattern digits = cache.get("^[0-9]+$");
+        assertSame(digits, cache.get("^[0-9]+$"));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedPattern() throws InterruptedException {
+        PatternCache cache = new PatternCache(3);
+        Pattern a = cache.get("a");
+        Pattern b = cache.get("b");
+        cache.get("c");
+        pause();
+        // "a" is the oldest entry but was just read, so "b" goes instead
+        cache.get("a");
+        pause();
+        cache.get("d");
+
+        assertEquals(3, cache.size());
+        assertSame(a, cache.get("a"));
+        assertNotSame(b, cache.get("b"));
+    }
+
+    @Test
+    void invalidPatternsAreNotCached() {
+        PatternCache cache = new PatternCache(2);
+        assertThrows(PatternSyntaxException.class, () -> cache.get("(["));
+        assertEquals(0, cache.size());
+    }
+
+    // keeps access stamps apart where System.nanoTime is coarse
+    private static void pause() throws InterruptedException {
+        Thread.sleep(2);
+    }
+}
@@ -0,0 +1,178 @@
+package com.formcraft.dynamicform;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Synthetic forms of any size that cycle through every control type the generator supports,
+// together with a fully valid and a fully invalid parameter map for each.
+final class BenchmarkForms {
+
+    private static final int KINDS = 9;
+
+    private BenchmarkForms() {
+    }
+
+    static byte[] schema(int fieldCount) {
+        JSONObject properties = new JSONObject();
+        JSONArray required = new JSONArray();
+        for (int i = 0; i < fieldCount; i++) {
+            properties.put(name(i), fieldSchema(i % KINDS));
+            required.put(name(i));
+        }
+        JSONObject schema = new JSONObject();
+        schema.put("type", "object");
+        schema.put("properties", properties);
+        schema.put("required", required);
+        return schema.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] uiConfig(int fieldCount) {
+        JSONObject fields = new JSONObject();
+        for (int i = 0; i < fieldCount; i++) {
+            JSONObject ui = fieldUI(i % KINDS);
+            ui.put("label", "Field " + i);
+            ui.put("order", i);
+            ui.put("helpText", "Help for field " + i);
+            fields.put(name(i), ui);
+        }
+        JSONObject config = new JSONObject();
+        config.put("formTitle", "Benchmark Form");
+        config.put("submitButtonLabel", "Send");
+        config.put("fields", fields);
+        return config.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static FormModel form(int fieldCount) {
+        return FormModel.parse("bench" + fieldCount, schema(fieldCount), uiConfig(fieldCount));
+    }
+
+    static Map<String, String[]> parameters(int fieldCount, boolean valid) {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            parameters.put(name(i), valid ? validValue(i % KINDS) : invalidValue(i % KINDS));
+        }
+        return parameters;
+    }
+
+    private static String name(int i) {
+        return "field" + i;
+    }
+
+    private static JSONObject fieldSchema(int kind) {
+        JSONObject schema = new JSONObject();
+        switch (kind) {
+            case 0:
+                schema.put("type", "string").put("minLength", 3).put("maxLength", 20)
+                        .put("pattern", "^[a-zA-Z0-9_]+$");
+                break;
+            case 1:
+                schema.put("type", "string").put("format", "email");
+                break;
+            case 2:
+                schema.put("type", "integer").put("minimum", 13).put("maximum", 80);
+                break;
+            case 3:
+            case 7:
+                schema.put("type", "string").put("enum", new JSONArray().put("a").put("b").put("c"));
+                break;
+            case 4:
+                schema.put("type", "array").put("minItems", 1)
+                        .put("items", new JSONObject().put("enum", new JSONArray().put("x").put("y").put("z")));
+                break;
+            case 5:
+                schema.put("type", "string").put("format", "date");
+                break;
+            case 6:
+                schema.put("type", "string").put("maxLength", 500);
+                break;
+            default:
+                schema.put("type", "boolean").put("const", true);
+                break;
+        }
+        return schema;
+    }
+
+    private static JSONObject fieldUI(int kind) {
+        JSONObject ui = new JSONObject();
+        switch (kind) {
+            case 0:
+                ui.put("controlType", "text").put("placeholder", "Username").put("icon", "user");
+                break;
+            case 1:
+                ui.put("controlType", "email").put("placeholder", "you@example.com").put("icon", "email");
+                break;
+            case 2:
+                ui.put("controlType", "number").put("width", "half");
+                break;
+            case 3:
+                ui.put("controlType", "select").put("options", new JSONArray().put("a").put("b").put("c"));
+                break;
+            case 4:
+                ui.put("controlType", "checkbox").put("layout", "grid").put("columns", 3)
+                        .put("options", new JSONArray().put("x").put("y").put("z"));
+                break;
+            case 5:
+                ui.put("controlType", "date").put("width", "half");
+                break;
+            case 6:
+                ui.put("controlType", "textarea").put("rows", 5);
+                break;
+            case 7:
+                ui.put("controlType", "radio").put("layout", "horizontal")
+                        .put("options", new JSONArray().put("a").put("b").put("c"));
+                break;
+            default:
+                ui.put("controlType", "checkbox");
+                break;
+        }
+        return ui;
+    }
+
+    private static String[] validValue(int kind) {
+        switch (kind) {
+            case 0:
+                return new String[]{"john_doe42"};
+            case 1:
+                return new String[]{"john.doe@example.com"};
+            case 2:
+                return new String[]{"34"};
+            case 3:
+            case 7:
+                return new String[]{"b"};
+            case 4:
+                return new String[]{"x", "z"};
+            case 5:
+                return new String[]{"1990-05-17"};
+            case 6:
+                return new String[]{"Some free text that is comfortably inside the length limit."};
+            default:
+                return new String[]{"true"};
+        }
+    }
+
+    private static String[] invalidValue(int kind) {
+        switch (kind) {
+            case 0:
+                return new String[]{"john doe!"};
+            case 1:
+                return new String[]{"not-an-email"};
+            case 2:
+                return new String[]{"7"};
+            case 3:
+            case 7:
+                return new String[]{"q"};
+            case 4:
+                return new String[]{"x", "w"};
+            case 5:
+                return new String[]{"17/05/1990"};
+            case 6:
+                return new String[]{"x".repeat(600)};
+            default:
+                return new String[]{"false"};
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.validation.ValidationResult;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+// The original per-request walk over the schema JSON, kept only as a baseline for the
+// compiled validator. Reads parameters from a map instead of the servlet request.
+final class LegacyValidator {
+
+    private final JSONObject schemaJson;
+
+    LegacyValidator(JSONObject schemaJson) {
+        this.schemaJson = schemaJson;
+    }
+
+    ValidationResult validate(Map<String, String[]> parameters) {
+        ValidationResult result = new ValidationResult();
+        JSONObject properties = schemaJson.getJSONObject("properties");
+        JSONArray required = schemaJson.optJSONArray("required");
+
+        Set<String> requiredFields = new HashSet<>();
+        if (required != null) {
+            for (int i = 0; i < required.length(); i++) {
+                requiredFields.add(required.getString(i));
+            }
+        }
+
+        for (Iterator<String> it = properties.keys(); it.hasNext();) {
+            String fieldName = it.next();
+            JSONObject fieldSchema = properties.getJSONObject(fieldName);
+
+            String[] values = parameters.get(fieldName);
+            String value = (values != null && values.length > 0) ? values[0] : null;
+
+            validateField(fieldName, value, values, fieldSchema, requiredFields.contains(fieldName), result);
+        }
+        return result;
+    }
+
+    private void validateField(String fieldName, String value, String[] values, JSONObject fieldSchema, boolean isRequired, ValidationResult result) {
+        if (isRequired && (value == null || value.trim().isEmpty())) {
+            result.addError(fieldName, fieldName + " is required");
+            return;
+        }
+        if (value == null || value.trim().isEmpty()) {
+            return;
+        }
+
+        String type = fieldSchema.optString("type", "string");
+        switch (type) {
+            case "string":
+                validateStringField(fieldName, value, fieldSchema, result);
+                break;
+            case "integer":
+                validateIntegerField(fieldName, value, fieldSchema, result);
+                break;
+            case "boolean":
+                if (!"true".equals(value) && !"false".equals(value)) {
+                    result.addError(fieldName, fieldName + " must be true or false");
+                }
+                break;
+            case "array":
+                validateArrayField(fieldName, values, fieldSchema, result);
+                break;
+        }
+    }
+
+    private void validateStringField(String fieldName, String value, JSONObject fieldSchema, ValidationResult result) {
+        if (fieldSchema.has("minLength")) {
+            int minLength = fieldSchema.getInt("minLength");
+            if (value.length() < minLength) {
+                result.addError(fieldName, fieldName + " must be at least " + minLength + " characters");
+                return;
+            }
+        }
+        if (fieldSchema.has("maxLength")) {
+            int maxLength = fieldSchema.getInt("maxLength");
+            if (value.length() > maxLength) {
+                result.addError(fieldName, fieldName + " must not exceed " + maxLength + " characters");
+                return;
+            }
+        }
+        if (fieldSchema.has("pattern")) {
+            Pattern pattern = Pattern.compile(fieldSchema.getString("pattern"));
+            if (!pattern.matcher(value).matches()) {
+                result.addError(fieldName, fieldName + " format is invalid");
+                return;
+            }
+        }
+        if (fieldSchema.has("format")) {
+            String format = fieldSchema.getString("format");
+            if ("email".equals(format)) {
+                if (!value.matches("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$")) {
+                    result.addError(fieldName, "Invalid email address");
+                    return;
+                }
+            } else if ("date".equals(format)) {
+                if (!value.matches("^\\d{4}-\\d{2}-\\d{2}$")) {
+                    result.addError(fieldName, "Invalid date format");
+                    return;
+                }
+            }
+        }
+        if (fieldSchema.has("enum")) {
+            JSONArray enumValues = fieldSchema.getJSONArray("enum");
+            boolean isValidEnum = false;
+            for (int i = 0; i < enumValues.length(); i++) {
+                if (enumValues.getString(i).equals(value)) {
+                    isValidEnum = true;
+                    break;
+                }
+            }
+            if (!isValidEnum) {
+                result.addError(fieldName, fieldName + " has an invalid value");
+            }
+        }
+        if (fieldSchema.has("const")) {
+            if (fieldSchema.getBoolean("const") && !"true".equals(value)) {
+                result.addError(fieldName, fieldName + " must be accepted");
+            }
+        }
+    }
+
+    private void validateIntegerField(String fieldName, String value, JSONObject fieldSchema, ValidationResult result) {
+        try {
+            int intValue = Integer.parseInt(value);
+            if (fieldSchema.has("minimum")) {
+                int minimum = fieldSchema.getInt("minimum");
+                if (intValue < minimum) {
+                    result.addError(fieldName, fieldName + " must be at least " + minimum);
+                    return;
+                }
+            }
+            if (fieldSchema.has("maximum")) {
+                int maximum = fieldSchema.getInt("maximum");
+                if (intValue > maximum) {
+                    result.addError(fieldName, fieldName + " must not exceed " + maximum);
+                }
+            }
+        } catch (NumberFormatException e) {
+            result.addError(fieldName, fieldName + " must be a valid number");
+        }
+    }
+
+    private void validateArrayField(String fieldName, String[] values, JSONObject fieldSchema, ValidationResult result) {
+        if (values == null) values = new String[0];
+
+        if (fieldSchema.has("minItems")) {
+            int minItems = fieldSchema.getInt("minItems");
+            if (values.length < minItems) {
+                result.addError(fieldName, fieldName + " must have at least " + minItems + " items");
+                return;
+            }
+        }
+        if (fieldSchema.has("maxItems")) {
+            int maxItems = fieldSchema.getInt("maxItems");
+            if (values.length > maxItems) {
+                result.addError(fieldName, fieldName + " must not have more than " + maxItems + " items");
+                return;
+            }
+        }
+        if (fieldSchema.has("items")) {
+            JSONObject itemSchema = fieldSchema.getJSONObject("items");
+            if (itemSchema.has("enum")) {
+                JSONArray enumValues = itemSchema.getJSONArray("enum");
+                Set<String> validValues = new HashSet<>();
+                for (int i = 0; i < enumValues.length(); i++) {
+                    validValues.add(enumValues.getString(i));
+                }
+                for (String value : values) {
+                    if (!validValues.contains(value)) {
+                        result.addError(fieldName, fieldName + " contains invalid value: " + value);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    Map<String, Object> extract(Map<String, String[]> parameters) {
+        Map<String, Object> formData = new LinkedHashMap<>();
+        JSONObject properties = schemaJson.getJSONObject("properties");
+
+        for (Iterator<String> it = properties.keys(); it.hasNext();) {
+            String fieldName = it.next();
+            String type = properties.getJSONObject(fieldName).optString("type", "string");
+            String[] values = parameters.get(fieldName);
+            String value = (values != null && values.length > 0) ? values[0] : null;
+
+            if ("array".equals(type)) {
+                formData.put(fieldName, values != null ? Arrays.asList(values) : new ArrayList<>());
+            } else if ("boolean".equals(type)) {
+                formData.put(fieldName, "true".equals(value));
+            } else if ("integer".equals(type)) {
+                try {
+                    formData.put(fieldName, value != null ? Integer.parseInt(value) : null);
+                } catch (NumberFormatException e) {
+                    formData.put(fieldName, null);
+                }
+            } else {
+                formData.put(fieldName, value);
+            }
+        }
+        return formData;
+    }
+}
@@ -0,0 +1,63 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.validation.CompiledSchema;
+import com.formcraft.dynamicform.validation.FormValues;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Cost of turning a form model into its field markup, before the fragment cache applies,
+// and of filling the compiled template for a re-rendered form.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fieldCount;
+
+    private FormModel form;
+    private FormTemplate template;
+    private FormFill fill;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        form = BenchmarkForms.form(fieldCount);
+        template = form.template();
+
+        // every field submitted (invalid), so every slot has something to write
+        CompiledSchema schema = form.schema();
+        FormValues values = schema.newValues();
+        for (Map.Entry<String, String[]> parameter : BenchmarkForms.parameters(fieldCount, false).entrySet()) {
+            int index = schema.indexOf(parameter.getKey());
+            if (index >= 0) values.set(index, parameter.getValue());
+        }
+        fill = new FormFill(values, schema.validate(values).getErrors());
+        out = new ByteArrayOutputStream(template.staticLength() * 2);
+    }
+
+    @Benchmark
+    public String buildFields() {
+        return FormGenerator.buildFields(form);
+    }
+
+    // the compiled template re-rendered with sticky values and errors
+    @Benchmark
+    public int renderFilled() throws IOException {
+        out.reset();
+        template.render(fill, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public FormModel parseModel() {
+        return FormModel.parse("bench", BenchmarkForms.schema(fieldCount), BenchmarkForms.uiConfig(fieldCount));
+    }
+}
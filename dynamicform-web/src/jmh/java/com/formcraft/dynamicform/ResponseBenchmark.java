@@ -0,0 +1,65 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.validation.CompiledSchema;
+import com.formcraft.dynamicform.validation.FormValues;
+import com.formcraft.dynamicform.validation.ValidationResult;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Rendering of the pages and JSON bodies sent back after a submission.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fieldCount;
+
+    private Map<String, Object> formData;
+    private ValidationResult errors;
+    private ResponseBuffer sink;
+
+    @Setup
+    public void setUp() {
+        JSONObject schemaJson = new JSONObject(new String(BenchmarkForms.schema(fieldCount), StandardCharsets.UTF_8));
+        CompiledSchema schema = CompiledSchema.compile(schemaJson);
+
+        formData = schema.extract(fill(schema, BenchmarkForms.parameters(fieldCount, true)), false);
+        errors = schema.validate(fill(schema, BenchmarkForms.parameters(fieldCount, false)));
+        sink = new ResponseBuffer(256 * 1024);
+    }
+
+    private static FormValues fill(CompiledSchema schema, Map<String, String[]> parameters) {
+        FormValues values = schema.newValues();
+        for (int i = 0; i < schema.fieldCount(); i++) {
+            values.set(i, parameters.get(schema.field(i).name()));
+        }
+        return values;
+    }
+
+    @Benchmark
+    public int successPage() {
+        sink.reset();
+        ResultPages.writeSuccess(sink, formData, "dynamicForm?id=bench");
+        return sink.size();
+    }
+
+    @Benchmark
+    public int validationErrorPage() {
+        sink.reset();
+        ResultPages.writeValidationErrors(sink, errors.getErrors());
+        return sink.size();
+    }
+
+    @Benchmark
+    public byte[] jsonErrors() {
+        return JsonResponses.errorsBody(errors);
+    }
+}
@@ -0,0 +1,113 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.validation.CompiledSchema;
+import com.formcraft.dynamicform.validation.FormBodyReader;
+import com.formcraft.dynamicform.validation.FormValues;
+import com.formcraft.dynamicform.validation.ValidationMode;
+import com.formcraft.dynamicform.validation.ValidationResult;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Compiled validator against the original JSON walk, on payloads that pass and payloads
+// where every field fails.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fieldCount;
+
+    @Param({"true", "false"})
+    public boolean valid;
+
+    private CompiledSchema schema;
+    private LegacyValidator legacy;
+    private Map<String, String[]> parameters;
+    // the same parameters as a url-encoded request body
+    private byte[] formBody;
+    private FormMetrics formMetrics;
+
+    @Setup
+    public void setUp() {
+        JSONObject schemaJson = new JSONObject(new String(BenchmarkForms.schema(fieldCount), StandardCharsets.UTF_8));
+        schema = CompiledSchema.compile(schemaJson);
+        legacy = new LegacyValidator(schemaJson);
+        parameters = BenchmarkForms.parameters(fieldCount, valid);
+        formBody = urlEncoded(parameters);
+        formMetrics = new Metrics(true).form("bench");
+    }
+
+    // same lookups the servlet does with getParameterValues
+    private FormValues read() {
+        FormValues values = schema.newValues();
+        for (int i = 0; i < schema.fieldCount(); i++) {
+            values.set(i, parameters.get(schema.field(i).name()));
+        }
+        return values;
+    }
+
+    private static byte[] urlEncoded(Map<String, String[]> parameters) {
+        StringBuilder body = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            for (String value : parameter.getValue()) {
+                if (body.length() > 0) body.append('&');
+                body.append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8)).append('=')
+                        .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // streaming the raw body into slots, instead of a container-built parameter map
+    @Benchmark
+    public ValidationResult streamedBodyValidate() throws IOException {
+        FormValues values = FormBodyReader.read(schema, new ByteArrayInputStream(formBody), StandardCharsets.UTF_8,
+                Long.MAX_VALUE, Integer.MAX_VALUE);
+        return schema.validate(values);
+    }
+
+    @Benchmark
+    public ValidationResult compiledValidate() {
+        return schema.validate(read());
+    }
+
+    @Benchmark
+    public ValidationResult compiledValidateFailFast() {
+        return schema.validate(read(), ValidationMode.FAIL_FAST, null);
+    }
+
+    // same work with instrumentation on, at the default timing sample rate
+    @Benchmark
+    public ValidationResult compiledValidateObserved() {
+        return schema.validate(read(), formMetrics);
+    }
+
+    @Benchmark
+    public Object compiledValidateAndExtract() {
+        FormValues values = read();
+        ValidationResult result = schema.validate(values);
+        return result.isValid() ? schema.extract(values, false) : result;
+    }
+
+    @Benchmark
+    public ValidationResult legacyValidate() {
+        return legacy.validate(parameters);
+    }
+
+    @Benchmark
+    public Object legacyValidateAndExtract() {
+        ValidationResult result = legacy.validate(parameters);
+        return result.isValid() ? legacy.extract(parameters) : result;
+    }
+}
@@ -0,0 +1,142 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// A request whose body a filter has already read, handed on with the body replayed from memory.
+// The container can no longer parse parameters out of the consumed stream, so a url-encoded body
+// is parsed here when parameters are asked for, after those of the query string as the spec orders them.
+final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+    private Map<String, String[]> parameters;
+
+    BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+        super(request);
+        this.body = body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                try {
+                    listener.onDataAvailable();
+                    listener.onAllDataRead();
+                } catch (IOException e) {
+                    listener.onError(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters().get(name);
+        return values != null ? values[0] : null;
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        String[] values = parameters().get(name);
+        return values != null ? values.clone() : null;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters().keySet());
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters());
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) throws UnsupportedEncodingException {
+        super.setCharacterEncoding(encoding);
+        // decoded again with the new encoding, as the container would before parsing
+        parameters = null;
+    }
+
+    private Map<String, String[]> parameters() {
+        if (parameters == null) {
+            Map<String, List<String>> decoded = new LinkedHashMap<>();
+            Charset charset = charset();
+            decode(getQueryString(), charset, decoded);
+            String contentType = getContentType();
+            if (contentType == null
+                    || contentType.regionMatches(true, 0, "application/x-www-form-urlencoded", 0, 33)) {
+                decode(new String(body, StandardCharsets.ISO_8859_1), charset, decoded);
+            }
+            Map<String, String[]> map = new LinkedHashMap<>();
+            decoded.forEach((name, values) -> map.put(name, values.toArray(new String[0])));
+            parameters = map;
+        }
+        return parameters;
+    }
+
+    // The body is url-encoded ASCII, so reading it as Latin-1 first leaves the escapes intact
+    private static void decode(String encoded, Charset charset, Map<String, List<String>> into) {
+        if (encoded == null || encoded.isEmpty()) return;
+        for (String pair : encoded.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            try {
+                String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), charset);
+                String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), charset);
+                into.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+            } catch (IllegalArgumentException e) {
+                // malformed escapes: the pair is dropped, as containers do
+            }
+        }
+    }
+
+    private Charset charset() {
+        String encoding = getCharacterEncoding();
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.annotation.WebInitParam;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.formcraft.dynamicform.store.Submission;
+import com.formcraft.dynamicform.store.SubmissionSink;
+import com.formcraft.dynamicform.validation.BulkRecordReader;
+import com.formcraft.dynamicform.validation.CompiledSchema;
+import com.formcraft.dynamicform.validation.CsvFormReader;
+import com.formcraft.dynamicform.validation.FormParseException;
+import com.formcraft.dynamicform.validation.FormValues;
+import com.formcraft.dynamicform.validation.JsonFormReader;
+import com.formcraft.dynamicform.validation.ValidationMode;
+import com.formcraft.dynamicform.validation.ValidationResult;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.*;
+
+// Imports many submissions in one request: POST /bulkImport?id=<form> with an NDJSON body (one JSON
+// object per line, as /submitForm takes them) or CSV (a header record naming the fields). Records
+// are cut into chunks that are parsed, validated and stored on virtual threads, spread across all
+// cores. The reply is NDJSON as well: one result per record in input order, written as each chunk
+// completes, and a summary line. Only a bounded number of chunks is in flight, so memory stays
+// flat and a slow client holds back reading rather than piling up results.
+// Callers need the "import" role, required by the security constraint in web.xml.
+@WebServlet(name = "BulkImportServlet", urlPatterns = {"/bulkImport"}, asyncSupported = true,
+        initParams = {
+                @WebInitParam(name = "maxConcurrentImports", value = "4"),
+                @WebInitParam(name = "chunkSize", value = "256"),
+                @WebInitParam(name = "maxRecordChars", value = "65536"),
+                @WebInitParam(name = "persistTimeoutMillis", value = "10000"),
+                @WebInitParam(name = "retryAfterSeconds", value = "5"),
+                @WebInitParam(name = "validationMode", value = "collect-all")
+        })
+public class BulkImportServlet extends HttpServlet {
+
+    private static final String CONTENT_TYPE = "application/x-ndjson;charset=UTF-8";
+    static final String IMPORT_ROLE = "import";
+
+    private FormRegistry registry;
+    private SubmissionSink sink;
+    private Metrics metrics;
+    private UniqueFields uniqueFields;
+
+    // runs both the import loops and their chunks
+    private ExecutorService executor;
+    private Semaphore imports;
+    private int chunkSize;
+    private int maxRecordChars;
+    // chunks queued or running per import, enough to keep every core busy
+    private int chunksInFlight;
+    private long persistTimeoutMillis;
+    private String retryAfterSeconds;
+    private ValidationMode defaultValidationMode;
+
+    // Results of one chunk: its NDJSON lines and how many records ended which way
+    private record Chunk(byte[] lines, int[] outcomes) {
+    }
+
+    @Override
+    public void init() throws ServletException {
+        registry = FormRegistry.from(getServletContext());
+        metrics = Metrics.from(getServletContext());
+        sink = (SubmissionSink) getServletContext().getAttribute(SubmissionSink.ATTRIBUTE);
+        if (sink == null) {
+            throw new ServletException("No submission sink configured");
+        }
+        uniqueFields = UniqueFields.from(getServletContext());
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        imports = new Semaphore(Integer.parseInt(getInitParameter("maxConcurrentImports")));
+        chunkSize = Integer.parseInt(getInitParameter("chunkSize"));
+        maxRecordChars = Integer.parseInt(getInitParameter("maxRecordChars"));
+        chunksInFlight = 2 * Runtime.getRuntime().availableProcessors();
+        persistTimeoutMillis = Long.parseLong(getInitParameter("persistTimeoutMillis"));
+        retryAfterSeconds = getInitParameter("retryAfterSeconds");
+        defaultValidationMode = ValidationMode.parse(getInitParameter("validationMode"));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(persistTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FormModel form;
+        try {
+            form = registry.get(request.getParameter("id"));
+        } catch (UnknownFormException e) {
+            JsonResponses.sendError(response, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
+        }
+
+        String contentType = request.getContentType();
+        boolean csv = startsWith(contentType, "text/csv");
+        if (!csv && !startsWith(contentType, "application/x-ndjson") && !startsWith(contentType, "application/jsonl")) {
+            JsonResponses.sendError(response, HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE,
+                    "Send application/x-ndjson or text/csv");
+            return;
+        }
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        // validates without storing, to check a file before importing it
+        boolean dryRun = "true".equals(request.getParameter("dryRun"));
+        // a dry run reports taken unique values without claiming them or any rate limit, so it would
+        // tell who is registered; refused here too in case the web.xml constraint is dropped
+        if (dryRun && !request.isUserInRole(IMPORT_ROLE)) {
+            JsonResponses.sendError(response, HttpServletResponse.SC_FORBIDDEN,
+                    "Dry runs need the " + IMPORT_ROLE + " role");
+            return;
+        }
+        Object attribute = request.getAttribute(ValidationMode.ATTRIBUTE);
+        ValidationMode mode = attribute instanceof ValidationMode ? (ValidationMode) attribute : defaultValidationMode;
+
+        if (!imports.tryAcquire()) {
+            sendOverloaded(response);
+            return;
+        }
+        AsyncContext async = request.startAsync();
+        async.setTimeout(0);
+        try {
+            executor.execute(() -> runImport(async, form, csv, dryRun, mode));
+        } catch (RejectedExecutionException e) {
+            imports.release();
+            sendOverloaded((HttpServletResponse) async.getResponse());
+            async.complete();
+        }
+    }
+
+    private void runImport(AsyncContext async, FormModel form, boolean csv, boolean dryRun, ValidationMode mode) {
+        HttpServletRequest request = (HttpServletRequest) async.getRequest();
+        HttpServletResponse response = (HttpServletResponse) async.getResponse();
+        // null while instrumentation is switched off
+        FormMetrics formMetrics = metrics.isEnabled() ? metrics.form(form.id()) : null;
+        ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+        int[] totals = new int[SubmitOutcome.values().length];
+        try {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(CONTENT_TYPE);
+            response.setHeader("Cache-Control", "no-store");
+            ServletOutputStream out = response.getOutputStream();
+
+            // Past this point the status is sent; a body that breaks off ends the results with an error
+            String error = null;
+            try {
+                BulkRecordReader reader = new BulkRecordReader(request.getReader(), csv, maxRecordChars);
+                CsvFormReader columns = null;
+                if (csv) {
+                    String header = reader.next();
+                    if (header == null) throw new FormParseException("CSV body has no header record");
+                    columns = new CsvFormReader(form.schema(), header);
+                }
+
+                String[] records = new String[chunkSize];
+                long[] lines = new long[chunkSize];
+                int count = 0;
+                String record;
+                while ((record = reader.next()) != null) {
+                    records[count] = record;
+                    lines[count] = reader.recordLine();
+                    if (++count == chunkSize) {
+                        submitChunk(pending, form, columns, records, lines, count, dryRun, mode, formMetrics);
+                        records = new String[chunkSize];
+                        lines = new long[chunkSize];
+                        count = 0;
+                        while (pending.size() >= chunksInFlight) {
+                            writeChunk(pending.poll(), out, totals);
+                        }
+                    }
+                }
+                if (count > 0) {
+                    submitChunk(pending, form, columns, records, lines, count, dryRun, mode, formMetrics);
+                }
+            } catch (FormParseException e) {
+                error = e.getMessage();
+            }
+
+            // records read before a failure are still reported, they may have been stored
+            while (!pending.isEmpty()) {
+                writeChunk(pending.poll(), out, totals);
+            }
+            out.write(summary(totals, error));
+            out.flush();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            log("Bulk import for form " + form.id() + " failed", e);
+        } finally {
+            // chunks left behind by a failure finish before the import's slot is freed
+            for (Future<Chunk> chunk : pending) {
+                try {
+                    chunk.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException ignored) {
+                    // already logged by the import that failed
+                }
+            }
+            imports.release();
+            async.complete();
+        }
+    }
+
+    private void submitChunk(ArrayDeque<Future<Chunk>> pending, FormModel form, CsvFormReader columns,
+                             String[] records, long[] lines, int count, boolean dryRun, ValidationMode mode,
+                             FormMetrics formMetrics) {
+        pending.add(executor.submit(() ->
+                importChunk(form, columns, records, lines, count, dryRun, mode, formMetrics)));
+    }
+
+    private static void writeChunk(Future<Chunk> future, ServletOutputStream out, int[] totals)
+            throws IOException, InterruptedException, ExecutionException {
+        Chunk chunk = future.get();
+        out.write(chunk.lines());
+        out.flush();
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] += chunk.outcomes()[i];
+        }
+    }
+
+    // Parses and validates every record of the chunk, hands the valid ones to the sink together so
+    // they share its group commits, then waits for them and writes one result line per record.
+    private Chunk importChunk(FormModel form, CsvFormReader columns, String[] records, long[] lines, int count,
+                              boolean dryRun, ValidationMode mode, FormMetrics formMetrics) {
+        CompiledSchema schema = form.schema();
+        SubmitOutcome[] outcomes = new SubmitOutcome[count];
+        ValidationResult[] results = new ValidationResult[count];
+        String[] parseErrors = new String[count];
+        CompletableFuture<?>[] stored = new CompletableFuture<?>[count];
+        // kept for giving back the unique values of records that fail to store
+        FormValues[] storedValues = new FormValues[count];
+
+        for (int i = 0; i < count; i++) {
+            FormValues values;
+            try {
+                values = columns != null ? columns.read(records[i])
+                        : JsonFormReader.read(schema, new StringReader(records[i]), maxRecordChars);
+            } catch (IOException e) {
+                outcomes[i] = SubmitOutcome.MALFORMED;
+                parseErrors[i] = e.getMessage();
+                continue;
+            }
+
+            ValidationResult result;
+            if (formMetrics != null) {
+                long start = System.nanoTime();
+                result = schema.validate(values, mode, formMetrics);
+                formMetrics.recordValidation(System.nanoTime() - start);
+            } else {
+                result = schema.validate(values, mode, null);
+            }
+            // a dry run only looks values up, so repeats within the file itself are not caught
+            if (result.isValid()) {
+                if (dryRun) {
+                    uniqueFields.check(form.id(), schema, values, result);
+                } else {
+                    uniqueFields.claim(form.id(), schema, values, result);
+                }
+            }
+            if (!result.isValid()) {
+                outcomes[i] = SubmitOutcome.INVALID;
+                results[i] = result;
+                continue;
+            }
+
+            outcomes[i] = SubmitOutcome.ACCEPTED;
+            if (!dryRun) {
+                stored[i] = sink.submit(new Submission(form.id(), System.currentTimeMillis(),
+                        schema.extract(values, false)));
+                storedValues[i] = values;
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(persistTimeoutMillis);
+        int[] counts = new int[SubmitOutcome.values().length];
+        StringBuilder json = new StringBuilder(count * 32);
+        for (int i = 0; i < count; i++) {
+            if (stored[i] != null) {
+                outcomes[i] = awaitStored(stored[i], deadline, form.id());
+                if (outcomes[i] != SubmitOutcome.ACCEPTED) uniqueFields.release(form.id(), schema, storedValues[i]);
+            }
+            counts[outcomes[i].ordinal()]++;
+            if (formMetrics != null) formMetrics.recordOutcome(outcomes[i]);
+
+            json.append("{\"line\":").append(lines[i]);
+            switch (outcomes[i]) {
+                case ACCEPTED:
+                    json.append(",\"valid\":true}");
+                    break;
+                case INVALID:
+                    json.append(",\"valid\":false,\"errors\":");
+                    JsonResponses.appendErrors(results[i], json);
+                    json.append('}');
+                    break;
+                case MALFORMED:
+                    json.append(",\"valid\":false,\"error\":");
+                    JsonResponses.quote(parseErrors[i], json);
+                    json.append('}');
+                    break;
+                case OVERLOADED:
+                    json.append(",\"valid\":true,\"error\":\"Too many submissions, please retry shortly\"}");
+                    break;
+                default:
+                    json.append(",\"valid\":true,\"error\":\"Submission could not be saved\"}");
+                    break;
+            }
+            json.append('\n');
+        }
+        return new Chunk(json.toString().getBytes(StandardCharsets.UTF_8), counts);
+    }
+
+    private SubmitOutcome awaitStored(CompletableFuture<?> stored, long deadline, String formId) {
+        try {
+            stored.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return SubmitOutcome.ACCEPTED;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) return SubmitOutcome.OVERLOADED;
+            log("Persisting an imported submission for form " + formId + " failed", e.getCause());
+            return SubmitOutcome.FAILED;
+        } catch (TimeoutException e) {
+            return SubmitOutcome.OVERLOADED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return SubmitOutcome.FAILED;
+        }
+    }
+
+    // {"records":3,"accepted":1,"invalid":1,"malformed":1,"overloaded":0,"failed":0}, plus "error"
+    // when the body could not be read to the end
+    private static byte[] summary(int[] totals, String error) {
+        int records = 0;
+        for (int total : totals) {
+            records += total;
+        }
+        StringBuilder json = new StringBuilder(128);
+        json.append("{\"records\":").append(records);
+        for (SubmitOutcome outcome : SubmitOutcome.values()) {
+            json.append(",\"").append(outcome.label).append("\":").append(totals[outcome.ordinal()]);
+        }
+        if (error != null) {
+            json.append(",\"error\":");
+            JsonResponses.quote(error, json);
+        }
+        json.append("}\n");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void sendOverloaded(HttpServletResponse response) throws IOException {
+        response.setHeader("Retry-After", retryAfterSeconds);
+        JsonResponses.sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                "Too many imports running, please retry shortly");
+    }
+
+    private static boolean startsWith(String contentType, String mediaType) {
+        return contentType != null && contentType.regionMatches(true, 0, mediaType, 0, mediaType.length());
+    }
+}
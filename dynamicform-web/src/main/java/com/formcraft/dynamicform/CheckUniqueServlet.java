@@ -0,0 +1,83 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebInitParam;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.formcraft.dynamicform.validation.CompiledField;
+import com.formcraft.dynamicform.validation.ValidationResult;
+
+import java.io.IOException;
+
+// Lets form.js find out whether a value of a "unique": true field is free before the form is posted:
+// GET /checkUnique?id=<form>&field=<name>&value=<value> answers {"valid":true} or
+// {"valid":false,"errors":{"<name>":"<name> is already taken"}}, the same shape as a submit.
+// Only a submit claims the value; this is advice. As the answers tell whether someone is registered,
+// only fields declared unique can be probed and every client gets its own token bucket.
+// Loaded at startup so the unique index is rebuilt from the log before the first request.
+@WebServlet(name = "CheckUniqueServlet", urlPatterns = {"/checkUnique"}, loadOnStartup = 1,
+        initParams = {
+                @WebInitParam(name = "probesPerMinute", value = "120"),
+                @WebInitParam(name = "burst", value = "20"),
+                @WebInitParam(name = "clientStripes", value = "65536"),
+                @WebInitParam(name = "trustForwardedFor", value = "false"),
+                @WebInitParam(name = "maxAgeSeconds", value = "10")
+        })
+public class CheckUniqueServlet extends HttpServlet {
+
+    private FormRegistry registry;
+    private UniqueFields uniqueFields;
+    private RateLimiter limiter;
+    private boolean trustForwardedFor;
+    // a freshly taken value may be reported free for this long by caches
+    private String cacheControl;
+
+    @Override
+    public void init() throws ServletException {
+        registry = FormRegistry.from(getServletContext());
+        uniqueFields = UniqueFields.from(getServletContext());
+        limiter = new RateLimiter(Integer.parseInt(getInitParameter("probesPerMinute")),
+                Integer.parseInt(getInitParameter("burst")),
+                Integer.parseInt(getInitParameter("clientStripes")));
+        trustForwardedFor = Boolean.parseBoolean(getInitParameter("trustForwardedFor"));
+        cacheControl = "private, max-age=" + Integer.parseInt(getInitParameter("maxAgeSeconds"));
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long wait = limiter.acquire(SubmissionGuardFilter.client(request, trustForwardedFor));
+        if (wait > 0) {
+            response.setHeader("Retry-After", Long.toString((wait + 999_999_999) / 1_000_000_000));
+            JsonResponses.sendError(response, 429, "Too many checks, please slow down");
+            return;
+        }
+
+        FormModel form;
+        try {
+            form = registry.get(request.getParameter("id"));
+        } catch (UnknownFormException e) {
+            JsonResponses.sendError(response, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
+        }
+
+        String fieldName = request.getParameter("field");
+        String value = request.getParameter("value");
+        int index = fieldName != null ? form.schema().indexOf(fieldName) : -1;
+        CompiledField field = index >= 0 ? form.schema().field(index) : null;
+        if (field == null || !field.isUnique() || value == null) {
+            JsonResponses.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Not a unique field of this form");
+            return;
+        }
+
+        response.setHeader("Cache-Control", cacheControl);
+        if (uniqueFields.isTaken(form.id(), field.name(), value)) {
+            ValidationResult result = new ValidationResult();
+            result.addError(field.name(), UniqueFields.takenMessage(field.name()));
+            JsonResponses.sendErrors(response, HttpServletResponse.SC_OK, result);
+        } else {
+            JsonResponses.sendValid(response);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.formcraft.dynamicform;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// SHA-256 over one or more byte arrays, hex encoded. Used to key anything derived from config files.
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static String of(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                // length prefix so ("ab", "c") and ("a", "bc") hash differently
+                digest.update(intBytes(part.length));
+                digest.update(part);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] intBytes(int value) {
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+}
@@ -0,0 +1,72 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.*;
+import jakarta.servlet.annotation.*;
+
+import java.io.IOException;
+
+@WebServlet(name = "DynamicFormServlet", urlPatterns = {"/dynamicForm"},
+        initParams = {@WebInitParam(name = "renderMode", value = "stream")})
+public class DynamicFormServlet extends HttpServlet {
+
+    private FormRegistry registry;
+    private Metrics metrics;
+
+    // "stream" writes pre-encoded page bytes directly, "jsp" forwards to form.jsp
+    private boolean streamPages;
+    private FormPageTemplate pageTemplate;
+
+    @Override
+    public void init() throws ServletException {
+        registry = FormRegistry.from(getServletContext());
+        metrics = Metrics.from(getServletContext());
+        streamPages = !"jsp".equalsIgnoreCase(getInitParameter("renderMode"));
+        if (streamPages) {
+            try {
+                pageTemplate = FormPageTemplate.load(getServletContext());
+            } catch (IOException e) {
+                throw new ServletException("Error loading form template", e);
+            }
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        boolean timed = metrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+
+        FormModel form;
+        try {
+            form = registry.get(request.getParameter("id"));
+        } catch (UnknownFormException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
+        }
+
+        if (streamPages) {
+            boolean sent = form.page(pageTemplate).write(request, response);
+            if (timed) metrics.form(form.id()).recordRender(System.nanoTime() - start, !sent);
+            return;
+        }
+
+        // 1. generate the fields snippet (rendered once per config, then served from cache)
+        String fieldsHtml = form.fragment().html();
+
+        // 2. setting attributes so JSP can access them
+        request.setAttribute("formTitle", form.formTitle());
+        request.setAttribute("formAction", form.submitAction());
+        request.setAttribute("formRules", form.rulesUrl());
+        request.setAttribute("formUniqueCheck", form.uniqueCheckUrl());
+        request.setAttribute("formFields", fieldsHtml);
+        request.setAttribute("submitLabel", form.submitLabel());
+        StaticAssets.from(getServletContext()).pageSlots().forEach(request::setAttribute);
+
+        // 3. forward to the JSP
+        RequestDispatcher dispatcher = request.getRequestDispatcher(FormPageTemplate.JSP_PATH);
+        dispatcher.forward(request, response);
+        if (timed) metrics.form(form.id()).recordRender(System.nanoTime() - start, false);
+    }
+}
@@ -0,0 +1,36 @@
+package com.formcraft.dynamicform;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// One rendered form field: the UI hints from the UI config plus the schema constraints
+// that are mirrored into HTML attributes. Constraint components are null when the schema omits them.
+public record FieldModel(
+        String name,
+        int order,
+        boolean required,
+        String label,
+        String controlType,
+        String placeholder,
+        String helpText,
+        String width,
+        String icon,
+        String layout,
+        int columns,
+        int rows,
+        boolean showStrengthIndicator,
+        List<FieldOption> options,
+        Integer minLength,
+        Integer maxLength,
+        BigDecimal minimum,
+        BigDecimal maximum,
+        String pattern) {
+
+    public FieldModel {
+        options = List.copyOf(options);
+    }
+
+    public boolean hasOptions() {
+        return !options.isEmpty();
+    }
+}
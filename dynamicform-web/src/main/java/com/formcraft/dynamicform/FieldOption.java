@@ -0,0 +1,5 @@
+package com.formcraft.dynamicform;
+
+// A choice in a select, radio group or checkbox group.
+public record FieldOption(String value, String label) {
+}
@@ -0,0 +1,107 @@
+package com.formcraft.dynamicform;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Watches the external config directory and reloads forms whose files change.
+// Runs on its own daemon thread; a burst of events (editors often write, rename and touch)
+// is coalesced into one reload per form once the directory has been quiet for a moment.
+public final class FormConfigWatcher implements Closeable {
+
+    private static final Logger LOG = Logger.getLogger(FormConfigWatcher.class.getName());
+    private static final Pattern CONFIG_FILE = Pattern.compile("(.+)(?:Schema|UIConfig)\\.json");
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final Path dir;
+    private final FormRegistry registry;
+    private final ReloadMetrics metrics;
+    private final WatchService watchService;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public FormConfigWatcher(Path dir, FormRegistry registry, ReloadMetrics metrics) throws IOException {
+        this.dir = dir;
+        this.registry = registry;
+        this.metrics = metrics;
+        this.watchService = dir.getFileSystem().newWatchService();
+        dir.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = new Thread(this::run, "form-config-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                WatchKey key = watchService.take();
+                Set<String> changed = new LinkedHashSet<>();
+                collect(key, changed);
+
+                // keep draining until the directory goes quiet
+                while ((key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+
+                for (String formId : changed) {
+                    reload(formId);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // shutting down
+        }
+    }
+
+    private void collect(WatchKey key, Set<String> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // events were lost, so reload everything currently cached
+                registry.cachedIds().forEach(changed::add);
+                continue;
+            }
+            Matcher matcher = CONFIG_FILE.matcher(event.context().toString());
+            if (matcher.matches()) {
+                changed.add(matcher.group(1));
+            }
+        }
+        key.reset();
+    }
+
+    private void reload(String formId) {
+        long start = System.nanoTime();
+        try {
+            if (registry.reload(formId)) {
+                metrics.recordReload(System.nanoTime() - start);
+                LOG.info("Reloaded form " + formId + " from " + dir);
+            }
+        } catch (UnknownFormException e) {
+            // both files are gone; drop it so the next request gets a 404
+            registry.invalidate(formId);
+            metrics.recordReload(System.nanoTime() - start);
+        } catch (Exception e) {
+            // keep serving the previous model
+            metrics.recordFailure();
+            LOG.log(Level.WARNING, "Reloading form " + formId + " failed, keeping the previous version", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        watchService.close();
+        thread.interrupt();
+    }
+}
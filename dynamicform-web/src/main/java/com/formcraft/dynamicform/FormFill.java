@@ -0,0 +1,14 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.validation.FormValues;
+
+import java.util.Map;
+
+// Per-request data for a FormTemplate: the submitted values to show again and the error message of
+// each failed field. Either may be absent (null values, empty errors).
+public record FormFill(FormValues values, Map<String, String> errors) {
+
+    public FormFill {
+        errors = errors != null ? errors : Map.of();
+    }
+}
@@ -0,0 +1,248 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.FormTemplate.SlotKind;
+import com.formcraft.dynamicform.validation.CompiledSchema;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Compiles a form's field markup into a FormTemplate once per config. Everything that does not
+// depend on the request goes into static segments; submitted values and errors are left as slots.
+public class FormGenerator {
+
+    public static String buildFields(FormModel form) {
+        return compile(form).renderEmpty();
+    }
+
+    public static FormTemplate compile(FormModel form) {
+        CompiledSchema schema = form.schema();
+        Map<String, Integer> fieldIndices = new HashMap<>();
+        for (FieldModel field : form.fields()) {
+            fieldIndices.put(field.name(), schema.indexOf(field.name()));
+        }
+
+        FormTemplate.Builder template = new FormTemplate.Builder(fieldIndices);
+        template.append("<div class=\"form-container\">\n");
+        template.slot(SlotKind.FORM_ERRORS, null);
+
+        // fields are already in display order
+        for (FieldModel field : form.fields()) {
+            int index = fieldIndices.get(field.name());
+            // passwords and other write-only values are never sent back to the browser
+            boolean sticky = index >= 0 && !schema.field(index).isWriteOnly();
+            generateFieldHtml(field, sticky, template);
+        }
+
+        template.append("</div>\n");
+        return template.build();
+    }
+
+    private static void generateFieldHtml(FieldModel field, boolean sticky, FormTemplate.Builder html) {
+        String fieldName = field.name();
+        boolean isRequired = field.required();
+        String label = field.label();
+        String controlType = field.controlType();
+        String helpText = field.helpText();
+        String width = field.width();
+        String icon = field.icon();
+
+        // starting field wrapper
+        html.append("<div class=\"field-wrapper ").append(width).append("\">\n");
+
+        html.append("  <label for=\"").append(fieldName).append("\" class=\"field-label");
+        if (isRequired) html.append(" required");
+        html.append("\">");
+        if (!icon.isEmpty()) {
+            html.append("<i class=\"icon-").append(icon).append("\"></i> ");
+        }
+        html.append(label);
+        if (isRequired) html.append(" *");
+        html.append("</label>\n");
+
+        // generate diff control type
+        switch (controlType) {
+            case "select":
+                generateSelectField(field, html);
+                break;
+            case "radio":
+                generateRadioField(field, html);
+                break;
+            case "checkbox":
+                if (field.hasOptions()) {
+                    generateCheckboxGroup(field, html);
+                } else {
+                    generateSingleCheckbox(field, html);
+                }
+                break;
+            case "textarea":
+                generateTextarea(field, sticky, html);
+                break;
+            default:
+                generateInputField(field, sticky && !"password".equals(controlType), html);
+        }
+
+        // helping text
+        if (!helpText.isEmpty()) {
+            html.append("  <div class=\"help-text\">").append(helpText).append("</div>\n");
+        }
+
+        // Error message, filled in when the form is shown again after a failed submission
+        html.append("  <div class=\"error-message").slot(SlotKind.ERROR_CLASS, fieldName)
+                .append("\" id=\"error-").append(fieldName).append("\">").slot(SlotKind.ERROR, fieldName)
+                .append("</div>\n");
+
+        html.append("</div>\n\n");
+    }
+
+    private static void generateInputField(FieldModel field, boolean sticky, FormTemplate.Builder html) {
+        String fieldName = field.name();
+        String controlType = field.controlType();
+        String placeholder = field.placeholder();
+
+        html.append("  <input type=\"").append(controlType).append("\" ")
+                .append("name=\"").append(fieldName).append("\" ")
+                .append("id=\"").append(fieldName).append("\" ")
+                .append("class=\"form-input\"");
+
+        if (!placeholder.isEmpty()) {
+            html.append(" placeholder=\"").append(placeholder).append("\"");
+        }
+
+        // Add validation attributes from schema
+        if (field.minLength() != null) {
+            html.append(" minlength=\"").append(field.minLength()).append("\"");
+        }
+        if (field.maxLength() != null) {
+            html.append(" maxlength=\"").append(field.maxLength()).append("\"");
+        }
+        // bounds as written in the schema, decimals included, without exponent notation
+        if (field.minimum() != null) {
+            html.append(" min=\"").append(field.minimum().toPlainString()).append("\"");
+        }
+        if (field.maximum() != null) {
+            html.append(" max=\"").append(field.maximum().toPlainString()).append("\"");
+        }
+        if (field.pattern() != null) {
+            html.append(" pattern=\"").append(field.pattern()).append("\"");
+        }
+        if (sticky) {
+            html.slot(SlotKind.VALUE, fieldName);
+        }
+
+        html.append(" />\n");
+
+        // Password strength indicator
+        if ("password".equals(controlType) && field.showStrengthIndicator()) {
+            html.append("  <div class=\"password-strength\" id=\"strength-").append(fieldName).append("\"></div>\n");
+        }
+    }
+
+    private static void generateSelectField(FieldModel field, FormTemplate.Builder html) {
+        String fieldName = field.name();
+        String placeholder = field.placeholder();
+
+        html.append("  <select name=\"").append(fieldName).append("\" ")
+                .append("id=\"").append(fieldName).append("\" ")
+                .append("class=\"form-select\">\n");
+
+        if (!placeholder.isEmpty()) {
+            html.append("    <option value=\"\">").append(placeholder).append("</option>\n");
+        }
+
+        for (FieldOption option : field.options()) {
+            html.append("    <option value=\"").append(option.value()).append("\"")
+                    .slot(SlotKind.SELECTED, fieldName, option.value())
+                    .append(">").append(option.label()).append("</option>\n");
+        }
+
+        html.append("  </select>\n");
+    }
+
+    private static void generateRadioField(FieldModel field, FormTemplate.Builder html) {
+        String fieldName = field.name();
+        String layout = field.layout();
+
+        html.append("  <div class=\"radio-group ").append(layout).append("\">\n");
+
+        for (FieldOption option : field.options()) {
+            String value = option.value();
+            String optionLabel = option.label();
+
+            html.append("    <div class=\"radio-item\">\n")
+                    .append("      <input type=\"radio\" name=\"").append(fieldName).append("\" ")
+                    .append("id=\"").append(fieldName).append("_").append(value).append("\" ")
+                    .append("value=\"").append(value).append("\"")
+                    .slot(SlotKind.CHECKED, fieldName, value)
+                    .append(" />\n")
+                    .append("      <label for=\"").append(fieldName).append("_").append(value).append("\">")
+                    .append(optionLabel).append("</label>\n")
+                    .append("    </div>\n");
+        }
+
+        html.append("  </div>\n");
+    }
+
+    private static void generateCheckboxGroup(FieldModel field, FormTemplate.Builder html) {
+        String fieldName = field.name();
+        String layout = field.layout();
+        int columns = field.columns();
+
+        html.append("  <div class=\"checkbox-group ").append(layout);
+        if ("grid".equals(layout)) {
+            html.append(" columns-").append(columns);
+        }
+        html.append("\">\n");
+
+        for (FieldOption option : field.options()) {
+            String value = option.value();
+            String optionLabel = option.label();
+
+            html.append("    <div class=\"checkbox-item\">\n")
+                    .append("      <input type=\"checkbox\" name=\"").append(fieldName).append("\" ")
+                    .append("id=\"").append(fieldName).append("_").append(value).append("\" ")
+                    .append("value=\"").append(value).append("\"")
+                    .slot(SlotKind.CHECKED, fieldName, value)
+                    .append(" />\n")
+                    .append("      <label for=\"").append(fieldName).append("_").append(value).append("\">")
+                    .append(optionLabel).append("</label>\n")
+                    .append("    </div>\n");
+        }
+
+        html.append("  </div>\n");
+    }
+
+    private static void generateSingleCheckbox(FieldModel field, FormTemplate.Builder html) {
+        String fieldName = field.name();
+        String label = field.label();
+
+        html.append("  <div class=\"checkbox-single\">\n")
+                .append("    <input type=\"checkbox\" name=\"").append(fieldName).append("\" ")
+                .append("id=\"").append(fieldName).append("\" ")
+                .append("value=\"true\"")
+                .slot(SlotKind.CHECKED, fieldName, "true")
+                .append(" />\n")
+                .append("    <label for=\"").append(fieldName).append("\">").append(label).append("</label>\n")
+                .append("  </div>\n");
+    }
+
+    private static void generateTextarea(FieldModel field, boolean sticky, FormTemplate.Builder html) {
+        String fieldName = field.name();
+        String placeholder = field.placeholder();
+        int rows = field.rows();
+
+        html.append("  <textarea name=\"").append(fieldName).append("\" ")
+                .append("id=\"").append(fieldName).append("\" ")
+                .append("class=\"form-textarea\" ")
+                .append("rows=\"").append(rows).append("\"");
+
+        if (!placeholder.isEmpty()) {
+            html.append(" placeholder=\"").append(placeholder).append("\"");
+        }
+
+        html.append(">");
+        if (sticky) {
+            html.slot(SlotKind.TEXT, fieldName);
+        }
+        html.append("</textarea>\n");
+    }
+}
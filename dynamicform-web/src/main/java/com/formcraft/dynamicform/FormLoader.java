@@ -0,0 +1,51 @@
+package com.formcraft.dynamicform;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+// Reads a form's "<id>Schema.json" and "<id>UIConfig.json". Files in the optional external
+// config directory take precedence over the classpath copies (src/main/resources).
+public class FormLoader {
+
+    private final ClassLoader classLoader;
+    private final Path configDir;
+
+    public FormLoader(ClassLoader classLoader) {
+        this(classLoader, null);
+    }
+
+    public FormLoader(ClassLoader classLoader, Path configDir) {
+        this.classLoader = classLoader;
+        this.configDir = configDir;
+    }
+
+    public Path configDir() {
+        return configDir;
+    }
+
+    public FormModel load(String formId) throws IOException, UnknownFormException {
+        byte[] schemaBytes = read(formId + "Schema.json");
+        byte[] uiConfigBytes = read(formId + "UIConfig.json");
+        if (schemaBytes == null || uiConfigBytes == null) {
+            throw new UnknownFormException(formId);
+        }
+        return FormModel.parse(formId, schemaBytes, uiConfigBytes);
+    }
+
+    // null when the resource does not exist
+    protected byte[] read(String resourceName) throws IOException {
+        if (configDir != null) {
+            try {
+                return Files.readAllBytes(configDir.resolve(resourceName));
+            } catch (NoSuchFileException e) {
+                // not overridden externally, fall back to the classpath
+            }
+        }
+        try (InputStream in = classLoader.getResourceAsStream(resourceName)) {
+            return in != null ? in.readAllBytes() : null;
+        }
+    }
+}
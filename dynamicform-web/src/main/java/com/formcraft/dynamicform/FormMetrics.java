@@ -0,0 +1,97 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.validation.CompiledField;
+import com.formcraft.dynamicform.validation.ValidationObserver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Timings and counters for one form id. Doubles as the validation observer, so failures and
+// sampled field and rule timings go straight into the counters without a per-request object.
+public final class FormMetrics implements ValidationObserver {
+
+    static final class FieldStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final ConcurrentHashMap<String, LongAdder> failuresByRule = new ConcurrentHashMap<>();
+    }
+
+    private final Metrics metrics;
+    private final LatencyHistogram render = new LatencyHistogram();
+    private final LongAdder notModified = new LongAdder();
+    private final LatencyHistogram validation = new LatencyHistogram();
+    private final ConcurrentHashMap<String, FieldStats> fields = new ConcurrentHashMap<>();
+    private final LongAdder[] outcomes = new LongAdder[SubmitOutcome.values().length];
+
+    FormMetrics(Metrics metrics) {
+        this.metrics = metrics;
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+    }
+
+    public void recordRender(long nanos, boolean wasNotModified) {
+        render.record(nanos);
+        if (wasNotModified) notModified.increment();
+    }
+
+    public void recordValidation(long nanos) {
+        validation.record(nanos);
+    }
+
+    public void recordOutcome(SubmitOutcome outcome) {
+        outcomes[outcome.ordinal()].increment();
+    }
+
+    @Override
+    public boolean sampleTimings() {
+        int sampleEvery = metrics.sampleEvery();
+        return sampleEvery <= 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+    }
+
+    @Override
+    public void fieldFailed(CompiledField field, String rule) {
+        ConcurrentHashMap<String, LongAdder> failures = stats(field).failuresByRule;
+        LongAdder count = failures.get(rule);
+        if (count == null) {
+            count = failures.computeIfAbsent(rule, r -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    @Override
+    public void fieldTimed(CompiledField field, long nanos) {
+        stats(field).latency.record(nanos);
+    }
+
+    @Override
+    public void ruleTimed(String rule, long nanos) {
+        metrics.rule(rule).record(nanos);
+    }
+
+    private FieldStats stats(CompiledField field) {
+        FieldStats stats = fields.get(field.name());
+        return stats != null ? stats : fields.computeIfAbsent(field.name(), name -> new FieldStats());
+    }
+
+    LatencyHistogram render() {
+        return render;
+    }
+
+    long notModified() {
+        return notModified.sum();
+    }
+
+    LatencyHistogram validation() {
+        return validation;
+    }
+
+    Map<String, FieldStats> fields() {
+        return fields;
+    }
+
+    long outcome(SubmitOutcome outcome) {
+        return outcomes[outcome.ordinal()].sum();
+    }
+}
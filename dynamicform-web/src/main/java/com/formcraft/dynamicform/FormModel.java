@@ -0,0 +1,235 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.validation.CompiledSchema;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Immutable, typed view of one form, built once from its schema and UI config and shared by
+// every servlet through the FormRegistry. The JSON trees are dropped after parsing; rendering
+// works from the field list and validation from the compiled schema.
+// The field template, rendered fragment, page and client rules are derived lazily and memoised; racing
+// first requests may both render, which is harmless because the output is identical.
+public final class FormModel {
+
+    // rough heap cost of the model, compiled rules and rendered page per byte of config
+    private static final int WEIGHT_PER_CONFIG_BYTE = 8;
+    // form.jsp placeholder that receives the field markup
+    private static final String FIELDS_SLOT = "formFields";
+
+    private final String id;
+    private final String contentHash;
+    private final String formTitle;
+    private final String submitLabel;
+    private final List<FieldModel> fields;
+    private final CompiledSchema schema;
+    private final long weight;
+
+    private volatile FormTemplate template;
+    private volatile RenderedFragment fragment;
+    private volatile FormPage page;
+    private volatile FormRules rules;
+    private volatile Map<String, byte[]> pageSlots;
+
+    private FormModel(String id, String contentHash, String formTitle, String submitLabel,
+                      List<FieldModel> fields, CompiledSchema schema, long weight) {
+        this.id = id;
+        this.contentHash = contentHash;
+        this.formTitle = formTitle;
+        this.submitLabel = submitLabel;
+        this.fields = List.copyOf(fields);
+        this.schema = schema;
+        this.weight = weight;
+    }
+
+    public static FormModel parse(String id, byte[] schemaBytes, byte[] uiConfigBytes) {
+        JSONObject schemaJson = new JSONObject(new String(schemaBytes, StandardCharsets.UTF_8));
+        JSONObject uiConfigJson = new JSONObject(new String(uiConfigBytes, StandardCharsets.UTF_8));
+        CompiledSchema schema = CompiledSchema.compile(schemaJson);
+
+        return new FormModel(
+                id,
+                ContentHash.of(schemaBytes, uiConfigBytes),
+                uiConfigJson.optString("formTitle", "Dynamic Form"),
+                uiConfigJson.optString("submitButtonLabel", "Submit"),
+                parseFields(schema, uiConfigJson),
+                schema,
+                (long) (schemaBytes.length + uiConfigBytes.length) * WEIGHT_PER_CONFIG_BYTE);
+    }
+
+    // Fields that appear in both files, in UI "order". Nested properties are configured by their
+    // dotted name ("address.city") and "$ref" is already resolved in the compiled schema.
+    private static List<FieldModel> parseFields(CompiledSchema schema, JSONObject uiConfigJson) {
+        JSONObject fieldsConfig = uiConfigJson.getJSONObject("fields");
+        List<FieldModel> fields = new ArrayList<>();
+
+        for (Iterator<String> it = fieldsConfig.keys(); it.hasNext();) {
+            String fieldName = it.next();
+            int index = schema.indexOf(fieldName);
+            if (index < 0) continue;
+            JSONObject fieldSchema = schema.propertySchema(fieldName);
+
+            fields.add(parseField(fieldName, fieldSchema, fieldsConfig.getJSONObject(fieldName),
+                    schema.field(index).isRequired()));
+        }
+
+        fields.sort(Comparator.comparingInt(FieldModel::order));
+        return fields;
+    }
+
+    private static FieldModel parseField(String fieldName, JSONObject fieldSchema, JSONObject fieldUI, boolean isRequired) {
+        return new FieldModel(
+                fieldName,
+                fieldUI.optInt("order", Integer.MAX_VALUE),
+                isRequired,
+                fieldUI.optString("label", fieldName),
+                fieldUI.optString("controlType", "text").toLowerCase(),
+                fieldUI.optString("placeholder", ""),
+                fieldUI.optString("helpText", ""),
+                fieldUI.optString("width", "full"),
+                fieldUI.optString("icon", ""),
+                fieldUI.optString("layout", "vertical"),
+                fieldUI.optInt("columns", 1),
+                fieldUI.optInt("rows", 4),
+                fieldUI.optBoolean("showStrengthIndicator", false),
+                parseOptions(fieldUI.optJSONArray("options")),
+                fieldSchema.has("minLength") ? fieldSchema.getInt("minLength") : null,
+                fieldSchema.has("maxLength") ? fieldSchema.getInt("maxLength") : null,
+                fieldSchema.has("minimum") ? fieldSchema.getBigDecimal("minimum") : null,
+                fieldSchema.has("maximum") ? fieldSchema.getBigDecimal("maximum") : null,
+                fieldSchema.has("pattern") ? fieldSchema.getString("pattern") : null);
+    }
+
+    // Options are either plain strings or {"value", "label"} objects
+    private static List<FieldOption> parseOptions(JSONArray options) {
+        if (options == null) return List.of();
+        List<FieldOption> parsed = new ArrayList<>(options.length());
+        for (int i = 0; i < options.length(); i++) {
+            JSONObject option = options.optJSONObject(i);
+            if (option != null) {
+                parsed.add(new FieldOption(option.getString("value"), option.getString("label")));
+            } else {
+                String value = options.getString(i);
+                parsed.add(new FieldOption(value, value));
+            }
+        }
+        return parsed;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String contentHash() {
+        return contentHash;
+    }
+
+    public long weight() {
+        return weight;
+    }
+
+    public List<FieldModel> fields() {
+        return fields;
+    }
+
+    public CompiledSchema schema() {
+        return schema;
+    }
+
+    // Field markup with slots for per-request values and errors
+    public FormTemplate template() {
+        FormTemplate current = template;
+        if (current == null) {
+            current = FormGenerator.compile(this);
+            template = current;
+        }
+        return current;
+    }
+
+    public RenderedFragment fragment() {
+        RenderedFragment current = fragment;
+        if (current == null) {
+            current = new RenderedFragment(contentHash, template().renderEmpty());
+            fragment = current;
+        }
+        return current;
+    }
+
+    public FormPage page(FormPageTemplate template) {
+        FormPage current = page;
+        if (current == null) {
+            Map<String, byte[]> slots = new HashMap<>(pageSlots());
+            slots.put(FIELDS_SLOT, fragment().utf8());
+            current = template.render(contentHash, slots);
+            page = current;
+        }
+        return current;
+    }
+
+    // The page for one request, e.g. shown again with the submitted values and their errors
+    public void writePage(FormPageTemplate template, FormFill fill, OutputStream out) throws IOException {
+        template.write(pageSlots(), FIELDS_SLOT, fields -> template().render(fill, fields), out);
+    }
+
+    // The validation rules form.js runs before a submission is sent
+    public FormRules rules() {
+        FormRules current = rules;
+        if (current == null) {
+            current = new FormRules(schema.clientRules());
+            rules = current;
+        }
+        return current;
+    }
+
+    private Map<String, byte[]> pageSlots() {
+        Map<String, byte[]> current = pageSlots;
+        if (current == null) {
+            current = Map.of(
+                    "formTitle", formTitle().getBytes(StandardCharsets.UTF_8),
+                    "formAction", submitAction().getBytes(StandardCharsets.UTF_8),
+                    "formRules", rulesUrl().getBytes(StandardCharsets.UTF_8),
+                    "formUniqueCheck", uniqueCheckUrl().getBytes(StandardCharsets.UTF_8),
+                    "submitLabel", submitLabel().getBytes(StandardCharsets.UTF_8));
+            pageSlots = current;
+        }
+        return current;
+    }
+
+    public String formTitle() {
+        return Html.escape(formTitle);
+    }
+
+    public String submitLabel() {
+        return Html.escape(submitLabel);
+    }
+
+    // HTML-escaped, ready for an attribute value
+    public String submitAction() {
+        return Html.escape("submitForm?id=" + URLEncoder.encode(id, StandardCharsets.UTF_8));
+    }
+
+    // Versioned by the table's hash, so browsers keep it until the rules change
+    public String rulesUrl() {
+        return Html.escape("formRules?id=" + URLEncoder.encode(id, StandardCharsets.UTF_8)
+                + "&v=" + rules().contentHash());
+    }
+
+    // Probe for "unique": true fields; form.js appends &field= and &value=
+    public String uniqueCheckUrl() {
+        return Html.escape("checkUnique?id=" + URLEncoder.encode(id, StandardCharsets.UTF_8));
+    }
+
+    public String formLink() {
+        return formLink(id);
+    }
+
+    // Escaped for use in an href
+    static String formLink(String id) {
+        return Html.escape("dynamicForm?id=" + URLEncoder.encode(id, StandardCharsets.UTF_8));
+    }
+}
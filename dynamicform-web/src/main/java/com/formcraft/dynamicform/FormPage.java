@@ -0,0 +1,33 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+// A fully rendered form page: immutable UTF-8 segments plus a gzip variant computed up front.
+// Serving it is a handful of header writes and raw byte copies.
+public final class FormPage {
+
+    private final String contentHash;
+    private final PrecompressedBody body;
+
+    FormPage(String contentHash, List<byte[]> segments) {
+        this.contentHash = contentHash;
+        this.body = new PrecompressedBody("text/html;charset=UTF-8", contentHash, segments);
+    }
+
+    public String contentHash() {
+        return contentHash;
+    }
+
+    public int contentLength() {
+        return body.length();
+    }
+
+    // Returns false when the client's copy was current and only a 304 went out
+    public boolean write(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        return body.write(request, response, "no-cache");
+    }
+}
@@ -0,0 +1,140 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.ServletContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// form.jsp split into pre-encoded static segments around its ${...} placeholders, so the page
+// can be streamed without going through the JSP engine. The JSP stays the single source of markup.
+public final class FormPageTemplate {
+
+    public static final String JSP_PATH = "/form.jsp";
+
+    private final byte[][] statics;
+    private final String[] slots;
+    // of the markup, so that cached pages change when the template or the assets it links do
+    private final String contentHash;
+
+    private FormPageTemplate(byte[][] statics, String[] slots) {
+        this.statics = statics;
+        this.slots = slots;
+        byte[][] parts = new byte[statics.length + slots.length][];
+        for (int i = 0; i < slots.length; i++) {
+            parts[2 * i] = statics[i];
+            parts[2 * i + 1] = slots[i].getBytes(StandardCharsets.UTF_8);
+        }
+        parts[parts.length - 1] = statics[statics.length - 1];
+        this.contentHash = ContentHash.of(parts);
+    }
+
+    public static FormPageTemplate parse(String jspSource) {
+        String source = stripDirectives(jspSource);
+        List<byte[]> statics = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+
+        int pos = 0;
+        while (true) {
+            int start = source.indexOf("${", pos);
+            int end = start >= 0 ? source.indexOf('}', start) : -1;
+            if (start < 0 || end < 0) break;
+            statics.add(source.substring(pos, start).getBytes(StandardCharsets.UTF_8));
+            slots.add(source.substring(start + 2, end).trim());
+            pos = end + 1;
+        }
+        statics.add(source.substring(pos).getBytes(StandardCharsets.UTF_8));
+
+        return new FormPageTemplate(statics.toArray(new byte[0][]), slots.toArray(new String[0]));
+    }
+
+    // form.jsp from the web application, read once at servlet init, with the versioned asset
+    // URLs written into the static segments
+    public static FormPageTemplate load(ServletContext context) throws IOException {
+        try (InputStream in = context.getResourceAsStream(JSP_PATH)) {
+            if (in == null) {
+                throw new IOException("Web resource not found: " + JSP_PATH);
+            }
+            return parse(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .fill(StaticAssets.from(context).pageSlots());
+        }
+    }
+
+    // The same template with the given slots replaced by their values for good
+    public FormPageTemplate fill(Map<String, String> values) {
+        List<byte[]> filledStatics = new ArrayList<>();
+        List<String> remainingSlots = new ArrayList<>();
+        ByteArrayOutputStream segment = new ByteArrayOutputStream();
+        for (int i = 0; i < slots.length; i++) {
+            segment.writeBytes(statics[i]);
+            String value = values.get(slots[i]);
+            if (value != null) {
+                segment.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            } else {
+                filledStatics.add(segment.toByteArray());
+                segment.reset();
+                remainingSlots.add(slots[i]);
+            }
+        }
+        segment.writeBytes(statics[statics.length - 1]);
+        filledStatics.add(segment.toByteArray());
+        return new FormPageTemplate(filledStatics.toArray(new byte[0][]), remainingSlots.toArray(new String[0]));
+    }
+
+    // Writes one rendering of the page for a single request, with the dynamic slot produced by
+    // content; other slots come from slotValues as in render.
+    public void write(Map<String, byte[]> slotValues, String dynamicSlot, SlotContent content, OutputStream out)
+            throws IOException {
+        for (int i = 0; i < slots.length; i++) {
+            out.write(statics[i]);
+            if (slots[i].equals(dynamicSlot)) {
+                content.write(out);
+            } else {
+                byte[] value = slotValues.get(slots[i]);
+                if (value != null) out.write(value);
+            }
+        }
+        out.write(statics[statics.length - 1]);
+    }
+
+    public interface SlotContent {
+        void write(OutputStream out) throws IOException;
+    }
+
+    // Values are inserted as given; missing ones render empty, as EL does for a missing attribute.
+    // The page is versioned by the form's hash together with the template's.
+    public FormPage render(String formHash, Map<String, byte[]> slotValues) {
+        List<byte[]> segments = new ArrayList<>(statics.length + slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            segments.add(statics[i]);
+            byte[] value = slotValues.get(slots[i]);
+            if (value != null && value.length > 0) segments.add(value);
+        }
+        segments.add(statics[statics.length - 1]);
+        return new FormPage(ContentHash.of(formHash.getBytes(StandardCharsets.UTF_8),
+                contentHash.getBytes(StandardCharsets.UTF_8)), segments);
+    }
+
+    private static String stripDirectives(String source) {
+        StringBuilder sb = new StringBuilder(source.length());
+        int pos = 0;
+        while (true) {
+            int start = source.indexOf("<%@", pos);
+            if (start < 0) break;
+            int end = source.indexOf("%>", start);
+            if (end < 0) break;
+            sb.append(source, pos, start);
+            pos = end + 2;
+            // drop the line break the directive leaves behind
+            if (pos < source.length() && source.charAt(pos) == '\r') pos++;
+            if (pos < source.length() && source.charAt(pos) == '\n') pos++;
+        }
+        sb.append(source, pos, source.length());
+        return sb.toString();
+    }
+}
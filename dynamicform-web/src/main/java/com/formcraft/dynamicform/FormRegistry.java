@@ -0,0 +1,171 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.ServletContext;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// Form models keyed by id, shared by every servlet through the ServletContext.
+// Models load on first use into a weight-bounded LRU cache; concurrent first requests
+// for the same id wait on a single load instead of each parsing the files.
+// Each id has a version that reload and invalidate move on. A model is only cached if the
+// version has not moved since its files were read, so a slow load cannot overwrite what a
+// later reload put in, or bring back a form that was invalidated meanwhile.
+public final class FormRegistry {
+
+    public static final String ATTRIBUTE = FormRegistry.class.getName();
+    public static final String DEFAULT_FORM_ID = "user";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final FormLoader loader;
+    private final WeightedLruCache<String, FormModel> cache;
+    private final ReloadMetrics reloadMetrics = new ReloadMetrics();
+    private final ConcurrentHashMap<String, CompletableFuture<FormModel>> loading = new ConcurrentHashMap<>();
+    // absent until the id is first reloaded or invalidated, which counts as version 0
+    private final ConcurrentHashMap<String, Long> versions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FormRegistry(FormLoader loader, long maxWeight) {
+        this.loader = loader;
+        this.cache = new WeightedLruCache<>(maxWeight);
+    }
+
+    public static FormRegistry from(ServletContext context) {
+        FormRegistry registry = (FormRegistry) context.getAttribute(ATTRIBUTE);
+        if (registry == null) {
+            throw new IllegalStateException("FormRegistry has not been initialised");
+        }
+        return registry;
+    }
+
+    // A missing or empty id means the default form
+    public FormModel get(String formId) throws IOException, UnknownFormException {
+        String id = (formId == null || formId.isEmpty()) ? DEFAULT_FORM_ID : formId;
+        FormModel form = cache.get(id);
+        if (form != null) {
+            hits.increment();
+            return form;
+        }
+        misses.increment();
+
+        // ids become file names, so anything outside the safe alphabet is rejected up front
+        if (!VALID_ID.matcher(id).matches()) {
+            throw new UnknownFormException(id);
+        }
+        return load(id);
+    }
+
+    private FormModel load(String id) throws IOException, UnknownFormException {
+        CompletableFuture<FormModel> future = new CompletableFuture<>();
+        CompletableFuture<FormModel> inFlight = loading.putIfAbsent(id, future);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            FormModel form;
+            // files changed while they were being read: read them again
+            do {
+                long version = version(id);
+                form = loader.load(id);
+                if (putIfCurrent(id, form, version)) break;
+            } while (true);
+            future.complete(form);
+            return form;
+        } catch (IOException | UnknownFormException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(id, future);
+        }
+    }
+
+    private static FormModel await(CompletableFuture<FormModel> future)
+            throws IOException, UnknownFormException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof UnknownFormException unknown) throw unknown;
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw e;
+        }
+    }
+
+    private long version(String id) {
+        return versions.getOrDefault(id, 0L);
+    }
+
+    private long nextVersion(String id) {
+        return versions.merge(id, 1L, Long::sum);
+    }
+
+    // The version check and the put happen under the map's lock for the id, so no reload or
+    // invalidate can slip in between them
+    private boolean putIfCurrent(String id, FormModel form, long version) {
+        boolean[] put = new boolean[1];
+        versions.compute(id, (key, current) -> {
+            if ((current != null ? current : 0L) == version) {
+                cache.put(id, form, form.weight());
+                put[0] = true;
+            }
+            return current;
+        });
+        return put[0];
+    }
+
+    public void invalidate(String formId) {
+        nextVersion(formId);
+        cache.remove(formId);
+    }
+
+    // Re-reads a cached form and swaps the new model in. The model (with its compiled schema) and
+    // the field markup are built before the swap, so requests never wait on a reload; ones already
+    // running keep the model they started with. Forms that are not cached are left to load lazily;
+    // a lazy load already under way sees the new version and reads the files again. Of two
+    // overlapping reloads the later one wins.
+    public boolean reload(String formId) throws IOException, UnknownFormException {
+        long version = nextVersion(formId);
+        if (!cache.containsKey(formId)) return false;
+
+        FormModel form = loader.load(formId);
+        form.fragment();
+        putIfCurrent(formId, form, version);
+        return true;
+    }
+
+    public ReloadMetrics reloadMetrics() {
+        return reloadMetrics;
+    }
+
+    public Iterable<String> cachedIds() {
+        return cache.keys();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long weight() {
+        return cache.weight();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return cache.evictions();
+    }
+}
@@ -0,0 +1,66 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Creates the shared FormRegistry before any servlet starts.
+// Context parameters:
+//   formRegistry.maxWeight - cache budget in bytes
+//   formConfigDir          - optional directory whose config files override the classpath ones
+//                            and are hot reloaded when they change
+@WebListener
+public class FormRegistryListener implements ServletContextListener {
+
+    private static final long DEFAULT_MAX_WEIGHT = 64L * 1024 * 1024;
+
+    private FormConfigWatcher watcher;
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        ServletContext context = event.getServletContext();
+        String maxWeight = context.getInitParameter("formRegistry.maxWeight");
+        String configDirParam = context.getInitParameter("formConfigDir");
+
+        Path configDir = null;
+        if (configDirParam != null && !configDirParam.isBlank()) {
+            configDir = Paths.get(configDirParam.trim());
+            if (!Files.isDirectory(configDir)) {
+                throw new IllegalStateException("formConfigDir is not a directory: " + configDir);
+            }
+        }
+
+        FormRegistry registry = new FormRegistry(
+                new FormLoader(getClass().getClassLoader(), configDir),
+                maxWeight != null ? Long.parseLong(maxWeight.trim()) : DEFAULT_MAX_WEIGHT);
+        context.setAttribute(FormRegistry.ATTRIBUTE, registry);
+
+        if (configDir != null) {
+            try {
+                watcher = new FormConfigWatcher(configDir, registry, registry.reloadMetrics());
+                watcher.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot watch " + configDir, e);
+            }
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                event.getServletContext().log("Error stopping config watcher", e);
+            }
+        }
+        event.getServletContext().removeAttribute(FormRegistry.ATTRIBUTE);
+    }
+}
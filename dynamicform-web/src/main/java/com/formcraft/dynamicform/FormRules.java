@@ -0,0 +1,34 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// A form's client rule table (CompiledSchema.clientRules) as served to form.js: UTF-8 bytes, a gzip
+// variant and a hash of the table itself, which versions its URL. The table only changes when the
+// rules do, so a versioned URL can be cached for good.
+public final class FormRules {
+
+    private final String contentHash;
+    private final PrecompressedBody body;
+
+    FormRules(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        this.contentHash = ContentHash.of(bytes);
+        this.body = new PrecompressedBody(JsonResponses.CONTENT_TYPE, contentHash, List.of(bytes));
+    }
+
+    public String contentHash() {
+        return contentHash;
+    }
+
+    // versioned is true when the request named the current hash, so the response may be kept for good;
+    // otherwise the client revalidates. Returns false when only a 304 went out.
+    public boolean write(HttpServletRequest request, HttpServletResponse response, boolean versioned)
+            throws IOException {
+        return body.write(request, response, versioned ? PrecompressedBody.IMMUTABLE : "no-cache");
+    }
+}
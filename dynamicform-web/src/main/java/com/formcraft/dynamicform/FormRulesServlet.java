@@ -0,0 +1,36 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+// Serves a form's validation rules to form.js: /formRules?id=<form>&v=<table hash>.
+// The form page links the current version, so only a stale or unversioned URL is revalidated.
+@WebServlet(name = "FormRulesServlet", urlPatterns = {"/formRules"})
+public class FormRulesServlet extends HttpServlet {
+
+    private FormRegistry registry;
+
+    @Override
+    public void init() throws ServletException {
+        registry = FormRegistry.from(getServletContext());
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FormModel form;
+        try {
+            form = registry.get(request.getParameter("id"));
+        } catch (UnknownFormException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
+        }
+
+        FormRules rules = form.rules();
+        rules.write(request, response, rules.contentHash().equals(request.getParameter("v")));
+    }
+}
@@ -0,0 +1,194 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.validation.FormValues;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// The field markup of one form compiled into pre-encoded static segments with dynamic slots
+// between them: sticky values, checked/selected state and per-field errors.
+// Rendering copies the segments and fills the slots from a FormFill; with an empty fill the
+// output is exactly the cacheable fragment. Immutable and shared between request threads.
+public final class FormTemplate {
+
+    enum SlotKind {
+        // errors of fields the form does not show (cross-field rules, unknown fields)
+        FORM_ERRORS,
+        // ` value="..."` on an input, omitted when nothing was submitted
+        VALUE,
+        // escaped text content, for a textarea
+        TEXT,
+        // ` checked` on a radio button or checkbox whose option was submitted
+        CHECKED,
+        // ` selected` on the submitted option of a select
+        SELECTED,
+        // ` show` on an error div that has a message
+        ERROR_CLASS,
+        // the escaped error message itself
+        ERROR
+    }
+
+    // field is the schema slot index, option the value a CHECKED/SELECTED slot compares against
+    record Slot(SlotKind kind, int field, String name, String option) {
+    }
+
+    private static final byte[] CHECKED = " checked".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SELECTED = " selected".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SHOW = " show".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] VALUE_OPEN = " value=\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] QUOTE = "\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FORM_ERROR_OPEN =
+            "  <div class=\"error-message show form-error\">".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FORM_ERROR_CLOSE = "</div>\n".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[][] statics;
+    private final Slot[] slots;
+    // names of the fields that have their own error div
+    private final Set<String> shownFields;
+    private final int staticLength;
+
+    private FormTemplate(byte[][] statics, Slot[] slots, Set<String> shownFields) {
+        this.statics = statics;
+        this.slots = slots;
+        this.shownFields = shownFields;
+        int length = 0;
+        for (byte[] segment : statics) length += segment.length;
+        this.staticLength = length;
+    }
+
+    // Bytes of the static segments alone, a lower bound for any rendering
+    public int staticLength() {
+        return staticLength;
+    }
+
+    public void render(FormFill fill, OutputStream out) throws IOException {
+        for (int i = 0; i < slots.length; i++) {
+            out.write(statics[i]);
+            if (fill != null) writeSlot(slots[i], fill, out);
+        }
+        out.write(statics[statics.length - 1]);
+    }
+
+    // The markup with every slot empty, as served to a first-time visitor
+    public String renderEmpty() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(staticLength);
+        try {
+            render(null, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void writeSlot(Slot slot, FormFill fill, OutputStream out) throws IOException {
+        switch (slot.kind()) {
+            case FORM_ERRORS:
+                for (Map.Entry<String, String> error : fill.errors().entrySet()) {
+                    if (shownFields.contains(error.getKey())) continue;
+                    out.write(FORM_ERROR_OPEN);
+                    writeEscaped(error.getValue(), out);
+                    out.write(FORM_ERROR_CLOSE);
+                }
+                break;
+            case VALUE: {
+                String value = first(fill.values(), slot.field());
+                if (value != null && !value.isEmpty()) {
+                    out.write(VALUE_OPEN);
+                    writeEscaped(value, out);
+                    out.write(QUOTE);
+                }
+                break;
+            }
+            case TEXT: {
+                String value = first(fill.values(), slot.field());
+                if (value != null) writeEscaped(value, out);
+                break;
+            }
+            case CHECKED:
+                if (contains(fill.values(), slot.field(), slot.option())) out.write(CHECKED);
+                break;
+            case SELECTED:
+                if (contains(fill.values(), slot.field(), slot.option())) out.write(SELECTED);
+                break;
+            case ERROR_CLASS:
+                if (fill.errors().containsKey(slot.name())) out.write(SHOW);
+                break;
+            case ERROR: {
+                String error = fill.errors().get(slot.name());
+                if (error != null) writeEscaped(error, out);
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private static String first(FormValues values, int field) {
+        return values != null && field >= 0 ? values.first(field) : null;
+    }
+
+    private static boolean contains(FormValues values, int field, String option) {
+        String[] submitted = values != null && field >= 0 ? values.get(field) : null;
+        if (submitted == null) return false;
+        for (String value : submitted) {
+            if (option.equals(value)) return true;
+        }
+        return false;
+    }
+
+    private static void writeEscaped(String text, OutputStream out) throws IOException {
+        out.write(Html.escape(text).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Collects markup into the current static segment until a slot cuts it off
+    static final class Builder {
+        private final StringBuilder text = new StringBuilder(4096);
+        private final List<byte[]> statics = new ArrayList<>();
+        private final List<Slot> slots = new ArrayList<>();
+        private final Map<String, Integer> fieldIndices;
+
+        // fieldIndices maps field names to schema slot indices
+        Builder(Map<String, Integer> fieldIndices) {
+            this.fieldIndices = fieldIndices;
+        }
+
+        Builder append(String markup) {
+            text.append(markup);
+            return this;
+        }
+
+        Builder append(int number) {
+            text.append(number);
+            return this;
+        }
+
+        Builder slot(SlotKind kind, String fieldName) {
+            return slot(kind, fieldName, null);
+        }
+
+        Builder slot(SlotKind kind, String fieldName, String option) {
+            statics.add(text.toString().getBytes(StandardCharsets.UTF_8));
+            text.setLength(0);
+            slots.add(new Slot(kind, fieldName != null ? fieldIndices.getOrDefault(fieldName, -1) : -1,
+                    fieldName, option));
+            return this;
+        }
+
+        FormTemplate build() {
+            statics.add(text.toString().getBytes(StandardCharsets.UTF_8));
+            Set<String> shownFields = new HashSet<>();
+            for (Slot slot : slots) {
+                if (slot.kind() == SlotKind.ERROR) shownFields.add(slot.name());
+            }
+            return new FormTemplate(statics.toArray(new byte[0][]), slots.toArray(new Slot[0]), Set.copyOf(shownFields));
+        }
+    }
+}
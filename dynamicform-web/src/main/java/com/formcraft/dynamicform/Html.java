@@ -0,0 +1,43 @@
+package com.formcraft.dynamicform;
+
+// HTML escaping for text and attribute values.
+public final class Html {
+
+    private Html() {
+    }
+
+    public static String escape(String text) {
+        if (text == null) return "";
+        int i = 0;
+        int len = text.length();
+        while (i < len && !needsEscape(text.charAt(i))) i++;
+        if (i == len) return text;
+
+        StringBuilder sb = new StringBuilder(len + 16);
+        sb.append(text, 0, i);
+        escape(text, i, sb);
+        return sb.toString();
+    }
+
+    public static void escape(String text, StringBuilder sb) {
+        if (text != null) escape(text, 0, sb);
+    }
+
+    private static void escape(String text, int from, StringBuilder sb) {
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&': sb.append("&amp;"); break;
+                case '<': sb.append("&lt;"); break;
+                case '>': sb.append("&gt;"); break;
+                case '"': sb.append("&quot;"); break;
+                case '\'': sb.append("&#39;"); break;
+                default: sb.append(c);
+            }
+        }
+    }
+
+    private static boolean needsEscape(char c) {
+        return c == '&' || c == '<' || c == '>' || c == '"' || c == '\'';
+    }
+}
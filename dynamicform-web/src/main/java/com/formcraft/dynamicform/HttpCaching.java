@@ -0,0 +1,122 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Conditional-request and content-coding helpers shared by the servlets that serve pre-rendered bytes.
+public final class HttpCaching {
+
+    private HttpCaching() {
+    }
+
+    public static String strongETag(String contentHash) {
+        return "\"" + contentHash + "\"";
+    }
+
+    // If-None-Match uses weak comparison (RFC 9110 13.1.2), so a W/ prefix still matches.
+    public static boolean notModified(HttpServletRequest request, String etag) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch == null) return false;
+        if (ifNoneMatch.trim().equals("*")) return true;
+
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            if (stripWeak(candidate.trim()).equals(opaque)) return true;
+        }
+        return false;
+    }
+
+    // The single byte range a request asks for as {first, last}, an empty array when it cannot be
+    // satisfied, or null for the whole body: no Range header, several ranges, a malformed header,
+    // or an If-Range that does not name the current representation. Only entity tags are compared
+    // in If-Range; nothing here has a Last-Modified date, so a date sends the whole body.
+    public static long[] byteRange(HttpServletRequest request, String etag, long length) {
+        String range = request.getHeader("Range");
+        if (range == null || !range.regionMatches(true, 0, "bytes=", 0, 6)) return null;
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange != null && !ifRange.trim().equals(etag)) return null;
+
+        String spec = range.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) return null;
+        if (dash == 0) {
+            long suffix = position(spec.substring(1));
+            if (suffix < 0) return null;
+            if (suffix == 0 || length == 0) return new long[0];
+            return new long[]{Math.max(0, length - suffix), length - 1};
+        }
+        long first = position(spec.substring(0, dash));
+        long last = dash == spec.length() - 1 ? Long.MAX_VALUE : position(spec.substring(dash + 1));
+        if (first < 0 || last < first) return null;
+        if (first >= length) return new long[0];
+        return new long[]{first, Math.min(last, length - 1)};
+    }
+
+    // A byte position is plain digits (no sign, unlike Long.parseLong); -1 for anything else
+    private static long position(String digits) {
+        if (digits.isEmpty() || digits.length() > 18) return -1;
+        long value = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            char c = digits.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public static boolean acceptsGzip(HttpServletRequest request) {
+        return accepts(request.getHeader("Accept-Encoding"), "gzip");
+    }
+
+    // True when the coding is listed without q=0
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) return false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase(coding)) continue;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") && isZero(param.substring(2))) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isZero(String q) {
+        try {
+            return Double.parseDouble(q) == 0.0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // The gzip variant of a pre-rendered body, computed once when the body is built, so at the
+    // highest compression level
+    public static byte[] gzip(byte[]... segments) {
+        int length = 0;
+        for (byte[] segment : segments) length += segment.length;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, length / 4));
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            for (byte[] segment : segments) {
+                gzipOut.write(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,92 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.validation.ValidationResult;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Compact JSON answers for the AJAX submit path:
+//   {"valid":true}
+//   {"valid":false,"errors":{"field":"message",...}}
+//   {"valid":false,"error":"message"}
+final class JsonResponses {
+
+    static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    private static final byte[] VALID = "{\"valid\":true}".getBytes(StandardCharsets.UTF_8);
+    private static final String ERRORS_PREFIX = "{\"valid\":false,\"errors\":";
+    private static final String ERROR_PREFIX = "{\"valid\":false,\"error\":";
+
+    private JsonResponses() {
+    }
+
+    static void sendValid(HttpServletResponse response) throws IOException {
+        send(response, HttpServletResponse.SC_OK, VALID);
+    }
+
+    static void sendErrors(HttpServletResponse response, ValidationResult result) throws IOException {
+        sendErrors(response, HttpServletResponse.SC_BAD_REQUEST, result);
+    }
+
+    static void sendErrors(HttpServletResponse response, int status, ValidationResult result) throws IOException {
+        send(response, status, errorsBody(result));
+    }
+
+    static byte[] errorsBody(ValidationResult result) {
+        StringBuilder json = new StringBuilder(ERRORS_PREFIX.length() + 64 * result.errorCount());
+        json.append(ERRORS_PREFIX);
+        appendErrors(result, json);
+        json.append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // {"field":"message",...}
+    static void appendErrors(ValidationResult result, StringBuilder json) {
+        json.append('{');
+        for (int i = 0; i < result.errorCount(); i++) {
+            if (i > 0) json.append(',');
+            quote(result.field(i), json);
+            json.append(':');
+            quote(result.message(i), json);
+        }
+        json.append('}');
+    }
+
+    static void sendError(HttpServletResponse response, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder(ERROR_PREFIX.length() + message.length() + 4);
+        json.append(ERROR_PREFIX);
+        quote(message, json);
+        json.append('}');
+        send(response, status, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpServletResponse response, int status, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static void quote(String value, StringBuilder json) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20 || c == '<' || c == '>' || c == '&' || c == 0x2028 || c == 0x2029) {
+                        // also escape HTML-significant characters so the payload is safe to inline
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,157 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.validation.PatternCache;
+import jakarta.servlet.ServletContext;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hot-path instrumentation shared through the ServletContext. Recording is LongAdder and
+// histogram increments only, and per-field/per-rule timing is sampled. The servlets check
+// isEnabled() first, so switching it off at runtime leaves one volatile read per request.
+public final class Metrics {
+
+    public static final String ATTRIBUTE = Metrics.class.getName();
+
+    public static final int DEFAULT_SAMPLE_EVERY = 16;
+
+    private volatile boolean enabled;
+    private volatile int sampleEvery;
+    private final ConcurrentHashMap<String, FormMetrics> forms = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> rules = new ConcurrentHashMap<>();
+    // submissions SubmissionGuardFilter turned away before they reached a form
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    public Metrics(boolean enabled, int sampleEvery) {
+        this.enabled = enabled;
+        this.sampleEvery = sampleEvery;
+    }
+
+    public Metrics(boolean enabled) {
+        this(enabled, DEFAULT_SAMPLE_EVERY);
+    }
+
+    public static Metrics from(ServletContext context) {
+        Metrics metrics = (Metrics) context.getAttribute(ATTRIBUTE);
+        if (metrics == null) {
+            throw new IllegalStateException("Metrics have not been initialised");
+        }
+        return metrics;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // Per-field and per-rule timings cover one validation in this many; 1 times all of them
+    public int sampleEvery() {
+        return sampleEvery;
+    }
+
+    public void setSampleEvery(int sampleEvery) {
+        if (sampleEvery < 1) throw new IllegalArgumentException("sampleEvery must be positive");
+        this.sampleEvery = sampleEvery;
+    }
+
+    // Only ever called with ids the registry resolved, so the label set stays bounded
+    public FormMetrics form(String formId) {
+        FormMetrics form = forms.get(formId);
+        return form != null ? form : forms.computeIfAbsent(formId, id -> new FormMetrics(this));
+    }
+
+    public void recordRateLimited() {
+        rateLimited.increment();
+    }
+
+    public void recordDuplicate() {
+        duplicates.increment();
+    }
+
+    LatencyHistogram rule(String kind) {
+        LatencyHistogram histogram = rules.get(kind);
+        return histogram != null ? histogram : rules.computeIfAbsent(kind, k -> new LatencyHistogram());
+    }
+
+    public String export(FormRegistry registry) {
+        PrometheusWriter out = new PrometheusWriter();
+        Map<String, FormMetrics> sortedForms = new TreeMap<>(forms);
+
+        out.family("dynamicform_metrics_enabled", "gauge", "Whether hot-path instrumentation is recording")
+                .sample("dynamicform_metrics_enabled", "", enabled ? 1 : 0);
+        out.family("dynamicform_metrics_sample_every", "gauge", "One validation in this many has per-field and per-rule timings")
+                .sample("dynamicform_metrics_sample_every", "", sampleEvery);
+
+        out.family("dynamicform_render_seconds", "summary", "Time to serve a form page");
+        sortedForms.forEach((id, form) ->
+                out.summary("dynamicform_render_seconds", PrometheusWriter.labels("form", id), form.render()));
+
+        out.family("dynamicform_render_not_modified_total", "counter", "Form page requests answered with 304");
+        sortedForms.forEach((id, form) ->
+                out.sample("dynamicform_render_not_modified_total", PrometheusWriter.labels("form", id), form.notModified()));
+
+        out.family("dynamicform_validation_seconds", "summary", "Time to validate one submission");
+        sortedForms.forEach((id, form) ->
+                out.summary("dynamicform_validation_seconds", PrometheusWriter.labels("form", id), form.validation()));
+
+        out.family("dynamicform_field_validation_seconds", "summary", "Time to validate one field, all rules (sampled)");
+        sortedForms.forEach((id, form) -> new TreeMap<>(form.fields()).forEach((field, stats) ->
+                out.summary("dynamicform_field_validation_seconds",
+                        PrometheusWriter.labels("form", id, "field", field), stats.latency)));
+
+        out.family("dynamicform_rule_validation_seconds", "summary", "Time to evaluate one rule, by schema keyword (sampled)");
+        new TreeMap<>(rules).forEach((rule, histogram) ->
+                out.summary("dynamicform_rule_validation_seconds", PrometheusWriter.labels("rule", rule), histogram));
+
+        out.family("dynamicform_validation_failures_total", "counter", "Fields rejected, by the rule that failed");
+        sortedForms.forEach((id, form) -> new TreeMap<>(form.fields()).forEach((field, stats) ->
+                new TreeMap<>(stats.failuresByRule).forEach((rule, count) ->
+                        out.sample("dynamicform_validation_failures_total",
+                                PrometheusWriter.labels("form", id, "field", field, "rule", rule), count.sum()))));
+
+        out.family("dynamicform_submissions_total", "counter", "Submissions by outcome");
+        sortedForms.forEach((id, form) -> {
+            for (SubmitOutcome outcome : SubmitOutcome.values()) {
+                out.sample("dynamicform_submissions_total",
+                        PrometheusWriter.labels("form", id, "outcome", outcome.label), form.outcome(outcome));
+            }
+        });
+
+        out.family("dynamicform_submissions_rejected_total", "counter", "Submissions turned away before validation, by reason")
+                .sample("dynamicform_submissions_rejected_total", PrometheusWriter.labels("reason", "rate_limit"), rateLimited.sum())
+                .sample("dynamicform_submissions_rejected_total", PrometheusWriter.labels("reason", "duplicate"), duplicates.sum());
+
+        out.family("dynamicform_form_cache_requests_total", "counter", "Form registry lookups by result")
+                .sample("dynamicform_form_cache_requests_total", PrometheusWriter.labels("result", "hit"), registry.hits())
+                .sample("dynamicform_form_cache_requests_total", PrometheusWriter.labels("result", "miss"), registry.misses());
+        out.family("dynamicform_form_cache_evictions_total", "counter", "Forms evicted from the registry")
+                .sample("dynamicform_form_cache_evictions_total", "", registry.evictions());
+        out.family("dynamicform_form_cache_forms", "gauge", "Forms currently cached")
+                .sample("dynamicform_form_cache_forms", "", registry.size());
+        out.family("dynamicform_form_cache_weight_bytes", "gauge", "Estimated size of the cached forms")
+                .sample("dynamicform_form_cache_weight_bytes", "", registry.weight());
+
+        PatternCache patterns = PatternCache.shared();
+        out.family("dynamicform_pattern_cache_requests_total", "counter", "Schema pattern lookups by result")
+                .sample("dynamicform_pattern_cache_requests_total", PrometheusWriter.labels("result", "hit"), patterns.hits())
+                .sample("dynamicform_pattern_cache_requests_total", PrometheusWriter.labels("result", "miss"), patterns.misses());
+
+        ReloadMetrics reloads = registry.reloadMetrics();
+        out.family("dynamicform_config_reloads_total", "counter", "Form config hot reloads")
+                .sample("dynamicform_config_reloads_total", "", reloads.reloads());
+        out.family("dynamicform_config_reload_failures_total", "counter", "Form config hot reloads that failed")
+                .sample("dynamicform_config_reload_failures_total", "", reloads.failures());
+        out.family("dynamicform_config_reload_seconds_total", "counter", "Time spent reloading form configs")
+                .sample("dynamicform_config_reload_seconds_total", "", reloads.totalLatencyNanos() / 1e9);
+        out.family("dynamicform_config_reload_max_seconds", "gauge", "Slowest form config reload")
+                .sample("dynamicform_config_reload_max_seconds", "", reloads.maxLatencyNanos() / 1e9);
+
+        return out.toString();
+    }
+}
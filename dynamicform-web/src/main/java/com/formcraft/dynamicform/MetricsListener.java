@@ -0,0 +1,27 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+// Creates the shared Metrics before any servlet starts.
+// Context parameters:
+//   metrics.enabled     - record timings and counters from startup (default true)
+//   metrics.sampleEvery - time fields and rules in one validation out of this many (default 16)
+@WebListener
+public class MetricsListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        String enabled = event.getServletContext().getInitParameter("metrics.enabled");
+        String sampleEvery = event.getServletContext().getInitParameter("metrics.sampleEvery");
+        Metrics metrics = new Metrics(enabled == null || Boolean.parseBoolean(enabled.trim()),
+                sampleEvery != null ? Integer.parseInt(sampleEvery.trim()) : Metrics.DEFAULT_SAMPLE_EVERY);
+        event.getServletContext().setAttribute(Metrics.ATTRIBUTE, metrics);
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        event.getServletContext().removeAttribute(Metrics.ATTRIBUTE);
+    }
+}
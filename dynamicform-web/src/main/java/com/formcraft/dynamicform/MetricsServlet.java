@@ -0,0 +1,62 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.*;
+import jakarta.servlet.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// GET: Prometheus text exposition of the hot-path metrics.
+// POST enabled=true|false switches recording on or off without a restart,
+// and sampleEvery=N changes how often fields and rules are timed.
+// Both are limited to the "metrics" role by the security constraint in web.xml.
+@WebServlet(name = "MetricsServlet", urlPatterns = {"/metrics"})
+public class MetricsServlet extends HttpServlet {
+
+    private Metrics metrics;
+    private FormRegistry registry;
+
+    @Override
+    public void init() throws ServletException {
+        metrics = Metrics.from(getServletContext());
+        registry = FormRegistry.from(getServletContext());
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] body = metrics.export(registry).getBytes(StandardCharsets.UTF_8);
+        response.setContentType(PrometheusWriter.CONTENT_TYPE);
+        response.setHeader("Cache-Control", "no-store");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String enabled = request.getParameter("enabled");
+        String sampleEvery = request.getParameter("sampleEvery");
+        if (enabled != null && !"true".equals(enabled) && !"false".equals(enabled)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "enabled must be true or false");
+            return;
+        }
+        int every = 0;
+        if (sampleEvery != null) {
+            try {
+                every = Integer.parseInt(sampleEvery);
+            } catch (NumberFormatException e) {
+                every = 0;
+            }
+            if (every < 1) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "sampleEvery must be a positive integer");
+                return;
+            }
+        }
+
+        if (enabled != null) metrics.setEnabled(Boolean.parseBoolean(enabled));
+        if (every > 0) metrics.setSampleEvery(every);
+        log("Metrics recording " + (metrics.isEnabled() ? "enabled" : "disabled")
+                + ", timing one validation in " + metrics.sampleEvery());
+        response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+    }
+}
@@ -0,0 +1,104 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+// A fixed response body held as UTF-8 segments, with its gzip variant and a strong ETag for each
+// coding, all computed once. Form pages, rule tables and static assets are served through it, so
+// they share one set of rules: 304 for a current If-None-Match, gzip when the client accepts it and
+// it saves bytes, and a single byte range (206, or 416 when it cannot be satisfied).
+final class PrecompressedBody {
+
+    // for URLs that carry the content hash: a new version gets a new URL
+    static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private final String contentType;
+    private final byte[][] segments;
+    private final int length;
+    private final String etag;
+    // null when compressing does not make the body smaller
+    private final byte[] gzip;
+    private final String gzipETag;
+
+    PrecompressedBody(String contentType, String contentHash, List<byte[]> segments) {
+        this.contentType = contentType;
+        this.segments = segments.toArray(new byte[0][]);
+        int total = 0;
+        for (byte[] segment : this.segments) total += segment.length;
+        this.length = total;
+        this.etag = HttpCaching.strongETag(contentHash);
+        byte[] compressed = HttpCaching.gzip(this.segments);
+        this.gzip = compressed.length < total ? compressed : null;
+        // each representation needs its own strong validator
+        this.gzipETag = HttpCaching.strongETag(contentHash + "-gzip");
+    }
+
+    int length() {
+        return length;
+    }
+
+    // Returns false when the client's copy was current and only a 304 went out
+    boolean write(HttpServletRequest request, HttpServletResponse response, String cacheControl)
+            throws IOException {
+        boolean useGzip = gzip != null && HttpCaching.acceptsGzip(request);
+        byte[][] body = useGzip ? new byte[][]{gzip} : segments;
+        int bodyLength = useGzip ? gzip.length : length;
+        String currentETag = useGzip ? gzipETag : etag;
+
+        response.setHeader("ETag", currentETag);
+        response.setHeader("Vary", "Accept-Encoding");
+        response.setHeader("Cache-Control", cacheControl);
+        response.setHeader("Accept-Ranges", "bytes");
+
+        if (HttpCaching.notModified(request, currentETag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        // Range requests get the one range asked for, out of whichever coding is sent; several
+        // ranges get the whole body, as RFC 9110 allows
+        long[] range = HttpCaching.byteRange(request, currentETag, bodyLength);
+        if (range != null && range.length == 0) {
+            response.setHeader("Content-Range", "bytes */" + bodyLength);
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return true;
+        }
+
+        response.setContentType(contentType);
+        if (useGzip) response.setHeader("Content-Encoding", "gzip");
+        ServletOutputStream out = response.getOutputStream();
+        if (range == null) {
+            response.setContentLength(bodyLength);
+            for (byte[] segment : body) {
+                out.write(segment);
+            }
+        } else {
+            int from = (int) range[0];
+            int count = (int) (range[1] - range[0] + 1);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", "bytes " + range[0] + "-" + range[1] + "/" + bodyLength);
+            response.setContentLength(count);
+            writeSlice(body, from, count, out);
+        }
+        return true;
+    }
+
+    // Writes count bytes starting at offset from of the concatenated segments
+    private static void writeSlice(byte[][] segments, int from, int count, ServletOutputStream out)
+            throws IOException {
+        for (byte[] segment : segments) {
+            if (count == 0) return;
+            if (from >= segment.length) {
+                from -= segment.length;
+                continue;
+            }
+            int n = Math.min(count, segment.length - from);
+            out.write(segment, from, n);
+            count -= n;
+            from = 0;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.formcraft.dynamicform;
+
+// Builds the Prometheus text exposition format (version 0.0.4)
+final class PrometheusWriter {
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final StringBuilder out = new StringBuilder(16 * 1024);
+
+    PrometheusWriter family(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    PrometheusWriter sample(String name, String labels, long value) {
+        out.append(name).append(labels).append(' ').append(value).append('\n');
+        return this;
+    }
+
+    PrometheusWriter sample(String name, String labels, double value) {
+        out.append(name).append(labels).append(' ').append(value).append('\n');
+        return this;
+    }
+
+    // A histogram as a summary: quantiles, sum and count, all in seconds
+    PrometheusWriter summary(String name, String labels, LatencyHistogram histogram) {
+        for (double quantile : QUANTILES) {
+            out.append(name);
+            if (labels.isEmpty()) {
+                out.append("{quantile=\"").append(quantile).append("\"}");
+            } else {
+                out.append(labels, 0, labels.length() - 1).append(",quantile=\"").append(quantile).append("\"}");
+            }
+            out.append(' ').append(seconds(histogram.valueAtQuantile(quantile))).append('\n');
+        }
+        sample(name + "_sum", labels, seconds(histogram.sumNanos()));
+        sample(name + "_count", labels, histogram.count());
+        return this;
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+
+    // {name="value",...} from alternating names and values
+    static String labels(String... namesAndValues) {
+        StringBuilder labels = new StringBuilder().append('{');
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (i > 0) labels.append(',');
+            labels.append(namesAndValues[i]).append("=\"");
+            escape(namesAndValues[i + 1], labels);
+            labels.append('"');
+        }
+        return labels.append('}').toString();
+    }
+
+    private static void escape(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.formcraft.dynamicform;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// Per-client token bucket kept as a single timestamp (the generic cell rate algorithm): each stripe
+// holds the time at which its bucket will be full again, and a request is let through when that
+// time is less than a burst ahead of now. Admission is one compare-and-set, with no lock anywhere.
+// Clients hash onto a fixed table of stripes, so memory does not grow with the number of clients;
+// clients that land on the same stripe share its budget, which a large table keeps rare.
+final class RateLimiter {
+
+    private final AtomicLongArray stripes;
+    private final int mask;
+    // time one request uses up at the sustained rate
+    private final long interval;
+    // how far ahead of now the full time may run: the burst, less the request being admitted
+    private final long tolerance;
+    private final LongSupplier nanoClock;
+    // nanoTime has an arbitrary origin; stripes start at 0, which has to lie in the past
+    private final long origin;
+
+    RateLimiter(int requestsPerMinute, int burst, int stripeCount) {
+        this(requestsPerMinute, burst, stripeCount, System::nanoTime);
+    }
+
+    // nanoClock stands in for System.nanoTime in tests
+    RateLimiter(int requestsPerMinute, int burst, int stripeCount, LongSupplier nanoClock) {
+        if (requestsPerMinute < 1 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.interval = 60_000_000_000L / requestsPerMinute;
+        this.tolerance = interval * (burst - 1);
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    // Returns 0 when the request may go ahead, otherwise the nanoseconds until it would
+    long acquire(String client) {
+        int stripe = stripe(client);
+        while (true) {
+            long now = now();
+            long full = stripes.get(stripe);
+            long start = Math.max(full, now);
+            long wait = start - now - tolerance;
+            if (wait > 0) return wait;
+            if (stripes.compareAndSet(stripe, full, start + interval)) return 0;
+        }
+    }
+
+    // True when the client has used more than half of its burst
+    boolean isBusy(String client) {
+        return stripes.get(stripe(client)) - now() > (tolerance + interval) / 2;
+    }
+
+    private long now() {
+        return nanoClock.getAsLong() - origin + interval;
+    }
+
+    private int stripe(String client) {
+        int h = client.hashCode();
+        // spread the bits, String.hashCode alone clusters similar addresses
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h & mask;
+    }
+}
@@ -0,0 +1,87 @@
+package com.formcraft.dynamicform;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+// Fingerprints of the submissions seen within the last window, for turning away repeats.
+// A fixed table of sets of four atomic slots: a fingerprint goes into the first free or expired slot
+// of its set, or replaces the entry closest to expiry when all four are live. Every update is a
+// compare-and-set on one slot, so there is no lock, and the table never grows; under pressure the
+// oldest fingerprints are forgotten first. Two identical submissions racing for the same set
+// contend for the same slot, so only one of them is let through.
+final class RecentSubmissions {
+
+    private static final int WAYS = 4;
+
+    private record Entry(long fingerprint, long expiresAt) {
+    }
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int setMask;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    RecentSubmissions(int capacity, long windowMillis) {
+        this(capacity, windowMillis, System::nanoTime);
+    }
+
+    // nanoClock stands in for System.nanoTime in tests
+    RecentSubmissions(int capacity, long windowMillis, LongSupplier nanoClock) {
+        int sets = Integer.highestOneBit(Math.max(1, capacity / WAYS - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(sets * WAYS);
+        this.setMask = sets - 1;
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    // Records the fingerprint and returns true, or returns false when it was seen within the window
+    boolean add(long fingerprint) {
+        int base = set(fingerprint);
+        while (true) {
+            long now = nanoClock.getAsLong() - origin;
+            int free = -1;
+            Entry freeEntry = null;
+            int oldest = -1;
+            Entry oldestEntry = null;
+            for (int i = base; i < base + WAYS; i++) {
+                Entry entry = slots.get(i);
+                if (entry == null || entry.expiresAt() - now <= 0) {
+                    if (free < 0) {
+                        free = i;
+                        freeEntry = entry;
+                    }
+                } else if (entry.fingerprint() == fingerprint) {
+                    return false;
+                } else if (oldest < 0 || entry.expiresAt() < oldestEntry.expiresAt()) {
+                    oldest = i;
+                    oldestEntry = entry;
+                }
+            }
+            Entry added = new Entry(fingerprint, now + windowNanos);
+            if (free >= 0 ? slots.compareAndSet(free, freeEntry, added)
+                    : slots.compareAndSet(oldest, oldestEntry, added)) {
+                return true;
+            }
+            // the slot changed under us; look at the set again
+        }
+    }
+
+    // Forgets a fingerprint, so a submission that did not go through can be sent again
+    void remove(long fingerprint) {
+        int base = set(fingerprint);
+        for (int i = base; i < base + WAYS; i++) {
+            Entry entry = slots.get(i);
+            if (entry != null && entry.fingerprint() == fingerprint) {
+                slots.compareAndSet(i, entry, null);
+            }
+        }
+    }
+
+    private int set(long fingerprint) {
+        // fingerprints may be well mixed already, but nothing here relies on it
+        long h = (fingerprint ^ (fingerprint >>> 33)) * 0xff51afd7ed558ccdL;
+        return ((int) (h ^ (h >>> 33)) & setMask) * WAYS;
+    }
+}
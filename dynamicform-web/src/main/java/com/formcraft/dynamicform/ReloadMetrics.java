@@ -0,0 +1,45 @@
+package com.formcraft.dynamicform;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters for config hot reloads. Latency covers reading, parsing and compiling one form.
+public final class ReloadMetrics {
+
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLong lastLatencyNanos = new AtomicLong();
+
+    void recordReload(long latencyNanos) {
+        reloads.increment();
+        totalLatencyNanos.add(latencyNanos);
+        lastLatencyNanos.set(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    void recordFailure() {
+        failures.increment();
+    }
+
+    public long reloads() {
+        return reloads.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long totalLatencyNanos() {
+        return totalLatencyNanos.sum();
+    }
+
+    public long maxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    public long lastLatencyNanos() {
+        return lastLatencyNanos.get();
+    }
+}
@@ -0,0 +1,12 @@
+package com.formcraft.dynamicform;
+
+import java.nio.charset.StandardCharsets;
+
+// Field markup rendered for one schema/UI config pair. Kept as a String for the JSP
+// and as pre-encoded UTF-8 for writers that go straight to the output stream.
+public record RenderedFragment(String contentHash, String html, byte[] utf8) {
+
+    public RenderedFragment(String contentHash, String html) {
+        this(contentHash, html, html.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,135 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+
+// Growable byte buffer an HTML response is assembled in before it goes out in one write with a
+// Content-Length. Text is encoded to UTF-8 (and HTML-escaped on request) straight into the array,
+// without intermediate Strings. Buffers come from a small shared pool rather than a ThreadLocal,
+// since responses are also written from virtual threads; oversized ones are dropped on release.
+final class ResponseBuffer extends OutputStream {
+
+    private static final int POOL_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    private static final int MAX_RETAINED = 256 * 1024;
+    private static final ArrayBlockingQueue<ResponseBuffer> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private byte[] bytes;
+    private int count;
+
+    ResponseBuffer(int capacity) {
+        bytes = new byte[Math.max(capacity, 64)];
+    }
+
+    static ResponseBuffer acquire() {
+        ResponseBuffer buffer = POOL.poll();
+        return buffer != null ? buffer : new ResponseBuffer(INITIAL_CAPACITY);
+    }
+
+    // Returns the buffer to the pool; it must not be used afterwards
+    void release() {
+        count = 0;
+        if (bytes.length <= MAX_RETAINED) POOL.offer(this);
+    }
+
+    int size() {
+        return count;
+    }
+
+    void reset() {
+        count = 0;
+    }
+
+    @Override
+    public void write(int b) {
+        ensure(1);
+        bytes[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b) {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensure(len);
+        System.arraycopy(b, off, bytes, count, len);
+        count += len;
+    }
+
+    void text(String text) {
+        encode(text, false);
+    }
+
+    // Escaped for element content and attribute values, the same characters as Html.escape
+    void escaped(String text) {
+        if (text != null) encode(text, true);
+    }
+
+    void send(HttpServletResponse response, int status, String contentType) throws IOException {
+        response.setStatus(status);
+        response.setContentType(contentType);
+        response.setContentLength(count);
+        response.getOutputStream().write(bytes, 0, count);
+    }
+
+    private void encode(String text, boolean escape) {
+        int len = text.length();
+        // worst case: every char an entity or three UTF-8 bytes
+        ensure(len * 6);
+        byte[] b = bytes;
+        int n = count;
+        for (int i = 0; i < len; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (escape) {
+                    switch (c) {
+                        case '&': n = ascii("&amp;", b, n); continue;
+                        case '<': n = ascii("&lt;", b, n); continue;
+                        case '>': n = ascii("&gt;", b, n); continue;
+                        case '"': n = ascii("&quot;", b, n); continue;
+                        case '\'': n = ascii("&#39;", b, n); continue;
+                        default: break;
+                    }
+                }
+                b[n++] = (byte) c;
+            } else if (c < 0x800) {
+                b[n++] = (byte) (0xC0 | (c >> 6));
+                b[n++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, text.charAt(++i));
+                b[n++] = (byte) (0xF0 | (cp >> 18));
+                b[n++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                b[n++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                b[n++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate, replaced the way String.getBytes does
+                b[n++] = '?';
+            } else {
+                b[n++] = (byte) (0xE0 | (c >> 12));
+                b[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[n++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        count = n;
+    }
+
+    private static int ascii(String entity, byte[] b, int n) {
+        for (int i = 0; i < entity.length(); i++) {
+            b[n++] = (byte) entity.charAt(i);
+        }
+        return n;
+    }
+
+    private void ensure(int extra) {
+        if (count + extra > bytes.length) {
+            byte[] larger = new byte[Math.max(bytes.length * 2, count + extra)];
+            System.arraycopy(bytes, 0, larger, 0, count);
+            bytes = larger;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.formcraft.dynamicform;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+// HTML result pages shown after a browser form submission. The constant head, styles and footer
+// are encoded once; a response only adds its escaped rows between them.
+final class ResultPages {
+
+    private static final byte[] SUCCESS_HEAD = utf8("<!DOCTYPE html>\n"
+            + "<html>\n"
+            + "<head>\n"
+            + "    <title>Registration Successful</title>\n"
+            + "    <meta name='viewport' content='width=device-width, initial-scale=1.0'>\n"
+            + "    <style>\n"
+            + "        body { font-family: -apple-system, BlinkMacSystemFont, 'Segoe UI', sans-serif; background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); margin: 0; padding: 20px; min-height: 100vh; }\n"
+            + "        .container { max-width: 600px; margin: 50px auto; background: white; border-radius: 12px; box-shadow: 0 20px 40px rgba(0,0,0,0.1); overflow: hidden; }\n"
+            + "        .header { background: linear-gradient(135deg, #48bb78 0%, #38a169 100%); color: white; padding: 30px; text-align: center; }\n"
+            + "        .content { padding: 30px; }\n"
+            + "        .success-icon { font-size: 3em; margin-bottom: 20px; }\n"
+            + "        .data-item { margin: 10px 0; padding: 10px; background: #f7fafc; border-radius: 6px; }\n"
+            + "        .label { font-weight: 600; color: #2d3748; }\n"
+            + "        .value { color: #4a5568; margin-left: 10px; }\n"
+            + "        .back-link { display: inline-block; margin-top: 20px; padding: 12px 24px; background: #4299e1; color: white; text-decoration: none; border-radius: 6px; }\n"
+            + "    </style>\n"
+            + "</head>\n"
+            + "<body>\n"
+            + "    <div class='container'>\n"
+            + "        <div class='header'>\n"
+            + "            <div class='success-icon'>✅</div>\n"
+            + "            <h1>Registration Successful!</h1>\n"
+            + "            <p>Your account has been created successfully.</p>\n"
+            + "        </div>\n"
+            + "        <div class='content'>\n"
+            + "            <h3>Submitted Information:</h3>\n");
+    private static final byte[] DATA_LABEL = utf8("            <div class='data-item'>\n"
+            + "                <span class='label'>");
+    private static final byte[] DATA_VALUE = utf8(":</span>\n"
+            + "                <span class='value'>");
+    private static final byte[] DATA_CLOSE = utf8("</span>\n"
+            + "            </div>\n");
+    private static final byte[] SUCCESS_LINK = utf8("            <a href='");
+    private static final byte[] SUCCESS_TAIL = utf8("' class='back-link'>Create Another Account</a>\n"
+            + "        </div>\n"
+            + "    </div>\n"
+            + "</body>\n"
+            + "</html>\n");
+
+    private static final byte[] ERRORS_HEAD = utf8("<!DOCTYPE html>\n"
+            + "<html>\n"
+            + "<head>\n"
+            + "    <title>Validation Errors</title>\n"
+            + "    <meta name='viewport' content='width=device-width, initial-scale=1.0'>\n"
+            + "    <style>\n"
+            + "        body { font-family: -apple-system, BlinkMacSystemFont, 'Segoe UI', sans-serif; background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); margin: 0; padding: 20px; min-height: 100vh; }\n"
+            + "        .container { max-width: 600px; margin: 50px auto; background: white; border-radius: 12px; box-shadow: 0 20px 40px rgba(0,0,0,0.1); overflow: hidden; }\n"
+            + "        .header { background: linear-gradient(135deg, #e53e3e 0%, #c53030 100%); color: white; padding: 30px; text-align: center; }\n"
+            + "        .content { padding: 30px; }\n"
+            + "        .error-icon { font-size: 3em; margin-bottom: 20px; }\n"
+            + "        .error-item { margin: 10px 0; padding: 12px; background: #fed7d7; border-left: 4px solid #e53e3e; border-radius: 6px; }\n"
+            + "        .back-link { display: inline-block; margin-top: 20px; padding: 12px 24px; background: #4299e1; color: white; text-decoration: none; border-radius: 6px; }\n"
+            + "    </style>\n"
+            + "</head>\n"
+            + "<body>\n"
+            + "    <div class='container'>\n"
+            + "        <div class='header'>\n"
+            + "            <div class='error-icon'>❌</div>\n"
+            + "            <h1>Validation Errors</h1>\n"
+            + "            <p>Please correct the following errors and try again.</p>\n"
+            + "        </div>\n"
+            + "        <div class='content'>\n");
+    private static final byte[] ERROR_FIELD = utf8("            <div class='error-item'>\n"
+            + "                <strong>");
+    private static final byte[] ERROR_MESSAGE = utf8(":</strong> ");
+    private static final byte[] ERROR_CLOSE = utf8("\n"
+            + "            </div>\n");
+    private static final byte[] ERRORS_TAIL = utf8("            <a href='javascript:history.back()' class='back-link'>Go Back and Fix Errors</a>\n"
+            + "        </div>\n"
+            + "    </div>\n"
+            + "</body>\n"
+            + "</html>\n");
+
+    private static final byte[] FAILURE_HEAD = utf8("<html><body>\n"
+            + "<h2>Error: ");
+    private static final byte[] FAILURE_LINK = utf8("</h2>\n"
+            + "<a href='");
+    private static final byte[] FAILURE_TAIL = utf8("'>Go Back</a>\n"
+            + "</body></html>\n");
+
+    private static final byte[] LIST_SEPARATOR = utf8(", ");
+
+    private ResultPages() {
+    }
+
+    // formLink comes from FormModel.formLink, already escaped for the href, and is written as is
+    static void writeSuccess(ResponseBuffer out, Map<String, Object> formData, String formLink) {
+        out.write(SUCCESS_HEAD);
+
+        for (Map.Entry<String, Object> entry : formData.entrySet()) {
+            Object value = entry.getValue();
+
+            out.write(DATA_LABEL);
+            out.escaped(capitalizeFirst(entry.getKey()));
+            out.write(DATA_VALUE);
+            if (value instanceof List) {
+                List<?> listValue = (List<?>) value;
+                for (int i = 0; i < listValue.size(); i++) {
+                    if (i > 0) out.write(LIST_SEPARATOR);
+                    out.escaped(String.valueOf(listValue.get(i)));
+                }
+            } else if (value instanceof Boolean) {
+                out.text((Boolean) value ? "Yes" : "No");
+            } else {
+                out.escaped(value != null ? value.toString() : "Not provided");
+            }
+            out.write(DATA_CLOSE);
+        }
+
+        out.write(SUCCESS_LINK);
+        out.text(formLink);
+        out.write(SUCCESS_TAIL);
+    }
+
+    static void writeValidationErrors(ResponseBuffer out, Map<String, String> errors) {
+        out.write(ERRORS_HEAD);
+
+        for (Map.Entry<String, String> error : errors.entrySet()) {
+            // field names and messages can echo submitted input (unknown fields, rejected values)
+            out.write(ERROR_FIELD);
+            out.escaped(capitalizeFirst(error.getKey()));
+            out.write(ERROR_MESSAGE);
+            out.escaped(error.getValue());
+            out.write(ERROR_CLOSE);
+        }
+
+        out.write(ERRORS_TAIL);
+    }
+
+    static void writeError(ResponseBuffer out, String message, String formLink) {
+        out.write(FAILURE_HEAD);
+        out.escaped(message);
+        out.write(FAILURE_LINK);
+        out.text(formLink);
+        out.write(FAILURE_TAIL);
+    }
+
+    private static String capitalizeFirst(String str) {
+        if (str == null || str.isEmpty()) return str;
+        char first = str.charAt(0);
+        // the common case needs no new String
+        if (first < 0x80 && !Character.isLowerCase(first)) return str;
+        return str.substring(0, 1).toUpperCase() + str.substring(1);
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,47 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+// One file under /assets, held in memory with its gzip variant and served by StaticAssetServlet.
+// The page links it as name.<hash>.ext, so a versioned URL changes with the content and can be
+// cached for good; the plain name or an outdated hash is served too, but revalidated every time.
+final class StaticAsset {
+
+    // enough of the SHA-256 to tell versions apart in a URL
+    private static final int HASH_CHARS = 16;
+
+    private final String name;
+    private final String hash;
+    private final String versionedName;
+    private final PrecompressedBody body;
+
+    StaticAsset(String name, String contentType, byte[] bytes) {
+        this.name = name;
+        this.hash = ContentHash.of(bytes).substring(0, HASH_CHARS);
+        int dot = name.lastIndexOf('.');
+        this.versionedName = dot < 0 ? name + "." + hash : name.substring(0, dot) + "." + hash + name.substring(dot);
+        this.body = new PrecompressedBody(contentType, hash, List.of(bytes));
+    }
+
+    String name() {
+        return name;
+    }
+
+    String hash() {
+        return hash;
+    }
+
+    // e.g. form.3f1c0a9b27d4e815.js
+    String versionedName() {
+        return versionedName;
+    }
+
+    // versioned is true when the request named the current hash
+    void write(HttpServletRequest request, HttpServletResponse response, boolean versioned) throws IOException {
+        body.write(request, response, versioned ? PrecompressedBody.IMMUTABLE : "no-cache");
+    }
+}
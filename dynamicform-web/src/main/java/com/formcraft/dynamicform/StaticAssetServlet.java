@@ -0,0 +1,34 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+// Serves the stylesheet and script of the form pages from memory: /assets/<name>.<hash>.<ext>.
+// The page links the current hash, so browsers keep each version for good and only fetch
+// again when the file changes; see StaticAsset for the caching, compression and range headers.
+@WebServlet(name = "StaticAssetServlet", urlPatterns = {"/assets/*"})
+public class StaticAssetServlet extends HttpServlet {
+
+    private StaticAssets assets;
+
+    @Override
+    public void init() throws ServletException {
+        assets = StaticAssets.from(getServletContext());
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getPathInfo();
+        StaticAsset asset = path != null && path.lastIndexOf('/') == 0 ? assets.find(path.substring(1)) : null;
+        if (asset == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        asset.write(request, response, path.substring(1).equals(asset.versionedName()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.ServletContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// The files under /assets, read once and kept in memory (see StaticAsset). Pages link them by their
+// versioned URLs, which form.jsp gets through its formStylesheet and formScript slots.
+final class StaticAssets {
+
+    static final String PATH = "/assets/";
+
+    private static final String ATTRIBUTE = StaticAssets.class.getName();
+
+    private final Map<String, StaticAsset> byName;
+
+    private StaticAssets(Map<String, StaticAsset> byName) {
+        this.byName = byName;
+    }
+
+    static StaticAssets from(ServletContext context) {
+        synchronized (StaticAssets.class) {
+            StaticAssets assets = (StaticAssets) context.getAttribute(ATTRIBUTE);
+            if (assets == null) {
+                assets = load(context);
+                context.setAttribute(ATTRIBUTE, assets);
+            }
+            return assets;
+        }
+    }
+
+    private static StaticAssets load(ServletContext context) {
+        Map<String, StaticAsset> byName = new HashMap<>();
+        Set<String> paths = context.getResourcePaths(PATH);
+        if (paths != null) {
+            for (String path : paths) {
+                // flat directory; subdirectories are not served
+                if (path.endsWith("/")) continue;
+                String name = path.substring(PATH.length());
+                try (InputStream in = context.getResourceAsStream(path)) {
+                    if (in == null) continue;
+                    byName.put(name, new StaticAsset(name, contentType(context, name), in.readAllBytes()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot read " + path, e);
+                }
+            }
+        }
+        return new StaticAssets(byName);
+    }
+
+    private static String contentType(ServletContext context, String name) {
+        if (name.endsWith(".js")) return "text/javascript;charset=UTF-8";
+        if (name.endsWith(".css")) return "text/css;charset=UTF-8";
+        String mimeType = context.getMimeType(name);
+        return mimeType != null ? mimeType : "application/octet-stream";
+    }
+
+    // The asset named either plainly (form.js) or with a hash (form.<hash>.js), current or not;
+    // null when there is no such file
+    StaticAsset find(String fileName) {
+        StaticAsset asset = byName.get(fileName);
+        if (asset != null) return asset;
+        int extension = fileName.lastIndexOf('.');
+        int hash = extension > 0 ? fileName.lastIndexOf('.', extension - 1) : -1;
+        if (hash < 0) return null;
+        return byName.get(fileName.substring(0, hash) + fileName.substring(extension));
+    }
+
+    // Relative to the context root, like the other links in form.jsp
+    String url(String name) {
+        StaticAsset asset = byName.get(name);
+        if (asset == null) {
+            throw new IllegalStateException("Web resource not found: " + PATH + name);
+        }
+        return PATH.substring(1) + asset.versionedName();
+    }
+
+    // form.jsp slots that link assets, with their URLs
+    Map<String, String> pageSlots() {
+        return Map.of("formStylesheet", url("form.css"), "formScript", url("form.js"));
+    }
+}
@@ -0,0 +1,186 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.annotation.WebInitParam;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.formcraft.dynamicform.validation.ValidationMode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Turns away abusive and repeated submissions before any form is looked up or any schema work
+// runs. Each client (by address) gets a token bucket; past it the reply is 429 with Retry-After,
+// and a client that has used over half its burst is validated fail-fast. A submission identical to
+// one the same client made within the window (same form, same body, or the same Idempotency-Key
+// header) gets 409. Submissions that end in an error are forgotten, so they can be sent again.
+// Both tables are fixed-size arrays updated by compare-and-set, shared by all threads without a lock.
+@WebFilter(filterName = "SubmissionGuardFilter", urlPatterns = {"/submitForm"}, asyncSupported = true,
+        initParams = {
+                @WebInitParam(name = "requestsPerMinute", value = "30"),
+                @WebInitParam(name = "burst", value = "10"),
+                @WebInitParam(name = "clientStripes", value = "65536"),
+                @WebInitParam(name = "duplicateWindowSeconds", value = "10"),
+                @WebInitParam(name = "duplicateCapacity", value = "65536"),
+                @WebInitParam(name = "maxBufferedBytes", value = "262144"),
+                @WebInitParam(name = "trustForwardedFor", value = "false")
+        })
+public class SubmissionGuardFilter extends HttpFilter {
+
+    private static final String HTML_CONTENT_TYPE = "text/html;charset=UTF-8";
+
+    private RateLimiter limiter;
+    private RecentSubmissions recent;
+    private Metrics metrics;
+    // bodies up to this size are read to be fingerprinted; larger or unsized ones are not deduplicated
+    private int maxBufferedBytes;
+    // behind a proxy every client has the proxy's address; only trust the header when the proxy sets it
+    private boolean trustForwardedFor;
+
+    @Override
+    public void init() throws ServletException {
+        metrics = Metrics.from(getServletContext());
+        limiter = new RateLimiter(Integer.parseInt(getInitParameter("requestsPerMinute")),
+                Integer.parseInt(getInitParameter("burst")),
+                Integer.parseInt(getInitParameter("clientStripes")));
+        recent = new RecentSubmissions(Integer.parseInt(getInitParameter("duplicateCapacity")),
+                Long.parseLong(getInitParameter("duplicateWindowSeconds")) * 1000);
+        maxBufferedBytes = Integer.parseInt(getInitParameter("maxBufferedBytes"));
+        trustForwardedFor = Boolean.parseBoolean(getInitParameter("trustForwardedFor"));
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!"POST".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String client = client(request, trustForwardedFor);
+        long wait = limiter.acquire(client);
+        if (wait > 0) {
+            if (metrics.isEnabled()) metrics.recordRateLimited();
+            response.setHeader("Retry-After", Long.toString((wait + 999_999_999) / 1_000_000_000));
+            reject(request, response, 429, "Too many submissions, please slow down");
+            return;
+        }
+        if (limiter.isBusy(client)) {
+            request.setAttribute(ValidationMode.ATTRIBUTE, ValidationMode.FAIL_FAST);
+        }
+
+        HttpServletRequest forwarded = request;
+        long fingerprint;
+        String idempotencyKey = request.getHeader("Idempotency-Key");
+        long length = request.getContentLengthLong();
+        if (idempotencyKey != null) {
+            fingerprint = fingerprint(client, request.getQueryString(), idempotencyKey.getBytes(StandardCharsets.UTF_8));
+        } else if (length >= 0 && length <= maxBufferedBytes) {
+            byte[] body = request.getInputStream().readNBytes((int) length);
+            forwarded = new BufferedBodyRequest(request, body);
+            fingerprint = fingerprint(client, request.getQueryString(), body);
+        } else {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!recent.add(fingerprint)) {
+            if (metrics.isEnabled()) metrics.recordDuplicate();
+            reject(request, response, HttpServletResponse.SC_CONFLICT, "This submission was already received");
+            return;
+        }
+        try {
+            chain.doFilter(forwarded, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            recent.remove(fingerprint);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            // SubmitFormServlet answers accepted submissions once they are stored
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    forgetFailed(response, fingerprint);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            forgetFailed(response, fingerprint);
+        }
+    }
+
+    // Invalid, overloaded and failed submissions do not count as received
+    private void forgetFailed(HttpServletResponse response, long fingerprint) {
+        if (response.getStatus() >= 400) recent.remove(fingerprint);
+    }
+
+    static String client(HttpServletRequest request, boolean trustForwardedFor) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    // 64-bit FNV-1a over the parts, length-prefixed, with a final mix. Not a defence against crafted
+    // collisions, but those would only turn away the crafting client's own submissions.
+    private static long fingerprint(String client, String query, byte[] body) {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, client.getBytes(StandardCharsets.UTF_8));
+        h = mix(h, query != null ? query.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+        h = mix(h, body);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long mix(long h, byte[] part) {
+        h = (h ^ part.length) * 0x100000001b3L;
+        for (byte b : part) {
+            h = (h ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static void reject(HttpServletRequest request, HttpServletResponse response, int status, String message)
+            throws IOException {
+        String contentType = request.getContentType();
+        String accept = request.getHeader("Accept");
+        if ((contentType != null && contentType.regionMatches(true, 0, "application/json", 0, 16))
+                || (accept != null && accept.contains("application/json") && !accept.contains("text/html"))) {
+            JsonResponses.sendError(response, status, message);
+            return;
+        }
+        String formId = SubmitFormServlet.queryParameter(request.getQueryString(), "id");
+        ResponseBuffer body = ResponseBuffer.acquire();
+        try {
+            ResultPages.writeError(body, message + ".",
+                    FormModel.formLink(formId != null ? formId : FormRegistry.DEFAULT_FORM_ID));
+            body.send(response, status, HTML_CONTENT_TYPE);
+        } finally {
+            body.release();
+        }
+    }
+}
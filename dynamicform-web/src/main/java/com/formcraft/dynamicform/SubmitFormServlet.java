@@ -0,0 +1,389 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.*;
+import jakarta.servlet.annotation.*;
+import com.formcraft.dynamicform.store.Submission;
+import com.formcraft.dynamicform.store.SubmissionSink;
+import com.formcraft.dynamicform.validation.CompiledSchema;
+import com.formcraft.dynamicform.validation.FormBodyReader;
+import com.formcraft.dynamicform.validation.FormParseException;
+import com.formcraft.dynamicform.validation.FormTooLargeException;
+import com.formcraft.dynamicform.validation.FormValues;
+import com.formcraft.dynamicform.validation.JsonFormReader;
+import com.formcraft.dynamicform.validation.ValidationMode;
+import com.formcraft.dynamicform.validation.ValidationResult;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+@WebServlet(name = "SubmitFormServlet", urlPatterns = {"/submitForm"}, asyncSupported = true,
+        initParams = {
+                @WebInitParam(name = "maxInFlight", value = "1024"),
+                @WebInitParam(name = "persistTimeoutMillis", value = "10000"),
+                @WebInitParam(name = "retryAfterSeconds", value = "1"),
+                @WebInitParam(name = "validationMode", value = "collect-all"),
+                @WebInitParam(name = "maxFormBytes", value = "262144"),
+                @WebInitParam(name = "maxFormFields", value = "1000"),
+                @WebInitParam(name = "invalidResponse", value = "form")
+        })
+public class SubmitFormServlet extends HttpServlet {
+
+    // JSON submissions beyond this are rejected while reading, before any validation
+    private static final long MAX_JSON_BODY_CHARS = 256 * 1024;
+    // parameters of the submit URL itself, never form fields
+    private static final Set<String> RESERVED_PARAMETERS = Set.of("id");
+    private static final String HTML_CONTENT_TYPE = "text/html;charset=UTF-8";
+
+    private FormRegistry registry;
+    private SubmissionSink sink;
+    private Metrics metrics;
+    private UniqueFields uniqueFields;
+
+    private ExecutorService persistExecutor;
+    private Semaphore inFlight;
+    private long persistTimeoutMillis;
+    private String retryAfterSeconds;
+    // caps on url-encoded bodies, enforced while streaming them
+    private long maxFormBytes;
+    private int maxFormFields;
+    // "form" shows the form again with the submitted values and inline errors,
+    // "page" the separate error page; null when the latter is configured
+    private FormPageTemplate pageTemplate;
+    // collect-all for people filling in the form; a filter can switch single requests to
+    // fail-fast through the ValidationMode.ATTRIBUTE request attribute
+    private ValidationMode defaultValidationMode;
+
+    @Override
+    public void init() throws ServletException {
+        registry = FormRegistry.from(getServletContext());
+        metrics = Metrics.from(getServletContext());
+        sink = (SubmissionSink) getServletContext().getAttribute(SubmissionSink.ATTRIBUTE);
+        if (sink == null) {
+            throw new ServletException("No submission sink configured");
+        }
+        uniqueFields = UniqueFields.from(getServletContext());
+
+        persistExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        inFlight = new Semaphore(Integer.parseInt(getInitParameter("maxInFlight")));
+        persistTimeoutMillis = Long.parseLong(getInitParameter("persistTimeoutMillis"));
+        retryAfterSeconds = getInitParameter("retryAfterSeconds");
+        defaultValidationMode = ValidationMode.parse(getInitParameter("validationMode"));
+        maxFormBytes = Long.parseLong(getInitParameter("maxFormBytes"));
+        maxFormFields = Integer.parseInt(getInitParameter("maxFormFields"));
+        if (!"page".equalsIgnoreCase(getInitParameter("invalidResponse"))) {
+            try {
+                pageTemplate = FormPageTemplate.load(getServletContext());
+            } catch (IOException e) {
+                throw new ServletException("Error loading form template", e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        persistExecutor.shutdown();
+        try {
+            persistExecutor.awaitTermination(persistTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        // JSON bodies (SPA and mobile clients) get JSON back, as do callers that ask for it
+        boolean jsonBody = isJson(request.getContentType());
+        boolean jsonResponse = jsonBody || acceptsJson(request.getHeader("Accept"));
+
+        // The form action carries the id in the query string. Reading it from there keeps the
+        // container from parsing the body into its parameter map, so the body can be streamed.
+        // Without it the id may be in the body, and the parameter map is used as before.
+        String formId = queryParameter(request.getQueryString(), "id");
+        boolean streamBody = !jsonBody && formId != null && isUrlEncoded(request.getContentType());
+
+        FormModel form;
+        try {
+            form = registry.get(formId != null ? formId : request.getParameter("id"));
+        } catch (UnknownFormException e) {
+            if (jsonResponse) {
+                JsonResponses.sendError(response, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            } else {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            }
+            return;
+        }
+        CompiledSchema schema = form.schema();
+        // null while instrumentation is switched off
+        FormMetrics formMetrics = metrics.isEnabled() ? metrics.form(form.id()) : null;
+
+        try {
+            // Validate the form data against the compiled schema
+            FormValues values;
+            if (jsonBody) {
+                // JSON is UTF-8 (RFC 8259); without a charset the container would read ISO-8859-1
+                if (request.getCharacterEncoding() == null) {
+                    request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                }
+                values = JsonFormReader.read(schema, request.getReader(), MAX_JSON_BODY_CHARS);
+            } else if (streamBody) {
+                if (request.getContentLengthLong() > maxFormBytes) {
+                    throw new FormTooLargeException("Submission exceeds " + maxFormBytes + " bytes");
+                }
+                values = FormBodyReader.read(schema, request.getInputStream(), requestCharset(request),
+                        maxFormBytes, maxFormFields);
+            } else {
+                values = readFormValues(schema, request);
+            }
+            ValidationMode mode = validationMode(request);
+            ValidationResult validationResult;
+            if (formMetrics != null) {
+                long start = System.nanoTime();
+                validationResult = schema.validate(values, mode, formMetrics);
+                formMetrics.recordValidation(System.nanoTime() - start);
+            } else {
+                validationResult = schema.validate(values, mode, null);
+            }
+            // values of "unique": true fields are held from here until the submission is stored or fails;
+            // a taken one is reported like any other invalid field
+            if (validationResult.isValid()) {
+                uniqueFields.claim(form.id(), schema, values, validationResult);
+            }
+
+            if (!validationResult.isValid()) {
+                count(formMetrics, SubmitOutcome.INVALID);
+                if (jsonResponse) {
+                    JsonResponses.sendErrors(response, validationResult);
+                } else if (pageTemplate != null) {
+                    sendInvalidForm(response, form, values, validationResult);
+                } else {
+                    sendValidationErrors(response, validationResult.getErrors());
+                }
+                return;
+            }
+
+            // Process the valid form data; write-only fields (passwords) are neither stored nor echoed
+            Map<String, Object> formData = schema.extract(values, false);
+            Submission submission = new Submission(form.id(), System.currentTimeMillis(), formData);
+
+            // Persistence runs on a virtual thread so the container thread goes back to the pool
+            // while the log commits. Past maxInFlight we shed load instead of queueing without bound.
+            if (!inFlight.tryAcquire()) {
+                uniqueFields.release(form.id(), schema, values);
+                count(formMetrics, SubmitOutcome.OVERLOADED);
+                sendOverloaded(response, jsonResponse, form.formLink());
+                return;
+            }
+            AsyncContext async = request.startAsync();
+            async.setTimeout(0);
+            try {
+                persistExecutor.execute(() ->
+                        persistAndRespond(async, submission, jsonResponse, form.formLink(), formMetrics,
+                                () -> uniqueFields.release(form.id(), schema, values)));
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                uniqueFields.release(form.id(), schema, values);
+                count(formMetrics, SubmitOutcome.OVERLOADED);
+                sendOverloaded((HttpServletResponse) async.getResponse(), jsonResponse, form.formLink());
+                async.complete();
+            }
+
+        } catch (FormParseException e) {
+            count(formMetrics, SubmitOutcome.MALFORMED);
+            int status = e instanceof FormTooLargeException
+                    ? HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE : HttpServletResponse.SC_BAD_REQUEST;
+            if (jsonResponse) {
+                JsonResponses.sendError(response, status, e.getMessage());
+            } else {
+                sendErrorResponse(response, status, e.getMessage(), form.formLink());
+            }
+        } catch (Exception e) {
+            count(formMetrics, SubmitOutcome.FAILED);
+            if (jsonResponse) {
+                JsonResponses.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+            } else {
+                sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                        "An unexpected error occurred: " + e.getMessage(), form.formLink());
+            }
+        }
+    }
+
+    // notStored gives back what was claimed for the submission when it ends up not stored
+    private void persistAndRespond(AsyncContext async, Submission submission, boolean jsonResponse, String formLink,
+                                   FormMetrics formMetrics, Runnable notStored) {
+        HttpServletResponse response = (HttpServletResponse) async.getResponse();
+        boolean stored = false;
+        try {
+            try {
+                sink.submit(submission).get(persistTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RejectedExecutionException) {
+                    count(formMetrics, SubmitOutcome.OVERLOADED);
+                    sendOverloaded(response, jsonResponse, formLink);
+                    return;
+                }
+                throw e;
+            } catch (TimeoutException e) {
+                count(formMetrics, SubmitOutcome.OVERLOADED);
+                sendOverloaded(response, jsonResponse, formLink);
+                return;
+            }
+
+            stored = true;
+            count(formMetrics, SubmitOutcome.ACCEPTED);
+            if (jsonResponse) {
+                JsonResponses.sendValid(response);
+            } else {
+                sendSuccessResponse(response, submission.data(), formLink);
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            count(formMetrics, SubmitOutcome.FAILED);
+            log("Persisting submission for form " + submission.formId() + " failed", e);
+            try {
+                if (jsonResponse) {
+                    JsonResponses.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Submission could not be saved");
+                } else {
+                    sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                            "Your submission could not be saved, please try again.", formLink);
+                }
+            } catch (IOException | IllegalStateException ignored) {
+                // client is gone or the response was already committed
+            }
+        } finally {
+            // a timed-out submission may still be written late; it is released like any other
+            // failure, so that the person retrying is not told their own value is taken
+            if (!stored) notStored.run();
+            inFlight.release();
+            async.complete();
+        }
+    }
+
+    private static void count(FormMetrics formMetrics, SubmitOutcome outcome) {
+        if (formMetrics != null) formMetrics.recordOutcome(outcome);
+    }
+
+    private void sendOverloaded(HttpServletResponse response, boolean jsonResponse, String formLink) throws IOException {
+        response.setHeader("Retry-After", retryAfterSeconds);
+        if (jsonResponse) {
+            JsonResponses.sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many submissions, please retry shortly");
+        } else {
+            sendErrorResponse(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    "We are receiving too many submissions right now, please try again in a moment.", formLink);
+        }
+    }
+
+    private ValidationMode validationMode(HttpServletRequest request) {
+        Object mode = request.getAttribute(ValidationMode.ATTRIBUTE);
+        return mode instanceof ValidationMode ? (ValidationMode) mode : defaultValidationMode;
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && contentType.regionMatches(true, 0, "application/json", 0, 16);
+    }
+
+    private static boolean isUrlEncoded(String contentType) {
+        return contentType == null
+                || contentType.regionMatches(true, 0, "application/x-www-form-urlencoded", 0, 33);
+    }
+
+    private static Charset requestCharset(HttpServletRequest request) {
+        String encoding = request.getCharacterEncoding();
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    // One query parameter, decoded, without touching request.getParameter
+    static String queryParameter(String query, String name) {
+        if (query == null) return null;
+        int start = 0;
+        while (start < query.length()) {
+            int end = query.indexOf('&', start);
+            if (end < 0) end = query.length();
+            if (end - start > name.length() && query.charAt(start + name.length()) == '='
+                    && query.regionMatches(start, name, 0, name.length())) {
+                String value = query.substring(start + name.length() + 1, end);
+                try {
+                    return URLDecoder.decode(value, StandardCharsets.UTF_8);
+                } catch (IllegalArgumentException e) {
+                    return value;
+                }
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    private static boolean acceptsJson(String accept) {
+        return accept != null && accept.contains("application/json") && !accept.contains("text/html");
+    }
+
+    // Through the container's parameter map, for bodies that are not streamed (no id in the query
+    // string, or not url-encoded). Names a closed schema does not declare are recorded.
+    private FormValues readFormValues(CompiledSchema schema, HttpServletRequest request) {
+        FormValues values = schema.newValues();
+        for (Map.Entry<String, String[]> parameter : request.getParameterMap().entrySet()) {
+            String name = parameter.getKey();
+            int index = schema.indexOf(name);
+            if (index >= 0) {
+                values.set(index, parameter.getValue());
+            } else if (!RESERVED_PARAMETERS.contains(name) && !schema.accepts(name)) {
+                values.markUnknown(name);
+            }
+        }
+        return values;
+    }
+
+    private void sendSuccessResponse(HttpServletResponse response, Map<String, Object> formData, String formLink) throws IOException {
+        ResponseBuffer body = ResponseBuffer.acquire();
+        try {
+            ResultPages.writeSuccess(body, formData, formLink);
+            body.send(response, HttpServletResponse.SC_OK, HTML_CONTENT_TYPE);
+        } finally {
+            body.release();
+        }
+    }
+
+    // The form itself again, filled in: no extra round trip and nothing lost without JavaScript.
+    private void sendInvalidForm(HttpServletResponse response, FormModel form, FormValues values,
+                                 ValidationResult validationResult) throws IOException {
+        ResponseBuffer body = ResponseBuffer.acquire();
+        try {
+            form.writePage(pageTemplate, new FormFill(values, validationResult.getErrors()), body);
+            // holds what the user typed, so it must not be cached anywhere
+            response.setHeader("Cache-Control", "no-store");
+            body.send(response, HttpServletResponse.SC_BAD_REQUEST, HTML_CONTENT_TYPE);
+        } finally {
+            body.release();
+        }
+    }
+
+    private void sendValidationErrors(HttpServletResponse response, Map<String, String> errors) throws IOException {
+        ResponseBuffer body = ResponseBuffer.acquire();
+        try {
+            ResultPages.writeValidationErrors(body, errors);
+            body.send(response, HttpServletResponse.SC_BAD_REQUEST, HTML_CONTENT_TYPE);
+        } finally {
+            body.release();
+        }
+    }
+
+    private void sendErrorResponse(HttpServletResponse response, int status, String message, String formLink) throws IOException {
+        ResponseBuffer body = ResponseBuffer.acquire();
+        try {
+            ResultPages.writeError(body, message, formLink);
+            body.send(response, status, HTML_CONTENT_TYPE);
+        } finally {
+            body.release();
+        }
+    }
+}
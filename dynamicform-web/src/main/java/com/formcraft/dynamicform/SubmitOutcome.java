@@ -0,0 +1,12 @@
+package com.formcraft.dynamicform;
+
+// How a submission ended, as counted by FormMetrics
+public enum SubmitOutcome {
+    ACCEPTED,
+    INVALID,
+    MALFORMED,
+    OVERLOADED,
+    FAILED;
+
+    final String label = name().toLowerCase();
+}
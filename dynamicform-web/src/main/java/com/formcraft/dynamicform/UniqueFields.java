@@ -0,0 +1,164 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.store.LogRecord;
+import com.formcraft.dynamicform.store.MemoryUniqueIndex;
+import com.formcraft.dynamicform.store.Submission;
+import com.formcraft.dynamicform.store.SubmissionLog;
+import com.formcraft.dynamicform.store.SubmissionLogReader;
+import com.formcraft.dynamicform.store.SubmissionSink;
+import com.formcraft.dynamicform.store.UniqueIndex;
+import com.formcraft.dynamicform.validation.CompiledField;
+import com.formcraft.dynamicform.validation.CompiledSchema;
+import com.formcraft.dynamicform.validation.FormValues;
+import com.formcraft.dynamicform.validation.ValidationResult;
+import jakarta.servlet.ServletContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Enforces "unique": true fields against the UniqueIndex. Values compare trimmed and case-insensitive,
+// so "Ann@Example.com " and "ann@example.com" are the same address.
+// The in-memory index starts empty and is filled here from the submission log, once: listeners have
+// all run before any servlet starts, so by the first from() both the forms and the log are available.
+// A field made unique by a hot reload covers the submissions made after it until the next restart.
+final class UniqueFields {
+
+    private static final String ATTRIBUTE = UniqueFields.class.getName();
+
+    private final UniqueIndex index;
+
+    UniqueFields(UniqueIndex index) {
+        this.index = index;
+    }
+
+    static UniqueFields from(ServletContext context) {
+        synchronized (UniqueFields.class) {
+            UniqueFields fields = (UniqueFields) context.getAttribute(ATTRIBUTE);
+            if (fields == null) {
+                UniqueIndex index = (UniqueIndex) context.getAttribute(UniqueIndex.ATTRIBUTE);
+                if (index == null) {
+                    throw new IllegalStateException("No unique index configured");
+                }
+                if (index instanceof MemoryUniqueIndex) {
+                    rebuild((MemoryUniqueIndex) index, context);
+                }
+                fields = new UniqueFields(index);
+                context.setAttribute(ATTRIBUTE, fields);
+            }
+            return fields;
+        }
+    }
+
+    private static void rebuild(MemoryUniqueIndex index, ServletContext context) {
+        Object sink = context.getAttribute(SubmissionSink.ATTRIBUTE);
+        if (!(sink instanceof SubmissionLog)) {
+            context.log("Unique index starts empty: the submission sink is not a SubmissionLog");
+            return;
+        }
+        SubmissionLog log = (SubmissionLog) sink;
+        FormRegistry registry = FormRegistry.from(context);
+        long start = System.nanoTime();
+        long records = 0;
+        // schema per form id, null for forms that are gone or have no unique fields
+        Map<String, CompiledSchema> schemas = new HashMap<>();
+        try (SubmissionLogReader reader = SubmissionLogReader.open(log.dir())) {
+            LogRecord record;
+            while ((record = reader.next()) != null) {
+                records++;
+                Submission submission = record.submission();
+                CompiledSchema schema;
+                if (schemas.containsKey(submission.formId())) {
+                    schema = schemas.get(submission.formId());
+                } else {
+                    schema = uniqueSchema(registry, submission.formId());
+                    schemas.put(submission.formId(), schema);
+                }
+                if (schema == null) continue;
+
+                FormValues values = schema.values(submission.data());
+                for (CompiledField field : schema.uniqueFields()) {
+                    String value = values.first(field.index());
+                    if (value != null && !value.isBlank()) {
+                        index.claim(submission.formId(), field.name(), normalize(value));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rebuild the unique index from " + log.dir(), e);
+        }
+        context.log("Unique index rebuilt from " + records + " submissions: " + index.size() + " values in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private static CompiledSchema uniqueSchema(FormRegistry registry, String formId) throws IOException {
+        try {
+            CompiledSchema schema = registry.get(formId).schema();
+            return schema.uniqueFields().isEmpty() ? null : schema;
+        } catch (UnknownFormException e) {
+            return null;
+        }
+    }
+
+    // Claims the unique values of a valid submission before it is stored. When any of them is taken,
+    // its error goes into the result, none stay claimed, and false comes back.
+    boolean claim(String formId, CompiledSchema schema, FormValues values, ValidationResult result) {
+        List<CompiledField> fields = schema.uniqueFields();
+        if (fields.isEmpty()) return true;
+        boolean[] claimed = new boolean[fields.size()];
+        boolean allClaimed = true;
+        for (int i = 0; i < fields.size(); i++) {
+            CompiledField field = fields.get(i);
+            String value = values.first(field.index());
+            if (value == null || value.isBlank()) continue;
+            if (index.claim(formId, field.name(), normalize(value))) {
+                claimed[i] = true;
+            } else {
+                result.addError(field.name(), takenMessage(field.name()));
+                allClaimed = false;
+            }
+        }
+        if (!allClaimed) {
+            for (int i = 0; i < fields.size(); i++) {
+                CompiledField field = fields.get(i);
+                if (claimed[i]) index.release(formId, field.name(), normalize(values.first(field.index())));
+            }
+        }
+        return allClaimed;
+    }
+
+    // Same check without claiming, for validating a file that is not going to be stored
+    void check(String formId, CompiledSchema schema, FormValues values, ValidationResult result) {
+        for (CompiledField field : schema.uniqueFields()) {
+            String value = values.first(field.index());
+            if (value != null && !value.isBlank() && index.contains(formId, field.name(), normalize(value))) {
+                result.addError(field.name(), takenMessage(field.name()));
+            }
+        }
+    }
+
+    // Gives back the values claimed for a submission that was not stored after all
+    void release(String formId, CompiledSchema schema, FormValues values) {
+        for (CompiledField field : schema.uniqueFields()) {
+            String value = values.first(field.index());
+            if (value != null && !value.isBlank()) {
+                index.release(formId, field.name(), normalize(value));
+            }
+        }
+    }
+
+    boolean isTaken(String formId, String field, String value) {
+        return !value.isBlank() && index.contains(formId, field, normalize(value));
+    }
+
+    static String takenMessage(String field) {
+        return field + " is already taken";
+    }
+
+    private static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+}
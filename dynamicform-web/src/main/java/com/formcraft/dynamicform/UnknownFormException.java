@@ -0,0 +1,9 @@
+package com.formcraft.dynamicform;
+
+// Thrown when a form id is malformed or has no schema/UI config behind it.
+public class UnknownFormException extends Exception {
+
+    public UnknownFormException(String formId) {
+        super("Unknown form: " + formId);
+    }
+}
@@ -0,0 +1,97 @@
+package com.formcraft.dynamicform;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Size-bounded cache where each entry carries a weight (roughly its heap cost).
+// Reads are lock-free and only stamp the entry's last access time; when a put pushes the
+// total weight over the budget, the least recently used entries are evicted under a lock.
+public final class WeightedLruCache<K, V> {
+
+    private static final class Node<V> {
+        final V value;
+        final long weight;
+        volatile long lastAccess;
+
+        Node(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+
+    private final ConcurrentHashMap<K, Node<V>> map = new ConcurrentHashMap<>();
+    private final AtomicLong totalWeight = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final long maxWeight;
+    private final Object evictionLock = new Object();
+
+    public WeightedLruCache(long maxWeight) {
+        if (maxWeight <= 0) throw new IllegalArgumentException("maxWeight must be positive");
+        this.maxWeight = maxWeight;
+    }
+
+    public V get(K key) {
+        Node<V> node = map.get(key);
+        if (node == null) return null;
+        node.lastAccess = System.nanoTime();
+        return node.value;
+    }
+
+    // Unlike get, does not count as an access
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    public void put(K key, V value, long weight) {
+        Node<V> previous = map.put(key, new Node<>(value, weight));
+        totalWeight.addAndGet(weight - (previous != null ? previous.weight : 0));
+        if (totalWeight.get() > maxWeight) {
+            evict();
+        }
+    }
+
+    public V remove(K key) {
+        Node<V> node = map.remove(key);
+        if (node == null) return null;
+        totalWeight.addAndGet(-node.weight);
+        return node.value;
+    }
+
+    public Iterable<K> keys() {
+        return map.keySet();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public long weight() {
+        return totalWeight.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            if (totalWeight.get() <= maxWeight) return;
+
+            List<Map.Entry<K, Node<V>>> entries = new ArrayList<>(map.entrySet());
+            entries.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (Map.Entry<K, Node<V>> entry : entries) {
+                if (totalWeight.get() <= maxWeight) break;
+                // only remove the node we looked at, not one that replaced it meanwhile
+                if (map.remove(entry.getKey(), entry.getValue())) {
+                    totalWeight.addAndGet(-entry.getValue().weight);
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+}
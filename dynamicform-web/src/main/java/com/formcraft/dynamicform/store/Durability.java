@@ -0,0 +1,10 @@
+package com.formcraft.dynamicform.store;
+
+// How long a submitter waits before its record counts as stored.
+public enum Durability {
+    // the batch containing the record has been fsync'd (group commit)
+    FSYNC,
+    // the record has been written to the OS; fsync happens on a timer, so a power loss
+    // can drop up to one flush interval of submissions
+    PERIODIC
+}
@@ -0,0 +1,9 @@
+package com.formcraft.dynamicform.store;
+
+// A record read back from the submission log. Sequence numbers are dense and start at 0.
+public record LogRecord(long sequence, byte[] payload) {
+
+    public Submission submission() {
+        return Submission.fromJson(payload);
+    }
+}
@@ -0,0 +1,76 @@
+package com.formcraft.dynamicform.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// On-disk layout shared by the log writer and reader.
+// A log is a directory of segment files named by the sequence number of their first record.
+// Each record is: int payload length, int CRC32 of the payload, payload bytes (big-endian).
+final class LogSegments {
+
+    static final int HEADER_BYTES = 8;
+    static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{20})\\.log");
+
+    private LogSegments() {
+    }
+
+    static Path segmentPath(Path dir, long baseSequence) {
+        return dir.resolve(String.format("segment-%020d.log", baseSequence));
+    }
+
+    static long baseSequence(Path segment) {
+        Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    // Segment files in sequence order
+    static List<Path> list(Path dir) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return segments;
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> baseSequence(p) >= 0).forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(baseSequence(a), baseSequence(b)));
+        return segments;
+    }
+
+    static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    // Reads the record at the channel's position, or returns null at the end of the segment or at a
+    // torn/corrupt tail (short header, short payload, impossible length or CRC mismatch).
+    static byte[] readRecord(FileChannel channel, ByteBuffer header) throws IOException {
+        header.clear();
+        if (!readFully(channel, header)) return null;
+        header.flip();
+        int length = header.getInt();
+        int crc = header.getInt();
+        if (length < 0 || length > MAX_RECORD_BYTES) return null;
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        if (!readFully(channel, payload)) return null;
+        byte[] bytes = payload.array();
+        return crc(bytes) == crc ? bytes : null;
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) return false;
+        }
+        return true;
+    }
+}
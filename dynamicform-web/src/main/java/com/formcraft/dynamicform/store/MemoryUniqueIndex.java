@@ -0,0 +1,125 @@
+package com.formcraft.dynamicform.store;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// The default UniqueIndex: each (form, field, value) is kept as a 64-bit fingerprint in a concurrent
+// set, with a Bloom filter in front of it. Most probes are for values nobody has taken yet, and the
+// filter answers those from a few bits without touching the set. The filter is sized for
+// expectedValues at about 1% false positives; past that it lets more probes through to the set,
+// which stays exact. Released values leave their bits set, which costs the same: a set lookup.
+// Two different values sharing a fingerprint would make the second one look taken; at 64 bits
+// that takes billions of stored values to become likely.
+public final class MemoryUniqueIndex implements UniqueIndex {
+
+    public static final int DEFAULT_EXPECTED_VALUES = 1 << 20;
+
+    private final Set<Long> fingerprints;
+    private final AtomicLongArray bits;
+    private final long bitMask;
+    private final int hashes;
+
+    public MemoryUniqueIndex(int expectedValues) {
+        int expected = Math.max(1024, expectedValues);
+        // m = -n ln(p) / ln(2)^2 bits for false positive rate p, rounded up to a power of two
+        long wanted = (long) Math.ceil(expected * -Math.log(0.01) / (Math.log(2) * Math.log(2)));
+        long size = Long.highestOneBit(Math.max(64, wanted - 1)) << 1;
+        this.bits = new AtomicLongArray((int) (size / 64));
+        this.bitMask = size - 1;
+        // k = m/n ln(2) hash functions minimise false positives for the size actually allocated
+        this.hashes = (int) Math.max(1, Math.min(16, Math.round((double) size / expected * Math.log(2))));
+        this.fingerprints = ConcurrentHashMap.newKeySet(expected);
+    }
+
+    public MemoryUniqueIndex() {
+        this(DEFAULT_EXPECTED_VALUES);
+    }
+
+    @Override
+    public boolean contains(String formId, String field, String value) {
+        long fingerprint = fingerprint(formId, field, value);
+        return mightContain(fingerprint) && fingerprints.contains(fingerprint);
+    }
+
+    @Override
+    public boolean claim(String formId, String field, String value) {
+        long fingerprint = fingerprint(formId, field, value);
+        if (!fingerprints.add(fingerprint)) return false;
+        // set after the claim, so a probe in between may still see the value as free; claims are exact
+        addBits(fingerprint);
+        return true;
+    }
+
+    @Override
+    public void release(String formId, String field, String value) {
+        fingerprints.remove(fingerprint(formId, field, value));
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    // Bits in the filter and hash functions per value, for tests of the sizing
+    long filterBits() {
+        return bitMask + 1;
+    }
+
+    int hashCount() {
+        return hashes;
+    }
+
+    // Bit positions h1 + i*h2 (Kirsch and Mitzenmacher): k positions from one 64-bit hash
+    private boolean mightContain(long fingerprint) {
+        long h2 = secondHash(fingerprint);
+        for (int i = 0; i < hashes; i++) {
+            long bit = (fingerprint + i * h2) & bitMask;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    private void addBits(long fingerprint) {
+        long h2 = secondHash(fingerprint);
+        for (int i = 0; i < hashes; i++) {
+            long bit = (fingerprint + i * h2) & bitMask;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    // odd, so that the positions cycle through the whole power-of-two table
+    private static long secondHash(long fingerprint) {
+        long h = (fingerprint ^ (fingerprint >>> 29)) * 0xbf58476d1ce4e5b9L;
+        return (h ^ (h >>> 32)) | 1;
+    }
+
+    // 64-bit FNV-1a over the three parts, length-prefixed so that ("ab", "c") and ("a", "bc") differ,
+    // with a final mix to spread the low bits the filter indexes by
+    private static long fingerprint(String formId, String field, String value) {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, formId);
+        h = mix(h, field);
+        h = mix(h, value);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long mix(long h, String part) {
+        h = (h ^ part.length()) * 0x100000001b3L;
+        for (int i = 0; i < part.length(); i++) {
+            char c = part.charAt(i);
+            h = (h ^ (c & 0xff)) * 0x100000001b3L;
+            h = (h ^ (c >>> 8)) * 0x100000001b3L;
+        }
+        return h;
+    }
+}
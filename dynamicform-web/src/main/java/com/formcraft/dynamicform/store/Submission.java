@@ -0,0 +1,23 @@
+package com.formcraft.dynamicform.store;
+
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+// One accepted form submission, as handed to a SubmissionSink.
+public record Submission(String formId, long timestamp, Map<String, Object> data) {
+
+    public byte[] toJson() {
+        JSONObject json = new JSONObject();
+        json.put("form", formId);
+        json.put("time", timestamp);
+        json.put("data", new JSONObject(data));
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static Submission fromJson(byte[] payload) {
+        JSONObject json = new JSONObject(new String(payload, StandardCharsets.UTF_8));
+        return new Submission(json.getString("form"), json.getLong("time"), json.getJSONObject("data").toMap());
+    }
+}
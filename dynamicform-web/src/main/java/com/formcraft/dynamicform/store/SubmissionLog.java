@@ -0,0 +1,324 @@
+package com.formcraft.dynamicform.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Default SubmissionSink: a local append-only log split into size-rotated segments.
+// Submitters only enqueue; a single writer thread drains whatever has queued up, writes it as one
+// batch and, in FSYNC mode, issues one fsync for the whole batch before completing every future in it.
+// Under load batches grow by themselves, so the fsync cost is shared by many submissions.
+// A batch that fails to write is cut off the segment again, so the log never holds a torn record
+// in front of later ones; if even that fails, the log refuses all further submissions.
+public final class SubmissionLog implements SubmissionSink {
+
+    private static final Logger LOG = Logger.getLogger(SubmissionLog.class.getName());
+
+    public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_QUEUE_CAPACITY = 16 * 1024;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 200;
+
+    private static final int MAX_BATCH = 1024;
+
+    private record Pending(byte[] payload, CompletableFuture<Void> done) {
+    }
+
+    private static final Pending STOP = new Pending(new byte[0], null);
+
+    // How segment files are opened; tests substitute channels that fail
+    interface ChannelOpener {
+        FileChannel open(Path path, OpenOption... options) throws IOException;
+    }
+
+    private final Path dir;
+    private final Durability durability;
+    private final long segmentBytes;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<Pending> queue;
+    private final ChannelOpener opener;
+    private final Thread writer;
+
+    private FileChannel channel;
+    private long nextSequence;
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private boolean dirty;
+    private long lastForce = System.nanoTime();
+    private volatile boolean closed;
+    // set when a failed batch could not be rolled back; nothing is written after that
+    private volatile Exception failure;
+
+    public SubmissionLog(Path dir, Durability durability, long segmentBytes, int queueCapacity,
+                         long flushIntervalMillis) throws IOException {
+        this(dir, durability, segmentBytes, queueCapacity, flushIntervalMillis, FileChannel::open);
+    }
+
+    SubmissionLog(Path dir, Durability durability, long segmentBytes, int queueCapacity,
+                  long flushIntervalMillis, ChannelOpener opener) throws IOException {
+        this.dir = dir;
+        this.opener = opener;
+        this.durability = durability;
+        this.segmentBytes = segmentBytes;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Files.createDirectories(dir);
+        recover();
+
+        this.writer = new Thread(this::runWriter, "submission-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public SubmissionLog(Path dir) throws IOException {
+        this(dir, Durability.FSYNC, DEFAULT_SEGMENT_BYTES, DEFAULT_QUEUE_CAPACITY, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    public Path dir() {
+        return dir;
+    }
+
+    @Override
+    public CompletableFuture<Void> submit(Submission submission) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Submission log is closed"));
+        }
+        if (failure != null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Submission log has failed", failure));
+        }
+        byte[] payload = submission.toJson();
+        if (payload.length > LogSegments.MAX_RECORD_BYTES) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Submission too large"));
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Pending pending = new Pending(payload, done);
+        if (!queue.offer(pending)) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Submission log queue is full"));
+        }
+        // close() may have run since the check above, and the writer may already have gone without
+        // seeing this entry. Whoever takes it out of the queue first completes it: the writer, or this.
+        if (closed && queue.remove(pending)) {
+            done.completeExceptionally(new IllegalStateException("Submission log is closed"));
+        }
+        return done;
+    }
+
+    // Opens the newest segment for appending, cutting off a torn tail left by a crash
+    private void recover() throws IOException {
+        List<Path> segments = LogSegments.list(dir);
+        if (segments.isEmpty()) {
+            openSegment(0);
+            return;
+        }
+
+        Path last = segments.get(segments.size() - 1);
+        long sequence = LogSegments.baseSequence(last);
+        channel = opener.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(LogSegments.HEADER_BYTES);
+        long validEnd = 0;
+        while (LogSegments.readRecord(channel, header) != null) {
+            validEnd = channel.position();
+            sequence++;
+        }
+        if (validEnd < channel.size()) {
+            LOG.warning("Truncating torn tail of " + last + " at byte " + validEnd);
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        channel.position(validEnd);
+        nextSequence = sequence;
+    }
+
+    private void openSegment(long baseSequence) throws IOException {
+        channel = opener.open(LogSegments.segmentPath(dir, baseSequence),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        channel.position(channel.size());
+        nextSequence = baseSequence;
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        boolean stopping = false;
+
+        while (!stopping) {
+            try {
+                Pending first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    forceIfDue();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+
+                int stopAt = batch.indexOf(STOP);
+                if (stopAt >= 0) {
+                    stopping = true;
+                    batch.subList(stopAt, batch.size()).clear();
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                stopping = true;
+            } catch (RuntimeException e) {
+                // writeBatch fails its own batch; this only keeps the writer alive whatever else breaks
+                LOG.log(Level.SEVERE, "Submission log writer error", e);
+                for (Pending pending : batch) {
+                    if (pending != STOP) pending.done().completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // anything left behind after the stop marker is refused
+        Pending rest;
+        while ((rest = queue.poll()) != null) {
+            if (rest != STOP) rest.done().completeExceptionally(new IllegalStateException("Submission log is closed"));
+        }
+        try {
+            if (dirty) channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Error closing submission log", e);
+        }
+    }
+
+    private void writeBatch(List<Pending> batch) {
+        if (batch.isEmpty()) return;
+        if (failure != null) {
+            for (Pending pending : batch) {
+                pending.done().completeExceptionally(new IllegalStateException("Submission log has failed", failure));
+            }
+            return;
+        }
+        // where the segment ends before this batch, to cut a failed write back to
+        long goodPosition = 0;
+        long goodSequence = nextSequence;
+        int completed = 0;
+        try {
+            goodPosition = channel.position();
+            for (int i = 0; i < batch.size(); i++) {
+                if (append(batch.get(i).payload())) {
+                    // the records before this one went into the previous segment, which is forced
+                    for (; completed < i; completed++) {
+                        batch.get(completed).done().complete(null);
+                    }
+                    goodPosition = 0;
+                    goodSequence = nextSequence - 1;
+                }
+            }
+            flushBuffer();
+            dirty = true;
+            if (durability == Durability.FSYNC) {
+                force();
+            } else {
+                forceIfDue();
+            }
+            for (; completed < batch.size(); completed++) {
+                batch.get(completed).done().complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.SEVERE, "Writing submissions failed", e);
+            rollBack(goodPosition, goodSequence);
+            for (; completed < batch.size(); completed++) {
+                batch.get(completed).done().completeExceptionally(e);
+            }
+        }
+    }
+
+    // Drops whatever of a failed batch reached the segment or the buffer, so the next batch starts
+    // right after the last good record
+    private void rollBack(long position, long sequence) {
+        writeBuffer.clear();
+        nextSequence = sequence;
+        try {
+            channel.truncate(position);
+            channel.position(position);
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.SEVERE, "Cannot roll back the submission log, refusing further submissions", e);
+            failure = e;
+        }
+    }
+
+    // Returns true when the record starts a new segment
+    private boolean append(byte[] payload) throws IOException {
+        int recordBytes = LogSegments.HEADER_BYTES + payload.length;
+        boolean rotated = false;
+        if (channel.position() + writeBuffer.position() + recordBytes > segmentBytes
+                && channel.position() + writeBuffer.position() > 0) {
+            rotate();
+            rotated = true;
+        }
+        if (writeBuffer.remaining() < recordBytes) {
+            flushBuffer();
+            if (writeBuffer.capacity() < recordBytes) {
+                writeBuffer = ByteBuffer.allocateDirect(recordBytes);
+            }
+        }
+        writeBuffer.putInt(payload.length);
+        writeBuffer.putInt(LogSegments.crc(payload));
+        writeBuffer.put(payload);
+        nextSequence++;
+        return rotated;
+    }
+
+    private void rotate() throws IOException {
+        flushBuffer();
+        channel.force(false);
+        channel.close();
+        openSegment(nextSequence);
+        dirty = false;
+    }
+
+    private void flushBuffer() throws IOException {
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                channel.write(writeBuffer);
+            }
+        } finally {
+            // on failure the bytes are dropped; rollBack cuts off what did reach the file
+            writeBuffer.clear();
+        }
+    }
+
+    private void force() throws IOException {
+        channel.force(false);
+        dirty = false;
+        lastForce = System.nanoTime();
+    }
+
+    private void forceIfDue() {
+        if (!dirty || failure != null || System.nanoTime() - lastForce < flushIntervalNanos) return;
+        try {
+            force();
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, "Periodic fsync of submission log failed", e);
+        }
+    }
+
+    // Waits for queued submissions to be written, then stops the writer
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            queue.put(STOP);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.formcraft.dynamicform.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Streams records out of a submission log directory, oldest first, one segment open at a time.
+// Reading stops at the first torn or corrupt record, which is where the writer will resume.
+// Safe to use while the log is being written; records appended after a segment was finished
+// are picked up by the next reader.
+public final class SubmissionLogReader implements Closeable {
+
+    private final List<Path> segments;
+    private final ByteBuffer header = ByteBuffer.allocate(LogSegments.HEADER_BYTES);
+    private int segmentIndex = -1;
+    private FileChannel channel;
+    private long nextSequence;
+    private boolean finished;
+
+    private SubmissionLogReader(List<Path> segments) {
+        this.segments = segments;
+    }
+
+    public static SubmissionLogReader open(Path dir) throws IOException {
+        return new SubmissionLogReader(LogSegments.list(dir));
+    }
+
+    // Returns the next record, or null once the log is exhausted
+    public LogRecord next() throws IOException {
+        while (!finished) {
+            if (channel == null && !openNextSegment()) {
+                finished = true;
+                break;
+            }
+            long position = channel.position();
+            byte[] payload = LogSegments.readRecord(channel, header);
+            if (payload != null) {
+                return new LogRecord(nextSequence++, payload);
+            }
+
+            // a short read in the middle of the log means corruption; the writer only tears the tail
+            boolean lastSegment = segmentIndex == segments.size() - 1;
+            if (!lastSegment && position < channel.size()) {
+                finished = true;
+                break;
+            }
+            closeChannel();
+        }
+        return null;
+    }
+
+    private boolean openNextSegment() throws IOException {
+        segmentIndex++;
+        if (segmentIndex >= segments.size()) return false;
+        Path segment = segments.get(segmentIndex);
+        channel = FileChannel.open(segment, StandardOpenOption.READ);
+        nextSequence = LogSegments.baseSequence(segment);
+        return true;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        closeChannel();
+    }
+}
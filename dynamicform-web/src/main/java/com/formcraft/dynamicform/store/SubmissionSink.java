@@ -0,0 +1,15 @@
+package com.formcraft.dynamicform.store;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+// Where accepted submissions go. The returned future completes once the submission is as durable
+// as the sink promises; it fails with a RejectedExecutionException when the sink is saturated.
+// Implementations must be thread-safe. A custom sink can be plugged in with the
+// "submissionSink.class" context parameter (public no-arg constructor required).
+public interface SubmissionSink extends Closeable {
+
+    String ATTRIBUTE = SubmissionSink.class.getName();
+
+    CompletableFuture<Void> submit(Submission submission);
+}
@@ -0,0 +1,103 @@
+package com.formcraft.dynamicform.store;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Creates the SubmissionSink and the UniqueIndex and publishes them in the ServletContext.
+// Context parameters:
+//   submissionSink.class          - custom SubmissionSink implementation (default: SubmissionLog)
+//   uniqueIndex.class             - custom UniqueIndex implementation (default: MemoryUniqueIndex)
+//   uniqueIndex.expectedValues    - unique values the in-memory index is sized for
+//   submissionLog.dir             - log directory (default: "submissions" in the container temp dir)
+//   submissionLog.durability      - FSYNC (default) or PERIODIC
+//   submissionLog.segmentBytes    - segment rotation size
+//   submissionLog.queueCapacity   - submissions allowed to wait for the writer
+//   submissionLog.flushIntervalMs - fsync interval in PERIODIC mode
+@WebListener
+public class SubmissionStoreListener implements ServletContextListener {
+
+    private SubmissionSink sink;
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        ServletContext context = event.getServletContext();
+        try {
+            sink = createSink(context);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open submission log", e);
+        }
+        context.setAttribute(SubmissionSink.ATTRIBUTE, sink);
+        // empty here; filled from the log once the forms can be looked up (see UniqueFields)
+        context.setAttribute(UniqueIndex.ATTRIBUTE, createIndex(context));
+    }
+
+    private SubmissionSink createSink(ServletContext context) throws IOException {
+        String sinkClass = context.getInitParameter("submissionSink.class");
+        if (sinkClass != null && !sinkClass.isBlank()) {
+            return newInstance(SubmissionSink.class, sinkClass, "submission sink");
+        }
+
+        String dirParam = context.getInitParameter("submissionLog.dir");
+        Path dir;
+        if (dirParam != null && !dirParam.isBlank()) {
+            dir = Paths.get(dirParam.trim());
+        } else {
+            File tempDir = (File) context.getAttribute(ServletContext.TEMPDIR);
+            dir = tempDir.toPath().resolve("submissions");
+        }
+
+        String durability = context.getInitParameter("submissionLog.durability");
+        SubmissionLog log = new SubmissionLog(
+                dir,
+                durability != null ? Durability.valueOf(durability.trim().toUpperCase()) : Durability.FSYNC,
+                longParam(context, "submissionLog.segmentBytes", SubmissionLog.DEFAULT_SEGMENT_BYTES),
+                (int) longParam(context, "submissionLog.queueCapacity", SubmissionLog.DEFAULT_QUEUE_CAPACITY),
+                longParam(context, "submissionLog.flushIntervalMs", SubmissionLog.DEFAULT_FLUSH_INTERVAL_MILLIS));
+        context.log("Writing submissions to " + dir);
+        return log;
+    }
+
+    private UniqueIndex createIndex(ServletContext context) {
+        String indexClass = context.getInitParameter("uniqueIndex.class");
+        if (indexClass != null && !indexClass.isBlank()) {
+            return newInstance(UniqueIndex.class, indexClass, "unique index");
+        }
+        return new MemoryUniqueIndex((int) longParam(context, "uniqueIndex.expectedValues",
+                MemoryUniqueIndex.DEFAULT_EXPECTED_VALUES));
+    }
+
+    private <T> T newInstance(Class<T> type, String className, String description) {
+        try {
+            return type.cast(Class.forName(className.trim(), true, getClass().getClassLoader())
+                    .getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Cannot create " + description + " " + className, e);
+        }
+    }
+
+    private static long longParam(ServletContext context, String name, long defaultValue) {
+        String value = context.getInitParameter(name);
+        return value != null ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        event.getServletContext().removeAttribute(SubmissionSink.ATTRIBUTE);
+        event.getServletContext().removeAttribute(UniqueIndex.ATTRIBUTE);
+        if (sink != null) {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                event.getServletContext().log("Error closing submission sink", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.formcraft.dynamicform.store;
+
+// Values already taken for the "unique": true fields of each form. Values arrive normalised (trimmed
+// and lower-cased) by the caller. claim is the authority: of two submissions racing for one value,
+// exactly one may get true. contains only answers the probe endpoint and may be briefly stale.
+// Implementations must be thread-safe. A custom index can be plugged in with the
+// "uniqueIndex.class" context parameter (public no-arg constructor required); it is expected to
+// keep its own state, only the default in-memory index is rebuilt from the submission log.
+public interface UniqueIndex {
+
+    String ATTRIBUTE = UniqueIndex.class.getName();
+
+    boolean contains(String formId, String field, String value);
+
+    // Takes the value and returns true, or returns false when it is already taken
+    boolean claim(String formId, String field, String value);
+
+    // Gives back a claimed value whose submission was not stored
+    void release(String formId, String field, String value);
+}
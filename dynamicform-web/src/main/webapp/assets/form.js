@@ -0,0 +1,780 @@
+// Runs the rule table the server compiles from the form's schema (/formRules, see
+// CompiledSchema.clientRules) exactly as CompiledSchema.validate does: field rules first, then the
+// cross-field rules in their dependency order, with the same messages. valuesOf(name) returns
+// what the browser would submit for a field, as an array of strings.
+function createValidator(table) {
+    const LONG_MIN = -(2n ** 63n);
+    const LONG_MAX = 2n ** 63n - 1n;
+    const INT_MIN = -(2n ** 31n);
+    const INT_MAX = 2n ** 31n - 1n;
+    const DECIMAL = /^-?(?:[0-9]+(?:\.[0-9]+)?|\.[0-9]+)(?:[eE][+-]?[0-9]+)?$/;
+    const ASCII_INTEGER = /^[+-]?[0-9]+$/;
+    const UNICODE_INTEGER = /^[+-]?\p{Nd}+$/u;
+    // Character.isWhitespace, which String.isBlank uses; unlike \s it excludes no-break spaces
+    const BLANK = /^[\t\n\u000B\f\r\u001C-\u001F \u1680\u2000-\u2006\u2008-\u200A\u2028\u2029\u205F\u3000]*$/;
+
+    const requiredMessages = new Map();
+    table.fields.forEach(field => requiredMessages.set(field.name, field.requiredMessage));
+
+    function validate(valuesOf) {
+        const errors = new Map();
+        table.fields.forEach(field => {
+            const error = fieldError(field, valuesOf(field.name));
+            if (error !== null) errors.set(field.name, error);
+        });
+        table.crossFieldRules.forEach(rule => {
+            if (errors.size === 0 || !rule[1].some(name => errors.has(name))) {
+                crossFieldCheck(rule, valuesOf, errors);
+            }
+        });
+        return errors;
+    }
+
+    function fieldError(field, values) {
+        const value = values.length > 0 ? values[0] : null;
+        if (isBlank(value)) return field.required ? field.requiredMessage : null;
+        return firstError(field.rules, value, values);
+    }
+
+    function firstError(entries, value, values) {
+        for (const entry of entries) {
+            const error = check(entry, value, values);
+            if (error !== null) return error;
+        }
+        return null;
+    }
+
+    function passes(entries, value, values) {
+        return firstError(entries, value, values) === null;
+    }
+
+    // One entry of Rules, e.g. ["minLength", 3, message]
+    function check(e, value, values) {
+        switch (e[0]) {
+            case "minLength":
+                return codePoints(value, e[1]) < e[1] ? e[2] : null;
+            case "maxLength":
+                return codePoints(value, e[1] + 1) > e[1] ? e[2] : null;
+            case "pattern": {
+                const regex = patternOf(e);
+                return regex === null || regex.test(value) ? null : e[2];
+            }
+            case "format":
+                return matchesFormat(e[1], value) ? null : e[2];
+            case "enum":
+                return e[1].includes(value) ? null : e[2];
+            case "const":
+                return value === e[1] ? null : e[2];
+            case "accepted":
+                return value === "true" ? null : e[1];
+            case "boolean":
+                return value === "true" || value === "false" ? null : e[1];
+            case "integer": {
+                const n = parseLong(value);
+                if (n === undefined) return null;
+                if (n === null) return e[3];
+                if (e[1] !== null && n < BigInt(e[1])) return e[4];
+                if (e[2] !== null && n > BigInt(e[2])) return e[5];
+                return null;
+            }
+            case "number": {
+                if (!DECIMAL.test(value)) return e[5];
+                const n = Number(value);
+                const min = e[1] === null ? -Infinity : Number(e[1]);
+                const max = e[3] === null ? Infinity : Number(e[3]);
+                if (n < min || (e[2] && n === min)) return e[6];
+                if (n > max || (e[4] && n === max)) return e[7];
+                return null;
+            }
+            case "multipleOf":
+                return isMultipleOf(value, e[1]) === false ? e[2] : null;
+            case "items": {
+                const count = values !== null ? values.length : 0;
+                if (count < e[1]) return e[4];
+                if (count > e[2]) return e[5];
+                if (e[3] !== null) {
+                    for (let i = 0; i < count; i++) {
+                        if (!e[3].includes(values[i])) return e[6] + values[i];
+                    }
+                }
+                return null;
+            }
+            case "eachItem":
+                for (const item of values) {
+                    const error = firstError(e[1], item, null);
+                    if (error !== null) return error;
+                }
+                return null;
+            case "tuple":
+                for (let i = 0; i < values.length; i++) {
+                    const error = firstError(i < e[1].length ? e[1][i] : e[2], values[i], null);
+                    if (error !== null) return error;
+                }
+                return null;
+            case "uniqueItems":
+                return new Set(values).size === values.length ? null : e[1];
+            case "contains":
+                return values.some(item => passes(e[1], item, null)) ? null : e[2];
+            case "anyOf":
+                if (e[1].some(branch => passes(branch, value, values))) return null;
+                return e[1].length === 1 ? firstError(e[1][0], value, values) : e[2];
+            case "oneOf": {
+                let matched = 0;
+                for (let i = 0; i < e[1].length && matched < 2; i++) {
+                    if (passes(e[1][i], value, values)) matched++;
+                }
+                return matched === 1 ? null : matched === 0 ? e[2] : e[3];
+            }
+            case "not":
+                return passes(e[1], value, values) ? e[2] : null;
+            case "if":
+                return firstError(passes(e[1], value, values) ? e[2] : e[3], value, values);
+            default:
+                // a rule this script does not know yet is left to the server
+                return null;
+        }
+    }
+
+    // One entry of CrossFieldRules: [kind, [input names], arguments...]
+    function crossFieldCheck(e, valuesOf, errors) {
+        const first = name => {
+            const values = valuesOf(name);
+            return values.length > 0 ? values[0] : null;
+        };
+        switch (e[0]) {
+            case "allOf":
+                enforce(e[2], valuesOf, errors);
+                break;
+            case "if": {
+                const branch = matches(e[2], valuesOf) ? e[3] : e[4];
+                if (branch !== null) enforce(branch, valuesOf, errors);
+                break;
+            }
+            case "anyOf":
+            case "oneOf": {
+                const exactlyOne = e[0] === "oneOf";
+                let matched = 0;
+                for (let i = 0; i < e[3].length && matched < (exactlyOne ? 2 : 1); i++) {
+                    if (matches(e[3][i], valuesOf)) matched++;
+                }
+                if (matched === 0 || (exactlyOne && matched > 1)) errors.set(e[2], e[4]);
+                break;
+            }
+            case "not":
+                if (matches(e[3], valuesOf)) errors.set(e[2], e[4]);
+                break;
+            case "dependentRequired":
+                if (isBlank(first(e[2]))) break;
+                e[3].forEach((name, i) => {
+                    if (isBlank(first(name)) && !errors.has(name)) errors.set(name, e[4][i]);
+                });
+                break;
+            case "dependencies":
+                if (!isBlank(first(e[2]))) enforce(e[3], valuesOf, errors);
+                break;
+            case "required":
+                if (!e[2].some(name => !isBlank(first(name)))) break;
+                e[3].forEach((name, i) => {
+                    if (isBlank(first(name)) && !errors.has(name)) errors.set(name, e[4][i]);
+                });
+                break;
+            case "equals": {
+                const value = first(e[1][0]);
+                if (isBlank(value)) break;
+                for (let i = 1; i < e[1].length; i++) {
+                    const other = first(e[1][i]);
+                    if (!isBlank(other) && value !== other) {
+                        errors.set(e[2], e[3]);
+                        break;
+                    }
+                }
+                break;
+            }
+            case "ageMatchesDate": {
+                const birthDate = first(e[2]);
+                const age = first(e[3]);
+                if (isBlank(birthDate) || isBlank(age) || !isDate(birthDate)) break;
+                const stated = parseInt32(javaTrim(age));
+                if (stated !== null && Math.abs(stated - ageToday(birthDate)) > e[4]) errors.set(e[3], e[5]);
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    // SubSchema: {"required": [names], "properties": [[name, [entries]], ...]}
+    function matches(sub, valuesOf) {
+        for (const name of sub.required) {
+            const values = valuesOf(name);
+            if (isBlank(values.length > 0 ? values[0] : null)) return false;
+        }
+        for (const [name, entries] of sub.properties) {
+            const values = valuesOf(name);
+            const value = values.length > 0 ? values[0] : null;
+            if (isBlank(value)) continue;
+            if (!passes(entries, value, values)) return false;
+        }
+        return true;
+    }
+
+    function enforce(sub, valuesOf, errors) {
+        for (const name of sub.required) {
+            const values = valuesOf(name);
+            if (isBlank(values.length > 0 ? values[0] : null) && !errors.has(name)) {
+                errors.set(name, requiredMessages.get(name));
+            }
+        }
+        for (const [name, entries] of sub.properties) {
+            const values = valuesOf(name);
+            const value = values.length > 0 ? values[0] : null;
+            if (isBlank(value) || errors.has(name)) continue;
+            const error = firstError(entries, value, values);
+            if (error !== null) errors.set(name, error);
+        }
+    }
+
+    function isBlank(value) {
+        return value === null || BLANK.test(value);
+    }
+
+    // Code points, counted only as far as limit matters
+    function codePoints(value, limit) {
+        if (value.length < limit || value.length >= 2 * limit) return value.length;
+        let count = 0;
+        for (let i = 0; i < value.length; i++) {
+            const c = value.charCodeAt(i);
+            if (c >= 0xD800 && c <= 0xDBFF && i + 1 < value.length) {
+                const next = value.charCodeAt(i + 1);
+                if (next >= 0xDC00 && next <= 0xDFFF) i++;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    // Java's matches() anchors the whole value; a pattern JavaScript cannot compile is left to the server
+    function patternOf(entry) {
+        if (entry.regex === undefined) {
+            entry.regex = null;
+            for (const flags of ["u", ""]) {
+                try {
+                    entry.regex = new RegExp("^(?:" + entry[1] + ")$", flags);
+                    break;
+                } catch (ignored) {
+                    // try the next flags
+                }
+            }
+        }
+        return entry.regex;
+    }
+
+    // Long.parseLong: null when it would throw, undefined for non-ASCII digits this script does not parse
+    function parseLong(value) {
+        if (!ASCII_INTEGER.test(value)) return UNICODE_INTEGER.test(value) ? undefined : null;
+        const n = BigInt(value);
+        return n < LONG_MIN || n > LONG_MAX ? null : n;
+    }
+
+    function parseInt32(value) {
+        if (!ASCII_INTEGER.test(value)) return null;
+        const n = BigInt(value);
+        return n < INT_MIN || n > INT_MAX ? null : Number(n);
+    }
+
+    // String.trim: strips everything up to and including U+0020
+    function javaTrim(value) {
+        let start = 0;
+        let end = value.length;
+        while (start < end && value.charCodeAt(start) <= 32) start++;
+        while (end > start && value.charCodeAt(end - 1) <= 32) end--;
+        return value.substring(start, end);
+    }
+
+    // Exact decimal arithmetic on m * 10^e; undefined when the answer is left to the server
+    function isMultipleOf(value, divisorText) {
+        const divisor = decimal(divisorText);
+        if (divisor.e >= 0 && divisor.e < 19 && divisor.m * 10n ** BigInt(divisor.e) <= LONG_MAX) {
+            const n = parseLong(value);
+            if (n !== null && n !== undefined) return n % (divisor.m * 10n ** BigInt(divisor.e)) === 0n;
+        }
+        if (!DECIMAL.test(value)) return undefined;
+        const dividend = decimal(value);
+        if (Math.abs(dividend.e - divisor.e) > 1000) return undefined;
+        const e = Math.min(dividend.e, divisor.e);
+        const a = dividend.m * 10n ** BigInt(dividend.e - e);
+        const b = divisor.m * 10n ** BigInt(divisor.e - e);
+        return a % b === 0n;
+    }
+
+    // Trailing zeros stripped, as BigDecimal.stripTrailingZeros does
+    function decimal(text) {
+        const match = /^([+-]?)([0-9]*)(?:\.([0-9]*))?(?:[eE]([+-]?[0-9]+))?$/.exec(text);
+        const fraction = match[3] || "";
+        let m = BigInt(match[1] + (match[2] + fraction || "0"));
+        let e = (match[4] ? parseInt(match[4], 10) : 0) - fraction.length;
+        while (m !== 0n && m % 10n === 0n) {
+            m /= 10n;
+            e++;
+        }
+        return { m: m, e: e };
+    }
+
+    function ageToday(birthDate) {
+        const today = new Date();
+        const year = digits(birthDate, 0, 4);
+        const month = digits(birthDate, 5, 2);
+        const day = digits(birthDate, 8, 2);
+        let age = today.getUTCFullYear() - year;
+        const currentMonth = today.getUTCMonth() + 1;
+        if (currentMonth < month || (currentMonth === month && today.getUTCDate() < day)) age--;
+        return age;
+    }
+
+    // Formats.java, character for character
+    function matchesFormat(format, s) {
+        switch (format) {
+            case "email": return isEmail(s);
+            case "date": return isDate(s);
+            case "date-time": return isDateTime(s);
+            case "time": return isTimeAt(s, 0);
+            case "uri": return isUri(s);
+            case "uuid": return isUuid(s);
+            case "ipv4": return isIpv4(s);
+            default: return true;
+        }
+    }
+
+    function isEmail(s) {
+        let at = -1;
+        for (let i = 0; i < s.length; i++) {
+            const c = s[i];
+            if (" \t\n\u000B\f\r".includes(c)) return false;
+            if (c === "@") {
+                if (at >= 0) return false;
+                at = i;
+            }
+        }
+        if (at <= 0) return false;
+        for (let i = at + 2; i < s.length - 1; i++) {
+            if (s[i] === ".") return true;
+        }
+        return false;
+    }
+
+    function isDate(s) {
+        return s.length === 10 && isDateAt(s, 0);
+    }
+
+    function isDateTime(s) {
+        if (s.length < 20 || !isDateAt(s, 0)) return false;
+        if (s[10] !== "T" && s[10] !== "t") return false;
+        return isTimeAt(s, 11);
+    }
+
+    function isDateAt(s, p) {
+        if (s.length < p + 10 || s[p + 4] !== "-" || s[p + 7] !== "-") return false;
+        const year = digits(s, p, 4);
+        const month = digits(s, p + 5, 2);
+        const day = digits(s, p + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1) return false;
+        return day <= daysInMonth(year, month);
+    }
+
+    function isTimeAt(s, p) {
+        const len = s.length;
+        if (len < p + 9 || s[p + 2] !== ":" || s[p + 5] !== ":") return false;
+        const hour = digits(s, p, 2);
+        const minute = digits(s, p + 3, 2);
+        const second = digits(s, p + 6, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60) return false;
+
+        let i = p + 8;
+        if (s[i] === ".") {
+            const start = ++i;
+            while (i < len && isDigit(s[i])) i++;
+            if (i === start || i === len) return false;
+        }
+
+        const offset = s[i];
+        if (offset === "Z" || offset === "z") return i + 1 === len;
+        if (offset !== "+" && offset !== "-") return false;
+        if (len !== i + 6 || s[i + 3] !== ":") return false;
+        const offsetHour = digits(s, i + 1, 2);
+        const offsetMinute = digits(s, i + 4, 2);
+        return offsetHour >= 0 && offsetHour <= 23 && offsetMinute >= 0 && offsetMinute <= 59;
+    }
+
+    function daysInMonth(year, month) {
+        switch (month) {
+            case 2:
+                return (year % 4 === 0 && year % 100 !== 0) || year % 400 === 0 ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    function isUuid(s) {
+        if (s.length !== 36) return false;
+        for (let i = 0; i < 36; i++) {
+            if (i === 8 || i === 13 || i === 18 || i === 23) {
+                if (s[i] !== "-") return false;
+            } else if (!isHex(s[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    function isIpv4(s) {
+        const len = s.length;
+        let octets = 0;
+        let i = 0;
+        while (i < len) {
+            const start = i;
+            let value = 0;
+            while (i < len && isDigit(s[i])) {
+                value = value * 10 + (s.charCodeAt(i) - 48);
+                i++;
+                if (i - start > 3) return false;
+            }
+            const count = i - start;
+            if (count === 0 || value > 255) return false;
+            if (count > 1 && s[start] === "0") return false;
+            octets++;
+            if (i === len) break;
+            if (s[i] !== "." || octets === 4) return false;
+            i++;
+            if (i === len) return false;
+        }
+        return octets === 4;
+    }
+
+    function isUri(s) {
+        const len = s.length;
+        if (len < 2 || !isAlpha(s[0])) return false;
+        let i = 1;
+        while (i < len) {
+            const c = s[i];
+            if (c === ":") break;
+            if (!isAlpha(c) && !isDigit(c) && c !== "+" && c !== "-" && c !== ".") return false;
+            i++;
+        }
+        if (i === len) return false;
+        for (i++; i < len; i++) {
+            const c = s[i];
+            if (c === "%") {
+                if (i + 2 >= len || !isHex(s[i + 1]) || !isHex(s[i + 2])) return false;
+                i += 2;
+            } else if (!isAlpha(c) && !isDigit(c) && !"-._~:/?#[]@!$&'()*+,;=".includes(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    function digits(s, p, count) {
+        let value = 0;
+        for (let i = p; i < p + count; i++) {
+            if (!isDigit(s[i])) return -1;
+            value = value * 10 + (s.charCodeAt(i) - 48);
+        }
+        return value;
+    }
+
+    function isDigit(c) {
+        return c >= "0" && c <= "9";
+    }
+
+    function isAlpha(c) {
+        return (c >= "a" && c <= "z") || (c >= "A" && c <= "Z");
+    }
+
+    function isHex(c) {
+        return isDigit(c) || (c >= "a" && c <= "f") || (c >= "A" && c <= "F");
+    }
+
+    return { validate: validate };
+}
+
+document.addEventListener("DOMContentLoaded", function() {
+    const form = document.getElementById("dynamicForm");
+    const submitBtn = document.getElementById("submitBtn");
+
+    if (!form) return;
+
+    // Loaded from the versioned rules URL, normally straight from the browser cache. Until it
+    // arrives, or if it cannot be loaded, submissions go through and the server validates alone.
+    let validator = null;
+    // fields the user has left at least once; only their errors show before a submit
+    const touched = new Set();
+    // "unique": true fields, asked about on /checkUnique once their other rules pass
+    const uniqueNames = new Set();
+    // answers per field and value: a taken value stays taken for the page's lifetime, a free one is
+    // asked about again after a while; an entry without an answer is a request still in flight
+    const probes = new Map();
+    const FREE_FOR_MILLIS = 30000;
+
+    if (form.dataset.rules) {
+        fetch(form.dataset.rules, { credentials: 'same-origin' })
+            .then(response => response.ok ? response.json() : null)
+            .then(table => {
+                if (!table) return;
+                validator = createValidator(table);
+                table.fields.forEach(field => {
+                    if (field.unique) uniqueNames.add(field.name);
+                });
+            })
+            .catch(() => {});
+    }
+
+    // Initialize form enhancements
+    initializeFormValidation();
+    initializePasswordStrength();
+    addFieldAnimations();
+
+    function initializeFormValidation() {
+        const inputs = form.querySelectorAll('input, select, textarea');
+
+        inputs.forEach(input => {
+            input.addEventListener('blur', function() {
+                touched.add(this.name);
+                showErrors(false);
+            });
+
+            input.addEventListener('focus', function() {
+                clearFieldError(this.name);
+            });
+
+            // checkboxes, radios and selects have no meaningful blur
+            input.addEventListener('change', function() {
+                if (this.type === 'checkbox' || this.type === 'radio' || this.tagName === 'SELECT') {
+                    touched.add(this.name);
+                    showErrors(false);
+                }
+            });
+
+            const revalidate = debounce(() => showErrors(false), 500);
+            input.addEventListener('input', function() {
+                if (touched.has(this.name)) revalidate();
+            });
+        });
+
+        // Form submission validation
+        form.addEventListener('submit', function(event) {
+            event.preventDefault();
+
+            if (showErrors(true)) {
+                // Show loading state
+                submitBtn.disabled = true;
+                submitBtn.textContent = 'Creating Account...';
+
+                // Submit form after short delay for better UX
+                setTimeout(() => {
+                    this.submit();
+                }, 1000);
+            }
+        });
+    }
+
+    // What the browser would send, line breaks normalised to CRLF as form encoding does
+    function submittedValues() {
+        const data = new FormData(form);
+        return name => data.getAll(name)
+            .filter(value => typeof value === 'string')
+            .map(value => value.replace(/\r\n|\r|\n/g, '\r\n'));
+    }
+
+    // Validates the whole form and shows the errors of touched fields, or of all fields on submit.
+    // Returns false while an error is shown; errors the page has no place for are left to the
+    // server, which lists them at the top of the form it sends back.
+    function showErrors(all) {
+        if (!validator) return true;
+        const valuesOf = submittedValues();
+        const errors = validator.validate(valuesOf);
+        uniqueNames.forEach(name => {
+            const values = valuesOf(name);
+            if (errors.has(name) || values.length === 0 || values[0].trim() === '') return;
+            const taken = probeResult(name, values[0], all || touched.has(name));
+            if (taken) errors.set(name, taken);
+        });
+        let shown = false;
+
+        form.querySelectorAll('.error-message[id^="error-"]').forEach(errorDiv => {
+            const name = errorDiv.id.substring('error-'.length);
+            if (!all && !touched.has(name)) return;
+            if (errors.has(name)) {
+                showFieldError(name, errors.get(name));
+                shown = true;
+            } else {
+                showFieldSuccess(name);
+            }
+        });
+
+        return !shown;
+    }
+
+    // The message when the value is known to be taken, otherwise null. An unknown value is looked
+    // up when ask is set, and the errors shown again once the answer is in, if the value is still there.
+    // Blur asks at once; typing asks through the same debounce as revalidation.
+    function probeResult(name, value, ask) {
+        const key = name + '\n' + value;
+        const probe = probes.get(key);
+        if (probe && (probe.taken || Date.now() < probe.freeUntil)) return probe.taken;
+        if (!ask || (probe && probe.pending)) return null;
+
+        probes.set(key, { pending: true });
+        const url = `${form.dataset.unique}&field=${encodeURIComponent(name)}&value=${encodeURIComponent(value)}`;
+        fetch(url, { credentials: 'same-origin' })
+            .then(response => response.ok ? response.json() : null)
+            .then(answer => {
+                if (!answer) {
+                    // rate-limited or unavailable: the server checks again on submit
+                    probes.delete(key);
+                    return;
+                }
+                const taken = answer.valid ? null : (answer.errors && answer.errors[name]) || null;
+                probes.set(key, { taken: taken, freeUntil: Date.now() + FREE_FOR_MILLIS });
+                if (submittedValues()(name)[0] === value) showErrors(false);
+            })
+            .catch(() => probes.delete(key));
+        return null;
+    }
+
+    function controls(name) {
+        return Array.from(form.elements).filter(element => element.name === name
+            && element.type !== 'checkbox' && element.type !== 'radio');
+    }
+
+    function showFieldError(name, message) {
+        const errorDiv = document.getElementById(`error-${name}`);
+        if (errorDiv) {
+            errorDiv.textContent = message;
+            errorDiv.classList.add('show');
+        }
+
+        controls(name).forEach(field => {
+            field.classList.add('error');
+            field.classList.remove('success');
+        });
+    }
+
+    function showFieldSuccess(name) {
+        const errorDiv = document.getElementById(`error-${name}`);
+        if (errorDiv) {
+            errorDiv.classList.remove('show');
+        }
+
+        controls(name).forEach(field => {
+            field.classList.remove('error');
+            field.classList.add('success');
+        });
+    }
+
+    function clearFieldError(name) {
+        const errorDiv = document.getElementById(`error-${name}`);
+        if (errorDiv) {
+            errorDiv.classList.remove('show');
+        }
+
+        controls(name).forEach(field => field.classList.remove('error'));
+    }
+
+    function initializePasswordStrength() {
+        const passwordField = document.getElementById('password');
+        const strengthDiv = document.getElementById('strength-password');
+
+        if (!passwordField || !strengthDiv) return;
+
+        passwordField.addEventListener('input', function() {
+            const password = this.value;
+            const strength = calculatePasswordStrength(password);
+
+            strengthDiv.className = `password-strength ${strength.level}`;
+            strengthDiv.innerHTML = `<div class="strength-bar"></div>`;
+
+            // Add strength text
+            const strengthText = document.createElement('div');
+            strengthText.style.cssText = 'font-size: 12px; margin-top: 4px; font-weight: 500;';
+            strengthText.textContent = `Password strength: ${strength.level.toUpperCase()}`;
+            strengthDiv.appendChild(strengthText);
+        });
+    }
+
+    function calculatePasswordStrength(password) {
+        let score = 0;
+
+        if (password.length >= 8) score++;
+        if (password.length >= 12) score++;
+        if (/[a-z]/.test(password)) score++;
+        if (/[A-Z]/.test(password)) score++;
+        if (/\d/.test(password)) score++;
+        if (/[^a-zA-Z\d]/.test(password)) score++;
+
+        if (score <= 2) return { level: 'weak', score };
+        if (score <= 3) return { level: 'fair', score };
+        if (score <= 4) return { level: 'good', score };
+        return { level: 'strong', score };
+    }
+
+    function addFieldAnimations() {
+        const fieldWrappers = form.querySelectorAll('.field-wrapper');
+
+        fieldWrappers.forEach((wrapper, index) => {
+            wrapper.style.animationDelay = `${index * 0.1}s`;
+        });
+    }
+
+    // Utility function for debouncing
+    function debounce(func, wait) {
+        let timeout;
+        return function executedFunction(...args) {
+            const later = () => {
+                clearTimeout(timeout);
+                func(...args);
+            };
+            clearTimeout(timeout);
+            timeout = setTimeout(later, wait);
+        };
+    }
+
+    let formData = {};
+
+    function saveFormData() {
+        const inputs = form.querySelectorAll('input, select, textarea');
+        inputs.forEach(input => {
+            if (input.type === 'checkbox') {
+                formData[input.name] = input.checked;
+            } else if (input.type === 'radio') {
+                if (input.checked) {
+                    formData[input.name] = input.value;
+                }
+            } else {
+                formData[input.name] = input.value;
+            }
+        });
+    }
+
+    function restoreFormData() {
+        const inputs = form.querySelectorAll('input, select, textarea');
+        inputs.forEach(input => {
+            if (formData[input.name] !== undefined) {
+                if (input.type === 'checkbox') {
+                    input.checked = formData[input.name];
+                } else if (input.type === 'radio') {
+                    input.checked = (input.value === formData[input.name]);
+                } else {
+                    input.value = formData[input.name];
+                }
+            }
+        });
+    }
+
+    setInterval(saveFormData, 5000);
+    window.addEventListener('beforeunload', saveFormData);
+});
@@ -0,0 +1,31 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<!DOCTYPE html>
+<html lang="en">
+<head>
+    <meta charset="UTF-8">
+    <meta name="viewport" content="width=device-width, initial-scale=1.0">
+    <title>${formTitle}</title>
+    <link rel="stylesheet" href="${formStylesheet}">
+</head>
+<body>
+<div class="container">
+    <div class="form-header">
+        <h1>${formTitle}</h1>
+    </div>
+
+    <div class="form-body">
+        <form method="POST" action="${formAction}" id="dynamicForm" data-rules="${formRules}" data-unique="${formUniqueCheck}" novalidate>
+            ${formFields}
+
+            <div class="submit-section">
+                <button type="submit" class="submit-btn" id="submitBtn">
+                    ${submitLabel}
+                </button>
+            </div>
+        </form>
+    </div>
+</div>
+
+<script src="${formScript}"></script>
+</body>
+</html>
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.formcraft.dynamicform;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormRegistryTest {
+
+    @Test
+    void lazyLoadThatReadOldFilesIsNotCached() throws Exception {
+        SlowLoader loader = new SlowLoader();
+        FormRegistry registry = new FormRegistry(loader, 1 << 30);
+        loader.holdNextLoad();
+
+        CompletableFuture<FormModel> first = CompletableFuture.supplyAsync(() -> get(registry));
+        loader.awaitHeld();
+        // the files change while the first load is still parsing the old ones
+        loader.version.set(2);
+        assertFalse(registry.reload("f"));
+        loader.release();
+
+        assertEquals("v2", first.get(5, TimeUnit.SECONDS).formTitle());
+        assertEquals("v2", get(registry).formTitle());
+    }
+
+    @Test
+    void olderReloadDoesNotOverwriteNewerOne() throws Exception {
+        SlowLoader loader = new SlowLoader();
+        FormRegistry registry = new FormRegistry(loader, 1 << 30);
+        assertEquals("v1", get(registry).formTitle());
+
+        loader.version.set(2);
+        loader.holdNextLoad();
+        CompletableFuture<Boolean> slow = CompletableFuture.supplyAsync(() -> reload(registry));
+        loader.awaitHeld();
+        loader.version.set(3);
+        assertTrue(registry.reload("f"));
+        loader.release();
+
+        assertTrue(slow.get(5, TimeUnit.SECONDS));
+        assertEquals("v3", get(registry).formTitle());
+    }
+
+    @Test
+    void invalidateDuringLoadDoesNotKeepTheOldModel() throws Exception {
+        SlowLoader loader = new SlowLoader();
+        FormRegistry registry = new FormRegistry(loader, 1 << 30);
+        loader.holdNextLoad();
+
+        CompletableFuture<FormModel> first = CompletableFuture.supplyAsync(() -> get(registry));
+        loader.awaitHeld();
+        loader.version.set(2);
+        registry.invalidate("f");
+        loader.release();
+
+        assertEquals("v2", first.get(5, TimeUnit.SECONDS).formTitle());
+        assertEquals("v2", get(registry).formTitle());
+    }
+
+    private static FormModel get(FormRegistry registry) {
+        try {
+            return registry.get("f");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean reload(FormRegistry registry) {
+        try {
+            return registry.reload("f");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Serves form "f" titled after the current version; can hold one load after it has read the files
+    private static final class SlowLoader extends FormLoader {
+
+        final AtomicInteger version = new AtomicInteger(1);
+        private volatile CountDownLatch held;
+        private volatile CountDownLatch release;
+
+        SlowLoader() {
+            super(FormRegistryTest.class.getClassLoader());
+        }
+
+        void holdNextLoad() {
+            held = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+        }
+
+        void awaitHeld() throws InterruptedException {
+            assertTrue(held.await(5, TimeUnit.SECONDS));
+        }
+
+        void release() {
+            release.countDown();
+        }
+
+        @Override
+        public FormModel load(String formId) {
+            String schema = "{\"type\": \"object\", \"properties\": {\"name\": {\"type\": \"string\"}}}";
+            String ui = "{\"formTitle\": \"v" + version.get() + "\", \"fields\": {\"name\": {}}}";
+            CountDownLatch hold = held;
+            if (hold != null && hold.getCount() > 0) {
+                hold.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return FormModel.parse(formId, schema.getBytes(StandardCharsets.UTF_8), ui.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
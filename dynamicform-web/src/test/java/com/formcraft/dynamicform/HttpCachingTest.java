@@ -0,0 +1,101 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpCachingTest {
+
+    private static final String ETAG = "\"abc\"";
+
+    @Test
+    void firstAndLastByte() {
+        assertArrayEquals(new long[]{0, 9}, range("bytes=0-9"));
+        assertArrayEquals(new long[]{99, 99}, range("bytes=99-99"));
+        assertArrayEquals(new long[]{0, 1}, range("BYTES=0-1"));
+        // the end is clamped to the body
+        assertArrayEquals(new long[]{90, 99}, range("bytes=90-200"));
+    }
+
+    @Test
+    void openEndedRange() {
+        assertArrayEquals(new long[]{90, 99}, range("bytes=90-"));
+        assertArrayEquals(new long[]{0, 99}, range("bytes=0-"));
+        assertArrayEquals(new long[0], range("bytes=100-"));
+        assertArrayEquals(new long[0], range("bytes=100000-"));
+    }
+
+    @Test
+    void suffixRange() {
+        assertArrayEquals(new long[]{90, 99}, range("bytes=-10"));
+        assertArrayEquals(new long[]{0, 99}, range("bytes=-500"));
+        assertArrayEquals(new long[0], range("bytes=-0"));
+        assertArrayEquals(new long[0], HttpCaching.byteRange(request("Range", "bytes=-5"), ETAG, 0));
+    }
+
+    @Test
+    void wholeBodyForAnythingElse() {
+        assertNull(range(null));
+        assertNull(range("bytes=5-2"));
+        assertNull(range("bytes=0-1,5-6"));
+        assertNull(range("bytes=a-b"));
+        assertNull(range("bytes=5"));
+        assertNull(range("items=0-1"));
+        assertNull(range("bytes=--1"));
+        assertNull(range("bytes=+1-5"));
+        assertNull(range("bytes=1-+5"));
+        assertNull(range("bytes=-"));
+        assertNull(range("bytes=99999999999999999999-"));
+    }
+
+    @Test
+    void ifRangeMustNameTheCurrentEntityTag() {
+        assertArrayEquals(new long[]{0, 9},
+                HttpCaching.byteRange(request("Range", "bytes=0-9", "If-Range", ETAG), ETAG, 100));
+        assertNull(HttpCaching.byteRange(request("Range", "bytes=0-9", "If-Range", "\"old\""), ETAG, 100));
+        assertNull(HttpCaching.byteRange(request("Range", "bytes=0-9", "If-Range", "W/\"abc\""), ETAG, 100));
+        // no Last-Modified is ever sent, so a date cannot match
+        assertNull(HttpCaching.byteRange(
+                request("Range", "bytes=0-9", "If-Range", "Wed, 21 Oct 2015 07:28:00 GMT"), ETAG, 100));
+    }
+
+    @Test
+    void ifNoneMatchComparesWeakly() {
+        assertTrue(HttpCaching.notModified(request("If-None-Match", ETAG), ETAG));
+        assertTrue(HttpCaching.notModified(request("If-None-Match", "\"x\", W/\"abc\""), ETAG));
+        assertTrue(HttpCaching.notModified(request("If-None-Match", " * "), ETAG));
+        assertFalse(HttpCaching.notModified(request("If-None-Match", "\"abcd\""), ETAG));
+        assertFalse(HttpCaching.notModified(request(), ETAG));
+    }
+
+    @Test
+    void acceptEncoding() {
+        assertTrue(HttpCaching.accepts("deflate, GZIP;q=0.5", "gzip"));
+        assertFalse(HttpCaching.accepts("gzip;q=0", "gzip"));
+        assertFalse(HttpCaching.accepts("gzip;q=0.000", "gzip"));
+        assertFalse(HttpCaching.accepts("br", "gzip"));
+        assertFalse(HttpCaching.accepts(null, "gzip"));
+    }
+
+    private static long[] range(String header) {
+        return HttpCaching.byteRange(header != null ? request("Range", header) : request(), ETAG, 100);
+    }
+
+    // A request that only answers getHeader
+    static HttpServletRequest request(String... headers) {
+        Map<String, String> byName = new HashMap<>();
+        for (int i = 0; i < headers.length; i += 2) {
+            byName.put(headers[i].toLowerCase(), headers[i + 1]);
+        }
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpCachingTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getHeader")) return byName.get(((String) args[0]).toLowerCase());
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
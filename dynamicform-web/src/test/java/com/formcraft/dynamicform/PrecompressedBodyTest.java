@@ -0,0 +1,157 @@
+package com.formcraft.dynamicform;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static com.formcraft.dynamicform.HttpCachingTest.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrecompressedBodyTest {
+
+    private static final String TEXT = "body { color: black; }\n".repeat(40);
+    // the same text in three segments, so ranges cross segment boundaries
+    private static final PrecompressedBody BODY = new PrecompressedBody("text/css", "h1", List.of(
+            TEXT.substring(0, 100).getBytes(StandardCharsets.UTF_8),
+            TEXT.substring(100, 500).getBytes(StandardCharsets.UTF_8),
+            TEXT.substring(500).getBytes(StandardCharsets.UTF_8)));
+
+    @Test
+    void sendsTheWholeBody() throws IOException {
+        Response response = new Response();
+        assertTrue(BODY.write(request(), response.proxy(), PrecompressedBody.IMMUTABLE));
+        assertEquals(200, response.status);
+        assertEquals(TEXT, response.text());
+        assertEquals("\"h1\"", response.headers.get("ETag"));
+        assertEquals(PrecompressedBody.IMMUTABLE, response.headers.get("Cache-Control"));
+        assertEquals("text/css", response.contentType);
+        assertEquals(TEXT.length(), response.contentLength);
+        assertNull(response.headers.get("Content-Encoding"));
+    }
+
+    @Test
+    void sendsGzipWhenAcceptedAndSmaller() throws IOException {
+        Response response = new Response();
+        BODY.write(request("Accept-Encoding", "gzip"), response.proxy(), "no-cache");
+        assertEquals("gzip", response.headers.get("Content-Encoding"));
+        assertEquals("\"h1-gzip\"", response.headers.get("ETag"));
+        assertEquals(response.body.size(), response.contentLength);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body.toByteArray()))) {
+            assertEquals(TEXT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        // too short to gain anything from compression
+        PrecompressedBody tiny = new PrecompressedBody("text/plain", "t", List.of(new byte[]{'x'}));
+        response = new Response();
+        tiny.write(request("Accept-Encoding", "gzip"), response.proxy(), "no-cache");
+        assertNull(response.headers.get("Content-Encoding"));
+        assertEquals("x", response.text());
+    }
+
+    @Test
+    void notModifiedPerCoding() throws IOException {
+        Response response = new Response();
+        assertFalse(BODY.write(request("If-None-Match", "\"h1\""), response.proxy(), "no-cache"));
+        assertEquals(304, response.status);
+        assertEquals(0, response.body.size());
+
+        // the identity tag does not validate the gzip representation
+        response = new Response();
+        assertTrue(BODY.write(request("If-None-Match", "\"h1\"", "Accept-Encoding", "gzip"), response.proxy(), "no-cache"));
+        assertEquals(200, response.status);
+    }
+
+    @Test
+    void rangeAcrossSegments() throws IOException {
+        Response response = new Response();
+        BODY.write(request("Range", "bytes=90-509"), response.proxy(), "no-cache");
+        assertEquals(206, response.status);
+        assertEquals("bytes 90-509/" + TEXT.length(), response.headers.get("Content-Range"));
+        assertEquals(420, response.contentLength);
+        assertEquals(TEXT.substring(90, 510), response.text());
+
+        response = new Response();
+        BODY.write(request("Range", "bytes=-5"), response.proxy(), "no-cache");
+        assertEquals(TEXT.substring(TEXT.length() - 5), response.text());
+    }
+
+    @Test
+    void unsatisfiableRange() throws IOException {
+        Response response = new Response();
+        BODY.write(request("Range", "bytes=" + TEXT.length() + "-"), response.proxy(), "no-cache");
+        assertEquals(416, response.status);
+        assertEquals("bytes */" + TEXT.length(), response.headers.get("Content-Range"));
+        assertEquals(0, response.body.size());
+    }
+
+    @Test
+    void staleIfRangeGetsTheWholeBody() throws IOException {
+        Response response = new Response();
+        BODY.write(request("Range", "bytes=0-9", "If-Range", "\"old\""), response.proxy(), "no-cache");
+        assertEquals(200, response.status);
+        assertEquals(TEXT, response.text());
+    }
+
+    // Records what the body writes into a response
+    private static final class Response {
+        int status = 200;
+        String contentType;
+        int contentLength = -1;
+        final Map<String, String> headers = new HashMap<>();
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        String text() {
+            return body.toString(StandardCharsets.UTF_8);
+        }
+
+        HttpServletResponse proxy() {
+            ServletOutputStream out = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                }
+
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+            };
+            return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "setHeader":
+                                headers.put((String) args[0], (String) args[1]);
+                                return null;
+                            case "setStatus":
+                                status = (Integer) args[0];
+                                return null;
+                            case "setContentType":
+                                contentType = (String) args[0];
+                                return null;
+                            case "setContentLength":
+                                contentLength = (Integer) args[0];
+                                return null;
+                            case "getOutputStream":
+                                return out;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+}
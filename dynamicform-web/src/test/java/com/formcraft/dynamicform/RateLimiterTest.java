@@ -0,0 +1,66 @@
+package com.formcraft.dynamicform;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(123_456_789L);
+
+    @Test
+    void letsABurstThroughThenPacesToTheRate() {
+        // one request a second, bursts of three
+        RateLimiter limiter = new RateLimiter(60, 3, 1024, clock::get);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("a"));
+        }
+        assertEquals(SECOND, limiter.acquire("a"));
+
+        clock.addAndGet(SECOND / 2);
+        assertEquals(SECOND / 2, limiter.acquire("a"));
+        clock.addAndGet(SECOND / 2);
+        assertEquals(0, limiter.acquire("a"));
+        assertTrue(limiter.acquire("a") > 0);
+    }
+
+    @Test
+    void bucketRefillsCompletelyAfterIdling() {
+        RateLimiter limiter = new RateLimiter(60, 3, 1024, clock::get);
+        for (int i = 0; i < 3; i++) limiter.acquire("a");
+        assertTrue(limiter.acquire("a") > 0);
+
+        clock.addAndGet(3 * SECOND);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("a"));
+        }
+        assertTrue(limiter.acquire("a") > 0);
+    }
+
+    @Test
+    void clientsHaveTheirOwnBudget() {
+        RateLimiter limiter = new RateLimiter(60, 1, 1024, clock::get);
+        assertEquals(0, limiter.acquire("10.0.0.1"));
+        assertTrue(limiter.acquire("10.0.0.1") > 0);
+        assertEquals(0, limiter.acquire("10.0.0.2"));
+    }
+
+    @Test
+    void busyOncePastHalfTheBurst() {
+        RateLimiter limiter = new RateLimiter(60, 4, 1024, clock::get);
+        assertFalse(limiter.isBusy("a"));
+        limiter.acquire("a");
+        limiter.acquire("a");
+        assertFalse(limiter.isBusy("a"));
+        limiter.acquire("a");
+        assertTrue(limiter.isBusy("a"));
+
+        clock.addAndGet(2 * SECOND);
+        assertFalse(limiter.isBusy("a"));
+    }
+}
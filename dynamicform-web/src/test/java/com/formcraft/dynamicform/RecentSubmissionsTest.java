@@ -0,0 +1,60 @@
+package com.formcraft.dynamicform;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentSubmissionsTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(-42L);
+
+    @Test
+    void turnsAwayRepeatsWithinTheWindow() {
+        RecentSubmissions recent = new RecentSubmissions(1024, 1000, clock::get);
+        assertTrue(recent.add(7));
+        assertTrue(recent.add(8));
+        assertFalse(recent.add(7));
+
+        clock.addAndGet(999 * MILLI);
+        assertFalse(recent.add(7));
+    }
+
+    @Test
+    void forgetsFingerprintsOnceTheWindowHasPassed() {
+        RecentSubmissions recent = new RecentSubmissions(1024, 1000, clock::get);
+        assertTrue(recent.add(7));
+        // a repeat inside the window does not extend it
+        clock.addAndGet(500 * MILLI);
+        assertFalse(recent.add(7));
+
+        clock.addAndGet(500 * MILLI);
+        assertTrue(recent.add(7));
+        assertFalse(recent.add(7));
+    }
+
+    @Test
+    void removedFingerprintCanBeAddedAgain() {
+        RecentSubmissions recent = new RecentSubmissions(1024, 1000, clock::get);
+        assertTrue(recent.add(7));
+        recent.remove(7);
+        assertTrue(recent.add(7));
+    }
+
+    @Test
+    void fullTableForgetsTheOldestFirst() {
+        // the smallest table: two sets of four
+        RecentSubmissions recent = new RecentSubmissions(1, 1000, clock::get);
+        for (long f = 0; f < 100; f++) {
+            assertTrue(recent.add(f));
+            clock.addAndGet(MILLI);
+        }
+        // the last one added is still remembered, the first ones are gone
+        assertFalse(recent.add(99));
+        assertTrue(recent.add(0));
+    }
+}
@@ -0,0 +1,181 @@
+package com.formcraft.dynamicform;
+
+import com.formcraft.dynamicform.store.MemoryUniqueIndex;
+import com.formcraft.dynamicform.store.Submission;
+import com.formcraft.dynamicform.store.SubmissionLog;
+import com.formcraft.dynamicform.store.SubmissionSink;
+import com.formcraft.dynamicform.store.UniqueIndex;
+import com.formcraft.dynamicform.validation.CompiledSchema;
+import com.formcraft.dynamicform.validation.FormValues;
+import com.formcraft.dynamicform.validation.ValidationResult;
+import jakarta.servlet.ServletContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UniqueFieldsTest {
+
+    private static final String SCHEMA = """
+            {"type": "object",
+             "properties": {
+               "username": {"type": "string", "unique": true},
+               "email": {"type": "string", "unique": true},
+               "city": {"type": "string"}
+             }}""";
+    private static final String UI = "{\"fields\": {\"username\": {}, \"email\": {}, \"city\": {}}}";
+
+    @TempDir
+    Path dir;
+
+    private final FormModel form = FormModel.parse("signup",
+            SCHEMA.getBytes(StandardCharsets.UTF_8), UI.getBytes(StandardCharsets.UTF_8));
+    private final CompiledSchema schema = form.schema();
+
+    @Test
+    void valuesCompareTrimmedAndCaseInsensitive() {
+        UniqueFields fields = new UniqueFields(new MemoryUniqueIndex());
+        assertTrue(fields.claim("signup", schema, values("Ann ", "Ann@Example.com"), new ValidationResult()));
+
+        ValidationResult result = new ValidationResult();
+        assertFalse(fields.claim("signup", schema, values(" ann", "other@example.com"), result));
+        assertEquals(Map.of("username", "username is already taken"), result.getErrors());
+        assertTrue(fields.isTaken("signup", "email", "ANN@example.com"));
+        assertFalse(fields.isTaken("other", "email", "ann@example.com"));
+        assertFalse(fields.isTaken("signup", "username", "  "));
+    }
+
+    @Test
+    void oneTakenValueLeavesNoneClaimed() {
+        UniqueFields fields = new UniqueFields(new MemoryUniqueIndex());
+        assertTrue(fields.claim("signup", schema, values("bob", "bob@example.com"), new ValidationResult()));
+
+        ValidationResult result = new ValidationResult();
+        assertFalse(fields.claim("signup", schema, values("carol", "bob@example.com"), result));
+        assertEquals(Map.of("email", "email is already taken"), result.getErrors());
+        // carol was claimed on the way and must have been given back
+        assertFalse(fields.isTaken("signup", "username", "carol"));
+    }
+
+    @Test
+    void releaseAfterAFailedStoreFreesTheValues() {
+        UniqueFields fields = new UniqueFields(new MemoryUniqueIndex());
+        FormValues values = values("dave", "dave@example.com");
+        assertTrue(fields.claim("signup", schema, values, new ValidationResult()));
+        // as SubmitFormServlet does when the log refuses or times out
+        fields.release("signup", schema, values);
+
+        assertFalse(fields.isTaken("signup", "username", "dave"));
+        assertTrue(fields.claim("signup", schema, values("Dave", "dave@example.com"), new ValidationResult()));
+    }
+
+    @Test
+    void exactlyOneOfTwoRacingSubmissionsGetsTheUsername() throws Exception {
+        UniqueFields fields = new UniqueFields(new MemoryUniqueIndex());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 500; round++) {
+                String username = "racer" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<ValidationResult>> submits = new ArrayList<>();
+                for (int t = 0; t < 2; t++) {
+                    FormValues values = values(t == 0 ? username : username.toUpperCase(), round + "-" + t + "@example.com");
+                    submits.add(executor.submit(() -> {
+                        start.await();
+                        ValidationResult result = new ValidationResult();
+                        fields.claim("signup", schema, values, result);
+                        return result;
+                    }));
+                }
+                start.countDown();
+                int accepted = 0;
+                for (Future<ValidationResult> submit : submits) {
+                    if (submit.get(5, TimeUnit.SECONDS).isValid()) accepted++;
+                }
+                assertEquals(1, accepted, username);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void indexRebuiltFromTheLogRejectsStoredValues() throws Exception {
+        try (SubmissionLog log = new SubmissionLog(dir)) {
+            log.submit(new Submission("signup", 1, Map.of("username", "Erin", "email", "erin@example.com")))
+                    .get(5, TimeUnit.SECONDS);
+            log.submit(new Submission("signup", 2, Map.of("username", "frank", "city", "Oslo")))
+                    .get(5, TimeUnit.SECONDS);
+            // a form that is gone is skipped
+            log.submit(new Submission("retired", 3, Map.of("username", "gina"))).get(5, TimeUnit.SECONDS);
+
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put(SubmissionSink.ATTRIBUTE, log);
+            attributes.put(UniqueIndex.ATTRIBUTE, new MemoryUniqueIndex());
+            attributes.put(FormRegistry.ATTRIBUTE, new FormRegistry(new SingleFormLoader(form), 1 << 30));
+            UniqueFields fields = UniqueFields.from(context(attributes));
+
+            assertTrue(fields.isTaken("signup", "username", "erin"));
+            assertTrue(fields.isTaken("signup", "email", "erin@example.com"));
+            assertTrue(fields.isTaken("signup", "username", "Frank"));
+            assertFalse(fields.isTaken("signup", "username", "gina"));
+
+            ValidationResult result = new ValidationResult();
+            assertFalse(fields.claim("signup", schema, values("ERIN", "new@example.com"), result));
+            assertEquals(Map.of("username", "username is already taken"), result.getErrors());
+            assertTrue(fields.claim("signup", schema, values("gina", "gina@example.com"), new ValidationResult()));
+            // built once per context
+            assertSame(fields, UniqueFields.from(context(attributes)));
+        }
+    }
+
+    private FormValues values(String username, String email) {
+        return schema.values(Map.of("username", username, "email", email));
+    }
+
+    private static ServletContext context(Map<String, Object> attributes) {
+        return (ServletContext) Proxy.newProxyInstance(UniqueFieldsTest.class.getClassLoader(),
+                new Class<?>[]{ServletContext.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAttribute":
+                            return attributes.get((String) args[0]);
+                        case "setAttribute":
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        case "log":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    // Knows one form; every other id is unknown
+    private static final class SingleFormLoader extends FormLoader {
+        private final FormModel form;
+
+        SingleFormLoader(FormModel form) {
+            super(UniqueFieldsTest.class.getClassLoader());
+            this.form = form;
+        }
+
+        @Override
+        public FormModel load(String formId) throws UnknownFormException {
+            if (!formId.equals(form.id())) throw new UnknownFormException(formId);
+            return form;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.formcraft.dynamicform.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryUniqueIndexTest {
+
+    @Test
+    void filterIsSizedForOnePercentFalsePositives() {
+        // m = n ln(100) / ln(2)^2 = 9.59 bits a value, rounded up to a power of two; k = m/n ln(2)
+        MemoryUniqueIndex index = new MemoryUniqueIndex(1 << 20);
+        assertEquals(1L << 24, index.filterBits());
+        assertEquals(11, index.hashCount());
+
+        MemoryUniqueIndex small = new MemoryUniqueIndex(10);
+        // never below 1024 expected values
+        assertEquals(1L << 14, small.filterBits());
+        assertEquals(11, small.hashCount());
+
+        // just past a power of two the table doubles, and fewer hashes fill it best
+        MemoryUniqueIndex over = new MemoryUniqueIndex(1800);
+        assertEquals(1L << 15, over.filterBits());
+        assertEquals(13, over.hashCount());
+    }
+
+    @Test
+    void claimContainsRelease() {
+        MemoryUniqueIndex index = new MemoryUniqueIndex();
+        assertFalse(index.contains("f", "email", "a@example.com"));
+        assertTrue(index.claim("f", "email", "a@example.com"));
+        assertFalse(index.claim("f", "email", "a@example.com"));
+        assertTrue(index.contains("f", "email", "a@example.com"));
+        // scoped by form and field
+        assertTrue(index.claim("g", "email", "a@example.com"));
+        assertTrue(index.claim("f", "username", "a@example.com"));
+        // parts are length-prefixed, so shifting characters between them makes a different key
+        assertTrue(index.claim("f", "emai", "la@example.com"));
+        assertEquals(4, index.size());
+
+        index.release("f", "email", "a@example.com");
+        assertFalse(index.contains("f", "email", "a@example.com"));
+        assertTrue(index.claim("f", "email", "a@example.com"));
+    }
+
+    @Test
+    void filterPassesProbesForFreeValuesToTheExactSet() {
+        MemoryUniqueIndex index = new MemoryUniqueIndex(1024);
+        // well past the expected count, so the filter lets many free values through
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(index.claim("f", "username", "taken" + i));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            assertFalse(index.contains("f", "username", "free" + i));
+            assertTrue(index.contains("f", "username", "taken" + i));
+        }
+    }
+
+    @Test
+    void exactlyOneOfManyRacingClaimsWins() throws Exception {
+        MemoryUniqueIndex index = new MemoryUniqueIndex();
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                String value = "user" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> claims = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    claims.add(executor.submit(() -> {
+                        start.await();
+                        return index.claim("f", "username", value);
+                    }));
+                }
+                start.countDown();
+                int won = 0;
+                for (Future<Boolean> claim : claims) {
+                    if (claim.get(5, TimeUnit.SECONDS)) won++;
+                }
+                assertEquals(1, won, value);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
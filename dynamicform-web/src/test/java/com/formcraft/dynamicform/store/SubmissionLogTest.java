@@ -0,0 +1,294 @@
+package com.formcraft.dynamicform.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubmissionLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsBackRecordsInOrderAcrossSegments() throws Exception {
+        try (SubmissionLog log = new SubmissionLog(dir, Durability.FSYNC, 256, 1024, 200)) {
+            for (int i = 0; i < 20; i++) {
+                log.submit(submission(i)).get(5, TimeUnit.SECONDS);
+            }
+        }
+        assertTrue(LogSegments.list(dir).size() > 1);
+        assertEquals(range(0, 20), readNames());
+    }
+
+    @Test
+    void recoveryCutsOffTornTailAndAppendsAfterIt() throws Exception {
+        try (SubmissionLog log = new SubmissionLog(dir)) {
+            log.submit(submission(0)).get(5, TimeUnit.SECONDS);
+            log.submit(submission(1)).get(5, TimeUnit.SECONDS);
+        }
+        Path segment = LogSegments.list(dir).get(0);
+        long goodSize = Files.size(segment);
+        // a header promising more payload than follows, as a crash mid-write leaves it
+        Files.write(segment, new byte[]{0, 0, 0, 100, 1, 2, 3, 4, '{'}, StandardOpenOption.APPEND);
+
+        try (SubmissionLog log = new SubmissionLog(dir)) {
+            assertEquals(goodSize, Files.size(segment));
+            log.submit(submission(2)).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(range(0, 3), readNames());
+    }
+
+    @Test
+    void readerStopsAtCorruptRecord() throws Exception {
+        try (SubmissionLog log = new SubmissionLog(dir)) {
+            log.submit(submission(0)).get(5, TimeUnit.SECONDS);
+            log.submit(submission(1)).get(5, TimeUnit.SECONDS);
+        }
+        Path segment = LogSegments.list(dir).get(0);
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 2] ^= 1;
+        Files.write(segment, bytes);
+        assertEquals(List.of("s0"), readNames());
+    }
+
+    @Test
+    void failedWriteIsRolledBackAndLaterRecordsSurviveRestart() throws Exception {
+        FailingChannels channels = new FailingChannels();
+        try (SubmissionLog log = new SubmissionLog(dir, Durability.FSYNC, SubmissionLog.DEFAULT_SEGMENT_BYTES,
+                1024, 200, channels)) {
+            log.submit(submission(0)).get(5, TimeUnit.SECONDS);
+            // the next write gets a few bytes onto the disk, then fails
+            channels.failAfter(5, new IOException("disk full"));
+            ExecutionException failed = assertThrows(ExecutionException.class,
+                    () -> log.submit(submission(1)).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, failed.getCause());
+            log.submit(submission(2)).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of("s0", "s2"), readNames());
+    }
+
+    @Test
+    void writerSurvivesRuntimeExceptions() throws Exception {
+        FailingChannels channels = new FailingChannels();
+        try (SubmissionLog log = new SubmissionLog(dir, Durability.FSYNC, SubmissionLog.DEFAULT_SEGMENT_BYTES,
+                1024, 200, channels)) {
+            channels.failAfter(0, new IllegalStateException("bug"));
+            CompletableFuture<Void> failed = log.submit(submission(0));
+            assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+            log.submit(submission(1)).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of("s1"), readNames());
+    }
+
+    @Test
+    void logThatCannotRollBackRefusesSubmissions() throws Exception {
+        FailingChannels channels = new FailingChannels();
+        try (SubmissionLog log = new SubmissionLog(dir, Durability.FSYNC, SubmissionLog.DEFAULT_SEGMENT_BYTES,
+                1024, 200, channels)) {
+            channels.failAfter(5, new IOException("disk full"));
+            channels.failTruncate = true;
+            assertThrows(ExecutionException.class, () -> log.submit(submission(0)).get(5, TimeUnit.SECONDS));
+            CompletableFuture<Void> refused = log.submit(submission(1));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> refused.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void submitRacingCloseIsFailedInsteadOfLeftPending() throws Exception {
+        CountDownLatch serializing = new CountDownLatch(1);
+        CountDownLatch closeDone = new CountDownLatch(1);
+        // holds the submitter between its closed check and its enqueue until close() has returned
+        Map<String, Object> data = new HashMap<>(Map.of("name", "late")) {
+            @Override
+            public Set<Map.Entry<String, Object>> entrySet() {
+                serializing.countDown();
+                try {
+                    closeDone.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.entrySet();
+            }
+        };
+        SubmissionLog log = new SubmissionLog(dir);
+        CompletableFuture<CompletableFuture<Void>> submitted =
+                CompletableFuture.supplyAsync(() -> log.submit(new Submission("form", 0, data)));
+        assertTrue(serializing.await(5, TimeUnit.SECONDS));
+        log.close();
+        closeDone.countDown();
+
+        CompletableFuture<Void> late = submitted.get(5, TimeUnit.SECONDS);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> late.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    private static Submission submission(int i) {
+        return new Submission("form", i, Map.of("name", "s" + i));
+    }
+
+    private static List<String> range(int from, int to) {
+        List<String> names = new ArrayList<>();
+        for (int i = from; i < to; i++) names.add("s" + i);
+        return names;
+    }
+
+    private List<String> readNames() throws IOException {
+        List<String> names = new ArrayList<>();
+        try (SubmissionLogReader reader = SubmissionLogReader.open(dir)) {
+            LogRecord record;
+            while ((record = reader.next()) != null) {
+                names.add((String) record.submission().data().get("name"));
+            }
+        }
+        return names;
+    }
+
+    // Opens real channels that can be told to fail a write part-way, once
+    private static final class FailingChannels implements SubmissionLog.ChannelOpener {
+
+        private volatile long budget = -1;
+        private volatile Exception failure;
+        volatile boolean failTruncate;
+
+        void failAfter(long bytes, Exception e) {
+            failure = e;
+            budget = bytes;
+        }
+
+        @Override
+        public FileChannel open(Path path, java.nio.file.OpenOption... options) throws IOException {
+            return new Failing(FileChannel.open(path, options));
+        }
+
+        private final class Failing extends FileChannel {
+
+            private final FileChannel delegate;
+
+            Failing(FileChannel delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                if (budget < 0) return delegate.write(src);
+                if (budget == 0) {
+                    budget = -1;
+                    Exception e = failure;
+                    if (e instanceof IOException) throw (IOException) e;
+                    throw (RuntimeException) e;
+                }
+                ByteBuffer part = src.slice();
+                part.limit((int) Math.min(budget, part.remaining()));
+                int written = delegate.write(part);
+                src.position(src.position() + written);
+                budget -= written;
+                return written;
+            }
+
+            @Override
+            public FileChannel truncate(long size) throws IOException {
+                if (failTruncate) throw new IOException("read-only file system");
+                delegate.truncate(size);
+                return this;
+            }
+
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                return delegate.read(dst);
+            }
+
+            @Override
+            public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+                return delegate.read(dsts, offset, length);
+            }
+
+            @Override
+            public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+                return delegate.write(srcs, offset, length);
+            }
+
+            @Override
+            public long position() throws IOException {
+                return delegate.position();
+            }
+
+            @Override
+            public FileChannel position(long newPosition) throws IOException {
+                delegate.position(newPosition);
+                return this;
+            }
+
+            @Override
+            public long size() throws IOException {
+                return delegate.size();
+            }
+
+            @Override
+            public void force(boolean metaData) throws IOException {
+                delegate.force(metaData);
+            }
+
+            @Override
+            public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+                return delegate.transferTo(position, count, target);
+            }
+
+            @Override
+            public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+                return delegate.transferFrom(src, position, count);
+            }
+
+            @Override
+            public int read(ByteBuffer dst, long position) throws IOException {
+                return delegate.read(dst, position);
+            }
+
+            @Override
+            public int write(ByteBuffer src, long position) throws IOException {
+                return delegate.write(src, position);
+            }
+
+            @Override
+            public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+                return delegate.map(mode, position, size);
+            }
+
+            @Override
+            public FileLock lock(long position, long size, boolean shared) throws IOException {
+                return delegate.lock(position, size, shared);
+            }
+
+            @Override
+            public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+                return delegate.tryLock(position, size, shared);
+            }
+
+            @Override
+            protected void implCloseChannel() throws IOException {
+                delegate.close();
+            }
+        }
+    }
+}